@@ -6,16 +6,23 @@ import br.com.alg.scg.domain.sales.entity.Client;
 import br.com.alg.scg.domain.sales.entity.ClientStatus;
 import br.com.alg.scg.domain.sales.entity.repository.ClientRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class ClientService {
 
+    // Propriedades aceitas na ordenação das páginas pedidas pela API
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "status", "registrationDate");
+
     private final ClientRepository clientRepository;
 
     @Autowired
@@ -73,6 +80,43 @@ public class ClientService {
         return clientRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Page<Client> findAll(Pageable pageable) {
+        Pagination.validatePageable(pageable, SORTABLE_PROPERTIES);
+        return clientRepository.findAll(pageable);
+    }
+
+    /**
+     * Página de clientes filtrada por nome (filtro vazio ou nulo retorna todos),
+     * para grids com carregamento sob demanda
+     */
+    @Transactional(readOnly = true)
+    public List<Client> findPage(String nameFilter, Pageable pageable) {
+        if (pageable == null) {
+            throw new IllegalArgumentException("Paginação não pode ser nula");
+        }
+        return clientRepository.findByNameContainingIgnoreCase(normalizeFilter(nameFilter), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public long count(String nameFilter) {
+        return clientRepository.countByNameContainingIgnoreCase(normalizeFilter(nameFilter));
+    }
+
+    /**
+     * Paginação por cursor (keyset) sobre os IDs UUIDv7: retorna até {@code size + 1} registros
+     * anteriores ao cursor, do mais recente ao mais antigo (o registro extra indica que há próxima página).
+     * Sem cursor, começa pelos mais recentes.
+     */
+    @Transactional(readOnly = true)
+    public List<Client> findPageAfter(UUID cursor, int size) {
+        Pagination.validatePageSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        return cursor == null
+                ? clientRepository.findAllByOrderByIdDesc(limit)
+                : clientRepository.findByIdLessThanOrderByIdDesc(cursor, limit);
+    }
+
     @Transactional(readOnly = true)
     public boolean existsById(UUID id) {
         if (id == null) {
@@ -275,4 +319,10 @@ public class ClientService {
         }
         return clientRepository.existsByNameIgnoreCase(name.trim());
     }
-}
\ No newline at end of file
+
+    // ==================== PRIVATE HELPER METHODS ====================
+
+    private String normalizeFilter(String nameFilter) {
+        return nameFilter != null ? nameFilter.trim() : "";
+    }
+}
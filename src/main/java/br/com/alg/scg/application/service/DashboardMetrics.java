@@ -0,0 +1,28 @@
+package br.com.alg.scg.application.service;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Fotografia imutável das métricas do dashboard, compartilhada por todas as telas abertas
+ */
+public record DashboardMetrics(
+        long salesToday,
+        Money revenueToday,
+        Money revenueLast7Days,
+        Money revenueLast30Days,
+        Money purchaseSpendLast30Days,
+        long lowStockRawMaterials,
+        List<DayRevenue> revenueByDay,
+        LocalDateTime updatedAt
+) {
+
+    /**
+     * Faturamento de um dia (série dos últimos 7 dias exibida no dashboard)
+     */
+    public record DayRevenue(LocalDate day, Money revenue) {
+    }
+}
@@ -0,0 +1,372 @@
+package br.com.alg.scg.application.service;
+
+import br.com.alg.scg.domain.common.event.OutboxDelivery;
+import br.com.alg.scg.domain.common.valueobject.DailyTotal;
+import br.com.alg.scg.domain.common.valueobject.MinorUnits;
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.valueobject.ProductType;
+import br.com.alg.scg.domain.purchases.event.PurchaseCreated;
+import br.com.alg.scg.domain.purchases.event.PurchaseDeleted;
+import br.com.alg.scg.domain.purchases.event.PurchaseItemAdded;
+import br.com.alg.scg.domain.purchases.event.PurchaseItemRemoved;
+import br.com.alg.scg.domain.sales.entity.DailySalesSummary;
+import br.com.alg.scg.domain.sales.event.SaleCreated;
+import br.com.alg.scg.domain.sales.event.SaleDeleted;
+import br.com.alg.scg.domain.sales.event.SaleItemAdded;
+import br.com.alg.scg.domain.sales.event.SaleItemRemoved;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Métricas do dashboard mantidas em memória: contadores por dia dos últimos 30 dias (vendas, faturamento
+ * e gasto com compras) e a quantidade de matérias-primas com estoque baixo.
+ * Carregadas do banco na inicialização e periodicamente (autocorreção), e atualizadas incrementalmente
+ * no executor assíncrono: vendas pela entrega da outbox (a mesma que atualiza o resumo diário lido na
+ * recarga) e compras pelo evento da própria compra, sempre após o commit. As telas abertas recebem
+ * cada nova fotografia por {@link #subscribe(Consumer)}, sem consultar o banco, sempre na thread do
+ * executor dashboardPushExecutor (nunca na thread que gravou a venda ou compra).
+ */
+@Service
+public class DashboardMetricsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardMetricsService.class);
+
+    private static final int WINDOW_DAYS = 30;
+    private static final int CHART_DAYS = 7;
+
+    private final SalesSummaryService salesSummaryService;
+    private final PurchaseService purchaseService;
+    private final ProductRepository productRepository;
+    private final BigDecimal lowStockThreshold;
+    private final Executor pushExecutor;
+
+    // Protegidos por "this"
+    private NavigableMap<LocalDate, DayTotals> days = new TreeMap<>();
+    // Variações recebidas durante uma recarga (null fora dela), reaplicadas sobre os totais recarregados
+    private NavigableMap<LocalDate, DayTotals> deltasDuringReload;
+    private long lowStockRawMaterials;
+
+    // Recargas (agendada, inicialização, primeira leitura) uma de cada vez
+    private final Object reloadLock = new Object();
+
+    private final List<Consumer<DashboardMetrics>> subscribers = new CopyOnWriteArrayList<>();
+    private volatile DashboardMetrics current;
+    // Fotografia ainda não entregue aos assinantes; no máximo uma entrega agendada por vez
+    private final AtomicReference<DashboardMetrics> pendingPush = new AtomicReference<>();
+
+    @Autowired
+    public DashboardMetricsService(SalesSummaryService salesSummaryService,
+                                   PurchaseService purchaseService,
+                                   ProductRepository productRepository,
+                                   @Value("${scg.dashboard.low-stock-threshold:1}") BigDecimal lowStockThreshold,
+                                   @Qualifier("dashboardPushExecutor") Executor pushExecutor) {
+        this.salesSummaryService = salesSummaryService;
+        this.purchaseService = purchaseService;
+        this.productRepository = productRepository;
+        this.lowStockThreshold = lowStockThreshold;
+        this.pushExecutor = pushExecutor;
+    }
+
+    // ==================== READ OPERATIONS ====================
+
+    /**
+     * Métricas atuais (em memória; carrega do banco apenas na primeira chamada, se ainda não carregadas)
+     */
+    public DashboardMetrics current() {
+        DashboardMetrics metrics = current;
+        if (metrics == null) {
+            reload();
+            metrics = current;
+        }
+        return metrics;
+    }
+
+    /**
+     * Registra um assinante para receber cada nova fotografia das métricas.
+     * Retorna a ação que cancela a assinatura.
+     */
+    public Runnable subscribe(Consumer<DashboardMetrics> subscriber) {
+        if (subscriber == null) {
+            throw new IllegalArgumentException("Assinante não pode ser nulo");
+        }
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    // ==================== RELOAD ====================
+
+    /**
+     * Recarrega as janelas a partir do resumo diário de vendas e dos totais diários de compras
+     * (no máximo 30 linhas de cada) e recalcula o estoque baixo.
+     * Cada variação é aplicada depois do commit da transação que a grava na fonte lida aqui (o resumo
+     * diário para vendas, purchases para compras), então uma variação aplicada antes da recarga já está
+     * nos totais lidos. As que chegam enquanto o banco é lido continuam sendo aplicadas e também são
+     * guardadas; a troca pelos totais recarregados e a reaplicação delas acontecem sob o mesmo lock, para
+     * que nenhuma venda ou compra se perca. Vendas ainda não entregues pela outbox ficam fora dos dois
+     * até a entrega. Uma variação confirmada antes da leitura, mas aplicada durante ou depois dela, é
+     * contada duas vezes até a próxima recarga, que corrige a diferença.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${scg.dashboard.reload-interval:PT5M}", initialDelayString = "${scg.dashboard.reload-interval:PT5M}")
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                deltasDuringReload = new TreeMap<>();
+            }
+            try {
+                LocalDate today = LocalDate.now();
+                LocalDate from = today.minusDays(WINDOW_DAYS - 1);
+
+                List<DailySalesSummary> sales = salesSummaryService.findDaily(from, today);
+                List<DailyTotal> purchases = purchaseService.findDailyTotals(from, today);
+                long lowStock = countLowStock();
+
+                NavigableMap<LocalDate, DayTotals> reloaded = new TreeMap<>();
+                for (DailySalesSummary day : sales) {
+                    DayTotals totals = reloaded.computeIfAbsent(day.getSaleDate(), d -> new DayTotals());
+                    totals.salesCount = day.getSaleCount();
+                    totals.revenueCents = MinorUnits.of(day.getRevenue());
+                }
+                for (DailyTotal day : purchases) {
+                    reloaded.computeIfAbsent(day.day(), d -> new DayTotals()).purchaseSpendCents = MinorUnits.of(day.total());
+                }
+
+                synchronized (this) {
+                    deltasDuringReload.forEach((day, delta) ->
+                            reloaded.computeIfAbsent(day, d -> new DayTotals()).add(delta));
+                    days = reloaded;
+                    lowStockRawMaterials = lowStock;
+                }
+            } finally {
+                synchronized (this) {
+                    deltasDuringReload = null;
+                }
+            }
+        }
+        publish();
+    }
+
+    // ==================== EVENT LISTENERS ====================
+
+    // Vendas: pela entrega da outbox, após o commit da mesma transação que atualiza daily_sales_summary,
+    // para que os totais em memória e o resumo lido pela recarga avancem juntos
+
+    @Async
+    @TransactionalEventListener
+    public void onSaleCreated(OutboxDelivery<SaleCreated> delivery) {
+        SaleCreated event = delivery.event();
+        applySale(event.saleDate(), 1, MinorUnits.of(event.totalValue()));
+        refreshLowStock();
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onSaleDeleted(OutboxDelivery<SaleDeleted> delivery) {
+        SaleDeleted event = delivery.event();
+        applySale(event.saleDate(), -1, -MinorUnits.of(event.totalValue()));
+        refreshLowStock();
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onSaleItemAdded(OutboxDelivery<SaleItemAdded> delivery) {
+        SaleItemAdded event = delivery.event();
+        applySale(event.saleDate(), 0, MinorUnits.of(event.subtotal()));
+        refreshLowStock();
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onSaleItemRemoved(OutboxDelivery<SaleItemRemoved> delivery) {
+        SaleItemRemoved event = delivery.event();
+        applySale(event.saleDate(), 0, -MinorUnits.of(event.subtotal()));
+        refreshLowStock();
+    }
+
+    // Compras: após o commit da própria compra, já visível para a recarga (totais lidos de purchases)
+
+    @Async
+    @TransactionalEventListener
+    public void on(PurchaseCreated event) {
+        applyPurchase(event.date(), MinorUnits.of(event.totalCost()));
+        refreshLowStock();
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void on(PurchaseDeleted event) {
+        applyPurchase(event.date(), -MinorUnits.of(event.totalCost()));
+        refreshLowStock();
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void on(PurchaseItemAdded event) {
+        applyPurchase(event.date(), MinorUnits.of(event.subtotal()));
+        refreshLowStock();
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void on(PurchaseItemRemoved event) {
+        applyPurchase(event.date(), -MinorUnits.of(event.subtotal()));
+        refreshLowStock();
+    }
+
+    // ==================== PRIVATE HELPER METHODS ====================
+
+    private void applySale(LocalDateTime saleDate, int countDelta, long revenueDeltaCents) {
+        DayTotals delta = new DayTotals();
+        delta.salesCount = countDelta;
+        delta.revenueCents = revenueDeltaCents;
+        apply(saleDate.toLocalDate(), delta);
+    }
+
+    private void applyPurchase(LocalDateTime date, long spendDeltaCents) {
+        DayTotals delta = new DayTotals();
+        delta.purchaseSpendCents = spendDeltaCents;
+        apply(date.toLocalDate(), delta);
+    }
+
+    /**
+     * Soma a variação aos contadores do dia (ignorada se o dia estiver fora da janela) e,
+     * durante uma recarga, guarda-a para reaplicar sobre os totais recarregados
+     */
+    private synchronized void apply(LocalDate day, DayTotals delta) {
+        LocalDate today = LocalDate.now();
+        if (day.isAfter(today) || day.isBefore(today.minusDays(WINDOW_DAYS - 1))) {
+            return;
+        }
+        days.computeIfAbsent(day, d -> new DayTotals()).add(delta);
+        if (deltasDuringReload != null) {
+            deltasDuringReload.computeIfAbsent(day, d -> new DayTotals()).add(delta);
+        }
+    }
+
+    /**
+     * Recalcula o estoque baixo uma vez por operação de escrita (uma consulta de contagem),
+     * independentemente de quantas telas estejam abertas, e publica a nova fotografia
+     */
+    private void refreshLowStock() {
+        long lowStock = countLowStock();
+        synchronized (this) {
+            lowStockRawMaterials = lowStock;
+        }
+        publish();
+    }
+
+    private long countLowStock() {
+        return productRepository.countByTypeAndStockLessThan(ProductType.RAW_MATERIAL, lowStockThreshold);
+    }
+
+    /**
+     * Atualiza a fotografia atual e agenda sua entrega aos assinantes no dashboardPushExecutor.
+     * Se já houver uma entrega agendada, ela levará esta fotografia (as anteriores não são entregues).
+     */
+    private void publish() {
+        boolean pushScheduled;
+        synchronized (this) {
+            DashboardMetrics metrics = snapshot();
+            current = metrics;
+            pushScheduled = pendingPush.getAndSet(metrics) != null;
+        }
+        if (pushScheduled) {
+            return;
+        }
+        try {
+            pushExecutor.execute(this::pushPending);
+        } catch (TaskRejectedException e) {
+            pendingPush.set(null);
+            logger.warn("Entrega das métricas do dashboard recusada pelo executor", e);
+        }
+    }
+
+    private void pushPending() {
+        DashboardMetrics metrics = pendingPush.getAndSet(null);
+        if (metrics == null) {
+            return;
+        }
+        for (Consumer<DashboardMetrics> subscriber : subscribers) {
+            try {
+                subscriber.accept(metrics);
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao notificar assinante do dashboard", e);
+            }
+        }
+    }
+
+    private synchronized DashboardMetrics snapshot() {
+        LocalDate today = LocalDate.now();
+        LocalDate windowStart = today.minusDays(WINDOW_DAYS - 1);
+        days.headMap(windowStart, false).clear();
+
+        DayTotals todayTotals = days.getOrDefault(today, new DayTotals());
+        long revenue7 = 0;
+        long revenue30 = 0;
+        long spend30 = 0;
+        for (var entry : days.entrySet()) {
+            DayTotals totals = entry.getValue();
+            revenue30 = MinorUnits.add(revenue30, totals.revenueCents);
+            spend30 = MinorUnits.add(spend30, totals.purchaseSpendCents);
+            if (!entry.getKey().isBefore(today.minusDays(CHART_DAYS - 1))) {
+                revenue7 = MinorUnits.add(revenue7, totals.revenueCents);
+            }
+        }
+
+        List<DashboardMetrics.DayRevenue> revenueByDay = new ArrayList<>(CHART_DAYS);
+        for (int i = CHART_DAYS - 1; i >= 0; i--) {
+            LocalDate day = today.minusDays(i);
+            revenueByDay.add(new DashboardMetrics.DayRevenue(day, toMoney(days.getOrDefault(day, new DayTotals()).revenueCents)));
+        }
+
+        return new DashboardMetrics(
+                Math.max(todayTotals.salesCount, 0),
+                toMoney(todayTotals.revenueCents),
+                toMoney(revenue7),
+                toMoney(revenue30),
+                toMoney(spend30),
+                lowStockRawMaterials,
+                List.copyOf(revenueByDay),
+                LocalDateTime.now());
+    }
+
+    private static Money toMoney(long cents) {
+        return cents < 0 ? Money.ZERO : MinorUnits.toMoney(cents);
+    }
+
+    private static final class DayTotals {
+        private long salesCount;
+        // Valores em centavos (ponto fixo)
+        private long revenueCents;
+        private long purchaseSpendCents;
+
+        void add(DayTotals delta) {
+            salesCount += delta.salesCount;
+            revenueCents = MinorUnits.add(revenueCents, delta.revenueCents);
+            purchaseSpendCents = MinorUnits.add(purchaseSpendCents, delta.purchaseSpendCents);
+        }
+    }
+}
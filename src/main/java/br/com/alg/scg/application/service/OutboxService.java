@@ -0,0 +1,197 @@
+package br.com.alg.scg.application.service;
+
+import br.com.alg.scg.domain.common.entity.OutboxEvent;
+import br.com.alg.scg.domain.common.event.AggregateEvent;
+import br.com.alg.scg.domain.common.event.OutboxDelivery;
+import br.com.alg.scg.domain.common.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbox transacional dos eventos de agregado (venda, compra).
+ * <p>
+ * Cada {@link AggregateEvent} publicado é gravado em outbox_events na mesma transação da alteração,
+ * então o evento existe se e somente se a alteração foi confirmada. O poller lê os pendentes em lotes,
+ * trava cada um com {@code FOR UPDATE SKIP LOCKED} (vários nós dividem o trabalho sem esperar uns pelos
+ * outros) e o entrega como {@link OutboxDelivery} aos handlers, na mesma transação que o marca como
+ * processado: a entrega é ao menos uma vez, e o efeito no banco, exatamente uma vez.
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxEventRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean pollerEnabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Duration retention;
+
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${scg.outbox.enabled:true}") boolean pollerEnabled,
+                         @Value("${scg.outbox.batch-size:100}") int batchSize,
+                         @Value("${scg.outbox.max-attempts:10}") int maxAttempts,
+                         @Value("${scg.outbox.retry-backoff:PT5S}") Duration retryBackoff,
+                         @Value("${scg.outbox.max-retry-backoff:PT10M}") Duration maxRetryBackoff,
+                         @Value("${scg.outbox.retention:P7D}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pollerEnabled = pollerEnabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.retention = retention;
+    }
+
+    // ==================== CREATE OPERATIONS ====================
+
+    /**
+     * Grava o evento na outbox, na transação de quem o publicou (obrigatória)
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void store(AggregateEvent event) {
+        if (event == null) {
+            throw new IllegalArgumentException("Evento não pode ser nulo");
+        }
+        outboxRepository.save(new OutboxEvent(event.aggregateType(), event.aggregateId(),
+                event.getClass().getName(), serialize(event)));
+    }
+
+    // ==================== DELIVERY ====================
+
+    /**
+     * Entrega os eventos pendentes em lotes até esvaziar a fila (ou até só restarem eventos
+     * travados por outros nós ou aguardando nova tentativa após uma falha)
+     */
+    @Scheduled(fixedDelayString = "${scg.outbox.poll-interval:PT1S}")
+    public void drain() {
+        if (!pollerEnabled) {
+            return;
+        }
+
+        int delivered;
+        do {
+            List<byte[]> ids = outboxRepository.findNextPendingIds(maxAttempts, LocalDateTime.now(), batchSize);
+            delivered = 0;
+            for (byte[] id : ids) {
+                if (deliver(id)) {
+                    delivered++;
+                }
+            }
+        } while (delivered > 0);
+    }
+
+    /**
+     * Remove da outbox os eventos processados há mais tempo que a retenção configurada
+     */
+    @Scheduled(cron = "${scg.outbox.cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeProcessed() {
+        int removed = outboxRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            logger.info("{} eventos processados removidos da outbox", removed);
+        }
+    }
+
+    // ==================== PRIVATE HELPER METHODS ====================
+
+    /**
+     * Entrega um evento em transação própria. Retorna false se ele já foi entregue, está travado
+     * por outro nó, ou se o handler falhou (a falha é registrada e o evento volta a ser tentado
+     * depois da espera, até esgotar as tentativas).
+     */
+    private boolean deliver(byte[] id) {
+        try {
+            Boolean delivered = transactionTemplate.execute(status -> outboxRepository.claimPending(id)
+                    .map(event -> {
+                        eventPublisher.publishEvent(new OutboxDelivery<>(event.getId(), deserialize(event)));
+                        event.markProcessed(LocalDateTime.now());
+                        return true;
+                    })
+                    .orElse(false));
+            return Boolean.TRUE.equals(delivered);
+        } catch (RuntimeException e) {
+            UUID eventId = toUuid(id);
+            logger.warn("Falha ao entregar evento {} da outbox", eventId, e);
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(eventId)
+                    .ifPresent(event -> registerFailure(event, e)));
+            return false;
+        }
+    }
+
+    private void registerFailure(OutboxEvent event, RuntimeException error) {
+        int attempts = event.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            logger.error("Evento {} da outbox esgotou as {} tentativas e não será mais entregue; " +
+                    "os eventos seguintes do agregado {} ficam retidos", event.getId(), maxAttempts, event.getAggregateId());
+            event.registerFailure(error.toString(), null);
+        } else {
+            event.registerFailure(error.toString(), LocalDateTime.now().plus(backoff(attempts)));
+        }
+    }
+
+    /**
+     * Espera antes da próxima tentativa: dobra a cada falha, limitada a maxRetryBackoff
+     */
+    private Duration backoff(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        Duration delay = retryBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private String serialize(AggregateEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o evento " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private AggregateEvent deserialize(OutboxEvent event) {
+        try {
+            Class<?> type = Class.forName(event.getEventType());
+            if (!AggregateEvent.class.isAssignableFrom(type)) {
+                throw new IllegalStateException("Tipo de evento inválido na outbox: " + event.getEventType());
+            }
+            return (AggregateEvent) objectMapper.readValue(event.getPayload(), type);
+        } catch (ClassNotFoundException | JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível ler o evento " + event.getId() + " da outbox", e);
+        }
+    }
+
+    private static UUID toUuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
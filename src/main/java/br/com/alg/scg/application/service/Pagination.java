@@ -0,0 +1,42 @@
+package br.com.alg.scg.application.service;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Regras de paginação comuns aos serviços: tamanho máximo das páginas por cursor e propriedades
+ * aceitas na ordenação das páginas pedidas pela API.
+ */
+final class Pagination {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private Pagination() {
+    }
+
+    static void validatePageSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Valida a paginação vinda do cliente: só aceita ordenação pelas propriedades permitidas.
+     * Uma propriedade desconhecida chegaria ao Spring Data e falharia na montagem da consulta (HTTP 500);
+     * aqui vira IllegalArgumentException (HTTP 400).
+     */
+    static void validatePageable(Pageable pageable, Set<String> sortableProperties) {
+        if (pageable == null) {
+            throw new IllegalArgumentException("Paginação não pode ser nula");
+        }
+        for (Sort.Order order : pageable.getSort()) {
+            if (!sortableProperties.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Não é possível ordenar por '" + order.getProperty()
+                        + "'. Propriedades permitidas: " + String.join(", ", new TreeSet<>(sortableProperties)));
+            }
+        }
+    }
+}
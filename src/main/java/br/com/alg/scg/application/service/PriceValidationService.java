@@ -4,9 +4,13 @@ import br.com.alg.scg.domain.common.valueobject.Money;
 import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
 import br.com.alg.scg.domain.product.entity.Price;
 import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.event.PriceChanged;
 import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.service.CurrentPriceCache;
+import br.com.alg.scg.domain.product.valueobject.ConversionProfile;
 import br.com.alg.scg.domain.product.valueobject.ProductType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,11 +28,16 @@ public class PriceValidationService {
 
     private final ProductRepository productRepository;
     private final ProductService productService;
+    private final CurrentPriceCache priceCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public PriceValidationService(ProductRepository productRepository, ProductService productService) {
+    public PriceValidationService(ProductRepository productRepository, ProductService productService,
+                                  CurrentPriceCache priceCache, ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.productService = productService;
+        this.priceCache = priceCache;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -38,8 +47,7 @@ public class PriceValidationService {
      */
     @Transactional(readOnly = true)
     public List<Product> findSuspiciousUnitProducts() {
-        return productRepository.findAll().stream()
-                .filter(p -> p.getType() == ProductType.RAW_MATERIAL)
+        return productRepository.findByTypeOrderByName(ProductType.RAW_MATERIAL).stream()
                 .filter(this::hasSuspiciousPrice)
                 .toList();
     }
@@ -49,6 +57,12 @@ public class PriceValidationService {
             return false;
         }
 
+        // Com perfil de conversão, as unidades do produto foram informadas explicitamente:
+        // quantidades por unidade ou volume são convertidas para a unidade do preço no custeio
+        if (!product.getConversionProfile().isEmpty()) {
+            return false;
+        }
+
         Money currentPrice = product.getCurrentPrice().get();
         
         // Detectar preços suspeitos baseado no nome do produto e valor
@@ -87,7 +101,10 @@ public class PriceValidationService {
         product.setStockUnit(correctStockUnit);
         
         // Adicionar preço correto com unidade correta
-        product.addPrice(new Money(correctPrice), correctPriceUnit);
+        Money price = new Money(correctPrice);
+        product.addPrice(price, correctPriceUnit);
+        priceCache.update(product);
+        eventPublisher.publishEvent(new PriceChanged(product.getId(), price, correctPriceUnit));
         
         productRepository.save(product);
     }
@@ -100,9 +117,7 @@ public class PriceValidationService {
         StringBuilder report = new StringBuilder();
         report.append("=== RELATÓRIO DE ANÁLISE DE PREÇOS E UNIDADES ===\n\n");
         
-        List<Product> allProducts = productRepository.findAll().stream()
-                .filter(p -> p.getType() == ProductType.RAW_MATERIAL)
-                .toList();
+        List<Product> allProducts = productRepository.findByTypeOrderByName(ProductType.RAW_MATERIAL);
         
         for (Product product : allProducts) {
             report.append("Produto: ").append(product.getName()).append("\n");
@@ -115,9 +130,18 @@ public class PriceValidationService {
                 
                 // Tentar obter unidade do preço (se disponível)
                 product.getCurrentPriceDetails().ifPresent(priceDetails -> 
-                    report.append(priceDetails.getUnitMeasurement().getUnit()));
+                    report.append(priceDetails.unitMeasurement().getUnit()));
                 
                 report.append("\n");
+
+                ConversionProfile profile = product.getConversionProfile();
+                if (!profile.isEmpty()) {
+                    report.append("Conversão: ")
+                            .append(profile.gramsPerUnit() != null ? profile.gramsPerUnit() + " g/un " : "")
+                            .append(profile.mlPerGram() != null ? profile.mlPerGram() + " ml/g " : "")
+                            .append(profile.unitsPerPackage() != null ? profile.unitsPerPackage() + " un/pac" : "")
+                            .append("\n");
+                }
                 
                 if (hasSuspiciousPrice(product)) {
                     report.append("⚠️  SUSPEITO: Preço pode estar com unidade incorreta\n");
@@ -6,25 +6,66 @@ import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
 import br.com.alg.scg.domain.finance.valueobject.ProfitMargin;
 import br.com.alg.scg.domain.product.entity.Product;
 import br.com.alg.scg.domain.product.entity.Recipe;
+import br.com.alg.scg.domain.product.event.ConversionProfileChanged;
+import br.com.alg.scg.domain.product.event.PriceChanged;
+import br.com.alg.scg.domain.product.event.RecipeChanged;
+import br.com.alg.scg.domain.product.event.RecipeRemoved;
 import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.service.CurrentPriceCache;
+import br.com.alg.scg.domain.product.service.RecipeGraph;
+import br.com.alg.scg.domain.product.valueobject.ConversionProfile;
+import br.com.alg.scg.domain.product.valueobject.CurrentPrice;
+import br.com.alg.scg.domain.product.valueobject.ProductSummary;
 import br.com.alg.scg.domain.product.valueobject.ProductType;
+import br.com.alg.scg.domain.product.valueobject.StockMovement;
+import br.com.alg.scg.domain.product.valueobject.StockMovementSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
 
+    // Propriedades aceitas na ordenação das páginas pedidas pela API
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "type", "stock");
+
     private final ProductRepository productRepository;
+    private final CurrentPriceCache priceCache;
+    private final StockLedgerService stockLedger;
+    private final RecipeGraph recipeGraph;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, CurrentPriceCache priceCache,
+                          StockLedgerService stockLedger, RecipeGraph recipeGraph,
+                          ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
+        this.priceCache = priceCache;
+        this.stockLedger = stockLedger;
+        this.recipeGraph = recipeGraph;
+        this.eventPublisher = eventPublisher;
     }
 
     // ==================== CREATE OPERATIONS ====================
@@ -53,7 +94,9 @@ public class ProductService {
                 throw new IllegalArgumentException("Tipo de produto não suportado: " + type);
         }
         
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        stockLedger.record(saved.getId(), saved.getStock(), StockMovementSource.INITIAL);
+        return saved;
     }
 
     @Transactional
@@ -69,8 +112,25 @@ public class ProductService {
         if (product.getType() == null) {
             throw new IllegalArgumentException("Tipo do produto não pode ser nulo");
         }
+        recipeGraph.validateNoCycle(product);
         
-        return productRepository.save(product);
+        // O estoque não é gravado pela entidade: produto novo entra com o estoque inicial; em produto existente,
+        // só a alteração feita desde a leitura vira ajuste atômico (vendas concorrentes não são desfeitas)
+        boolean isNew = product.getId() == null;
+        BigDecimal stockChange = product.getStockChange();
+
+        Product saved = productRepository.save(product);
+        if (isNew) {
+            stockLedger.record(saved.getId(), saved.getStock(), StockMovementSource.INITIAL);
+        } else if (stockChange.signum() != 0 && saved.getType() == ProductType.RAW_MATERIAL) {
+            applyStockMovements(List.of(stockChange.signum() > 0
+                    ? StockMovement.in(saved.getId(), stockChange, StockMovementSource.ADJUSTMENT, null)
+                    : StockMovement.out(saved.getId(), stockChange.negate(), StockMovementSource.ADJUSTMENT, null)));
+            saved = findWithCurrentStock(saved.getId());
+        }
+        // O formulário de receitas altera ingredientes e rendimento pela própria entidade
+        publishRecipeChanged(saved);
+        return saved;
     }
 
     @Transactional
@@ -83,7 +143,9 @@ public class ProductService {
         }
 
         Product rawMaterial = Product.createRawMaterial(name, initialStock);
-        return productRepository.save(rawMaterial);
+        Product saved = productRepository.save(rawMaterial);
+        stockLedger.record(saved.getId(), initialStock, StockMovementSource.INITIAL);
+        return saved;
     }
 
     @Transactional
@@ -112,7 +174,9 @@ public class ProductService {
         finalProduct.defineRecipe(recipe);
         finalProduct.defineProfitMargin(profitMargin);
         
-        return productRepository.save(finalProduct);
+        Product saved = productRepository.save(finalProduct);
+        publishRecipeChanged(saved);
+        return saved;
     }
 
     // ==================== READ OPERATIONS ====================
@@ -122,28 +186,78 @@ public class ProductService {
         if (id == null) {
             throw new IllegalArgumentException("ID não pode ser nulo");
         }
-        Optional<Product> productOpt = productRepository.findById(id);
-        // Força o carregamento das coleções lazy para evitar LazyInitializationException
-        productOpt.ifPresent(product -> {
-            product.getPricesHistory().size(); // Força carregamento da collection
-            if (product.getProductRecipe().isPresent()) {
-                product.getProductRecipe().get().getRecipes().size(); // Força carregamento dos ingredientes
-            }
-        });
-        return productOpt;
+        // Receita e ingredientes vêm na mesma consulta; o preço vigente fica na própria linha do produto
+        return productRepository.findWithRecipeById(id);
     }
 
     @Transactional(readOnly = true)
     public List<Product> findAll() {
-        List<Product> products = productRepository.findAll();
-        // Força o carregamento das coleções lazy para evitar LazyInitializationException
-        products.forEach(product -> {
-            product.getPricesHistory().size(); // Força carregamento da collection
-            if (product.getProductRecipe().isPresent()) {
-                product.getProductRecipe().get().getRecipes().size(); // Força carregamento dos ingredientes
-            }
-        });
-        return products;
+        return productRepository.findAllWithRecipes();
+    }
+
+    /**
+     * Resumo do produto (id, nome, tipo, estoque e preço vigente) sem carregar o agregado
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProductSummary> findSummaryById(UUID id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID não pode ser nulo");
+        }
+        return productRepository.findSummaryById(id);
+    }
+
+    /**
+     * Resumos de produtos ordenados por nome, filtrados por nome (filtro vazio ou nulo retorna todos)
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSummary> findSummaries(String nameFilter) {
+        if (nameFilter == null || nameFilter.trim().isEmpty()) {
+            return productRepository.findAllSummaries();
+        }
+        return productRepository.findSummariesByNameContaining(nameFilter.trim());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductSummary> findSummaries(Pageable pageable) {
+        Pagination.validatePageable(pageable, SORTABLE_PROPERTIES);
+        return productRepository.findSummaries(pageable);
+    }
+
+    /**
+     * Página de produtos de um tipo filtrada por nome (filtro vazio ou nulo retorna todos),
+     * para grids com carregamento sob demanda
+     */
+    @Transactional(readOnly = true)
+    public List<Product> findPageByType(ProductType type, String nameFilter, Pageable pageable) {
+        if (type == null) {
+            throw new IllegalArgumentException("Tipo do produto não pode ser nulo");
+        }
+        if (pageable == null) {
+            throw new IllegalArgumentException("Paginação não pode ser nula");
+        }
+        return productRepository.findByTypeAndNameContainingIgnoreCase(type, normalizeFilter(nameFilter), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public long countByType(ProductType type, String nameFilter) {
+        if (type == null) {
+            throw new IllegalArgumentException("Tipo do produto não pode ser nulo");
+        }
+        return productRepository.countByTypeAndNameContainingIgnoreCase(type, normalizeFilter(nameFilter));
+    }
+
+    /**
+     * Paginação por cursor (keyset) sobre os IDs UUIDv7: retorna até {@code size + 1} registros
+     * anteriores ao cursor, do mais recente ao mais antigo (o registro extra indica que há próxima página).
+     * Sem cursor, começa pelos mais recentes.
+     */
+    @Transactional(readOnly = true)
+    public List<Product> findPageAfter(UUID cursor, int size) {
+        Pagination.validatePageSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        return cursor == null
+                ? productRepository.findAllByOrderByIdDesc(limit)
+                : productRepository.findByIdLessThanOrderByIdDesc(cursor, limit);
     }
 
     /**
@@ -164,7 +278,7 @@ public class ProductService {
         if (recipe == null) {
             throw new IllegalArgumentException("Receita não pode ser nula");
         }
-        return recipe.calcUnitCost(productRepository);
+        return recipe.calcUnitCost(productRepository, priceCache);
     }
 
     /**
@@ -176,7 +290,18 @@ public class ProductService {
         if (recipe == null) {
             throw new IllegalArgumentException("Receita não pode ser nula");
         }
-        return recipe.calcTotalCost(productRepository);
+        return recipe.calcTotalCost(productRepository, priceCache);
+    }
+
+    /**
+     * Preço vigente do produto, lido do cache sem percorrer o histórico de preços
+     */
+    @Transactional(readOnly = true)
+    public Optional<CurrentPrice> findCurrentPrice(UUID productId) {
+        if (productId == null) {
+            throw new IllegalArgumentException("ID do produto não pode ser nulo");
+        }
+        return priceCache.get(productId);
     }
 
     @Transactional(readOnly = true)
@@ -184,12 +309,7 @@ public class ProductService {
         if (nameFragment == null || nameFragment.trim().isEmpty()) {
             return findAll();
         }
-        // Por enquanto, retornar todos os produtos até implementar filtro no repository
-        // Aplicar filtro local enquanto não implementamos no repository
-        List<Product> allProducts = findAll();
-        return allProducts.stream()
-                .filter(product -> product.getName().toLowerCase().contains(nameFragment.toLowerCase()))
-                .toList();
+        return productRepository.findByNameContainingIgnoreCaseOrderByName(nameFragment.trim());
     }
 
     @Transactional(readOnly = true)
@@ -197,10 +317,22 @@ public class ProductService {
         if (type == null) {
             throw new IllegalArgumentException("Tipo do produto não pode ser nulo");
         }
-        List<Product> allProducts = findAll();
-        return allProducts.stream()
-                .filter(product -> product.getType() == type)
-                .toList();
+        return productRepository.findByTypeOrderByName(type);
+    }
+
+    /**
+     * Produtos de um tipo filtrados por nome (contém, ignorando case) direto no banco.
+     * Filtro vazio retorna todos os produtos do tipo.
+     */
+    @Transactional(readOnly = true)
+    public List<Product> findByTypeAndNameContaining(ProductType type, String nameFragment) {
+        if (type == null) {
+            throw new IllegalArgumentException("Tipo do produto não pode ser nulo");
+        }
+        if (nameFragment == null || nameFragment.trim().isEmpty()) {
+            return productRepository.findByTypeOrderByName(type);
+        }
+        return productRepository.findByTypeAndNameContainingIgnoreCaseOrderByName(type, nameFragment.trim());
     }
 
     @Transactional(readOnly = true)
@@ -248,6 +380,8 @@ public class ProductService {
                 .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado com ID: " + productId));
 
         product.addPrice(price);
+        priceCache.update(product);
+        eventPublisher.publishEvent(new PriceChanged(productId, price, null));
         return productRepository.save(product);
     }
 
@@ -267,9 +401,15 @@ public class ProductService {
                 .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado com ID: " + productId));
 
         product.addPrice(price, unitMeasurement);
+        priceCache.update(product);
+        eventPublisher.publishEvent(new PriceChanged(productId, price, unitMeasurement));
         return productRepository.save(product);
     }
 
+    /**
+     * Entrada de estoque com UPDATE atômico no banco (stock = stock + quantidade),
+     * sem ler-modificar-gravar a entidade: entradas concorrentes não se sobrescrevem
+     */
     @Transactional
     public Product increaseStock(UUID productId, BigDecimal quantity) {
         if (productId == null) {
@@ -279,11 +419,8 @@ public class ProductService {
             throw new IllegalArgumentException("Quantidade deve ser positiva");
         }
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado com ID: " + productId));
-
-        product.increaseStock(quantity);
-        return productRepository.save(product);
+        applyStockMovements(List.of(StockMovement.in(productId, quantity, StockMovementSource.ADJUSTMENT, null)));
+        return findWithCurrentStock(productId);
     }
 
     @Transactional
@@ -302,6 +439,11 @@ public class ProductService {
         return productRepository.save(product);
     }
 
+    /**
+     * Saída de estoque com UPDATE condicional atômico (stock = stock - quantidade WHERE stock >= quantidade).
+     * Vendas concorrentes do mesmo produto não conseguem deixar o estoque negativo nem perder atualizações,
+     * e não há lock pessimista segurando a linha além do próprio UPDATE.
+     */
     @Transactional
     public Product decreaseStock(UUID productId, BigDecimal quantity) {
         if (productId == null) {
@@ -311,11 +453,65 @@ public class ProductService {
             throw new IllegalArgumentException("Quantidade deve ser positiva");
         }
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado com ID: " + productId));
+        applyStockMovements(List.of(StockMovement.out(productId, quantity, StockMovementSource.ADJUSTMENT, null)));
+        return findWithCurrentStock(productId);
+    }
 
-        product.decreaseStock(quantity);
-        return productRepository.save(product);
+    /**
+     * Aplica um lote de movimentações de estoque e as registra no livro-razão. O saldo líquido de cada produto é gravado com um
+     * UPDATE atômico condicional (a saída falha se não houver estoque, sem ler-modificar-gravar),
+     * em ordem de ID para que lotes concorrentes travem as linhas na mesma ordem.
+     * Em seguida, unidade de estoque e novos preços das entradas por compra são aplicados às entidades,
+     * carregadas em uma única consulta e gravadas no flush em lotes JDBC (hibernate.jdbc.batch_size).
+     * Qualquer falha desfaz o lote inteiro junto com a transação.
+     */
+    @Transactional
+    public void applyStockMovements(List<StockMovement> movements) {
+        if (movements == null || movements.isEmpty()) {
+            throw new IllegalArgumentException("Lista de movimentações não pode ser vazia");
+        }
+
+        Map<UUID, BigDecimal> netDeltas = new TreeMap<>();
+        for (StockMovement movement : movements) {
+            BigDecimal delta = movement.direction() == StockMovement.Direction.OUT
+                    ? movement.quantity().negate()
+                    : movement.quantity();
+            netDeltas.merge(movement.productId(), delta, BigDecimal::add);
+        }
+        netDeltas.forEach(this::applyStockDelta);
+        stockLedger.record(movements);
+
+        List<StockMovement> purchases = movements.stream()
+                .filter(movement -> movement.unitMeasurement() != null)
+                .toList();
+        if (purchases.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> purchasedIds = purchases.stream()
+                .map(StockMovement::productId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<UUID, Product> products = productRepository.findAllById(purchasedIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        for (StockMovement movement : purchases) {
+            Product product = products.get(movement.productId());
+            if (product.getStockUnit() == null) {
+                product.setStockUnit(movement.unitMeasurement());
+            }
+            if (movement.hasPrice()) {
+                product.addPrice(movement.unitCost(), movement.unitMeasurement());
+            }
+        }
+
+        productRepository.saveAll(products.values());
+        for (StockMovement movement : purchases) {
+            if (movement.hasPrice()) {
+                priceCache.update(products.get(movement.productId()));
+                eventPublisher.publishEvent(new PriceChanged(movement.productId(), movement.unitCost(),
+                        movement.unitMeasurement()));
+            }
+        }
     }
 
     @Transactional
@@ -331,7 +527,10 @@ public class ProductService {
                 .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado com ID: " + productId));
 
         product.defineRecipe(recipe);
-        return productRepository.save(product);
+        recipeGraph.validateNoCycle(product);
+        Product saved = productRepository.save(product);
+        publishRecipeChanged(saved);
+        return saved;
     }
 
     @Transactional
@@ -350,6 +549,25 @@ public class ProductService {
         return productRepository.save(product);
     }
 
+    /**
+     * Define o perfil de conversão de unidades do produto (nulo ou vazio remove o perfil).
+     * As receitas que usam o produto são recusteadas após o commit.
+     */
+    @Transactional
+    public Product defineConversionProfile(UUID productId, ConversionProfile profile) {
+        if (productId == null) {
+            throw new IllegalArgumentException("ID do produto não pode ser nulo");
+        }
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado com ID: " + productId));
+
+        product.defineConversionProfile(profile);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ConversionProfileChanged(productId));
+        return saved;
+    }
+
     // ==================== DELETE OPERATIONS ====================
 
     @Transactional
@@ -357,10 +575,10 @@ public class ProductService {
         if (id == null) {
             throw new IllegalArgumentException("ID não pode ser nulo");
         }
-        if (!productRepository.existsById(id)) {
-            throw new IllegalArgumentException("Produto não encontrado com ID: " + id);
-        }
-        productRepository.deleteById(id);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado com ID: " + id));
+        publishRecipeRemoved(product);
+        productRepository.delete(product);
     }
 
     @Transactional
@@ -368,6 +586,7 @@ public class ProductService {
         if (product == null) {
             throw new IllegalArgumentException("Produto não pode ser nulo");
         }
+        publishRecipeRemoved(product);
         productRepository.delete(product);
     }
 
@@ -394,8 +613,11 @@ public class ProductService {
 
         Recipe recipe = product.getProductRecipe().get();
         recipe.addIngredient(ingredient, quantity);
+        recipeGraph.validateNoCycle(product);
         
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        publishRecipeChanged(saved);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -421,4 +643,69 @@ public class ProductService {
     public ProductRepository getProductRepository() {
         return productRepository;
     }
-}
\ No newline at end of file
+
+    // ==================== EVENT LISTENERS ====================
+
+    /**
+     * Recarrega o preço vigente no cache após o commit, fora da thread da requisição,
+     * para que a próxima leitura (venda, formação de preço) não precise ir ao banco
+     */
+    @Async
+    @TransactionalEventListener
+    public void onPriceChanged(PriceChanged event) {
+        priceCache.get(event.productId());
+    }
+
+    // ==================== PRIVATE HELPER METHODS ====================
+
+    private void publishRecipeChanged(Product product) {
+        product.getProductRecipe().ifPresent(recipe ->
+                eventPublisher.publishEvent(new RecipeChanged(product.getId(), recipe.getId())));
+    }
+
+    private void publishRecipeRemoved(Product product) {
+        product.getProductRecipe().ifPresent(recipe ->
+                eventPublisher.publishEvent(new RecipeRemoved(product.getId(), recipe.getId())));
+    }
+
+    private String normalizeFilter(String nameFilter) {
+        return nameFilter != null ? nameFilter.trim() : "";
+    }
+
+    /**
+     * Produto com o estoque gravado pelos UPDATEs atômicos. O UPDATE em massa não altera as instâncias já
+     * carregadas nesta transação, então a instância gerenciada é relida do banco (as alterações pendentes
+     * já foram descarregadas antes do UPDATE). Não se usa clearAutomatically nas consultas de estoque
+     * porque isso desanexaria também as vendas e compras que o chamador ainda vai gravar.
+     */
+    private Product findWithCurrentStock(UUID productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado com ID: " + productId));
+        entityManager.refresh(product);
+        return product;
+    }
+
+    /**
+     * Grava uma variação de estoque com UPDATE atômico. Se nenhuma linha for afetada,
+     * identifica o motivo (produto inexistente, não controla estoque ou estoque insuficiente).
+     */
+    private void applyStockDelta(UUID productId, BigDecimal delta) {
+        int signum = delta.signum();
+        if (signum == 0) {
+            return;
+        }
+        int updated = signum > 0
+                ? productRepository.increaseStock(productId, delta, ProductType.RAW_MATERIAL)
+                : productRepository.decreaseStockIfAvailable(productId, delta.negate(), ProductType.RAW_MATERIAL);
+        if (updated == 1) {
+            return;
+        }
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado com ID: " + productId));
+        if (product.getType() != ProductType.RAW_MATERIAL) {
+            throw new IllegalStateException("Apenas matérias-primas controlam estoque.");
+        }
+        throw new IllegalArgumentException("Estoque insuficiente para o produto: " + product.getName());
+    }
+}
@@ -1,32 +1,54 @@
 package br.com.alg.scg.application.service;
 
+import br.com.alg.scg.domain.common.valueobject.DailyTotal;
 import br.com.alg.scg.domain.common.valueobject.Money;
 import br.com.alg.scg.domain.common.valueobject.Quantity;
 import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.valueobject.StockMovement;
+import br.com.alg.scg.domain.product.valueobject.StockMovementSource;
 import br.com.alg.scg.domain.purchases.entity.Purchase;
 import br.com.alg.scg.domain.purchases.entity.PurchaseItem;
 import br.com.alg.scg.domain.purchases.entity.Supplier;
 import br.com.alg.scg.domain.purchases.entity.repository.PurchaseRepository;
+import br.com.alg.scg.domain.purchases.event.PurchaseCreated;
+import br.com.alg.scg.domain.purchases.event.PurchaseDeleted;
+import br.com.alg.scg.domain.purchases.event.PurchaseItemAdded;
+import br.com.alg.scg.domain.purchases.event.PurchaseItemRemoved;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class PurchaseService {
 
+    // Propriedades aceitas na ordenação das páginas pedidas pela API
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "date");
+
     private final PurchaseRepository purchaseRepository;
     private final ProductService productService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public PurchaseService(PurchaseRepository purchaseRepository, ProductService productService) {
+    public PurchaseService(PurchaseRepository purchaseRepository, ProductService productService,
+                           ApplicationEventPublisher eventPublisher) {
         this.purchaseRepository = purchaseRepository;
         this.productService = productService;
+        this.eventPublisher = eventPublisher;
     }
 
     // ==================== CREATE OPERATIONS ====================
@@ -43,7 +65,9 @@ public class PurchaseService {
         Purchase purchase = new Purchase();
         purchase.setSupplier(supplier);
         purchase.setDate(purchaseDate.atStartOfDay());
-        return purchaseRepository.save(purchase);
+        Purchase savedPurchase = purchaseRepository.save(purchase);
+        eventPublisher.publishEvent(new PurchaseCreated(savedPurchase.getId(), savedPurchase.getDate(), savedPurchase.getTotalCost()));
+        return savedPurchase;
     }
 
     @Transactional
@@ -69,7 +93,8 @@ public class PurchaseService {
         Purchase savedPurchase = purchaseRepository.save(purchase);
         
         // Atualizar estoque dos produtos comprados
-        updateProductStock(items);
+        updateProductStock(savedPurchase.getId(), items);
+        eventPublisher.publishEvent(new PurchaseCreated(savedPurchase.getId(), savedPurchase.getDate(), savedPurchase.getTotalCost()));
         
         return savedPurchase;
     }
@@ -89,6 +114,40 @@ public class PurchaseService {
         return purchaseRepository.findAllWithRelations();
     }
 
+    @Transactional(readOnly = true)
+    public Page<Purchase> findAll(Pageable pageable) {
+        Pagination.validatePageable(pageable, SORTABLE_PROPERTIES);
+        Page<UUID> ids = purchaseRepository.findPageIds(pageable);
+        return new PageImpl<>(loadWithRelations(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Página de compras com relações carregadas, sem consulta de contagem.
+     * Usado pelos grids com carregamento sob demanda, que obtêm o total via {@link #count()}.
+     */
+    @Transactional(readOnly = true)
+    public List<Purchase> findPage(Pageable pageable) {
+        if (pageable == null) {
+            throw new IllegalArgumentException("Paginação não pode ser nula");
+        }
+        return loadWithRelations(purchaseRepository.findIdList(pageable));
+    }
+
+    /**
+     * Paginação por cursor (keyset) sobre os IDs UUIDv7: retorna até {@code size + 1} registros
+     * anteriores ao cursor, do mais recente ao mais antigo (o registro extra indica que há próxima página).
+     * Sem cursor, começa pelos mais recentes.
+     */
+    @Transactional(readOnly = true)
+    public List<Purchase> findPageAfter(UUID cursor, int size) {
+        Pagination.validatePageSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<UUID> ids = cursor == null
+                ? purchaseRepository.findLatestIds(limit)
+                : purchaseRepository.findIdsBefore(cursor, limit);
+        return loadWithRelations(ids);
+    }
+
     @Transactional(readOnly = true)
     public boolean existsById(UUID id) {
         if (id == null) {
@@ -172,19 +231,12 @@ public class PurchaseService {
         
         Purchase savedPurchase = purchaseRepository.save(purchase);
         
-        // Atualizar estoque do produto
-        productService.increaseStock(product.getId(), quantity.value());
-        
-        // Definir unidade se for primeira compra (buscar produto atualizado)
-        Product updatedProduct = productService.findById(product.getId())
-                .orElseThrow(() -> new IllegalStateException("Produto não encontrado"));
-        if (updatedProduct.getStockUnit() == null) {
-            productService.setStockUnit(product.getId(), quantity.unitMeasurement());
-        }
-        
-        // IMPORTANTE: Registrar o preço unitário no histórico de preços com a unidade
-        // Isso é essencial para o cálculo de custos na formação de preços
-        productService.addPrice(product.getId(), unitPrice, quantity.unitMeasurement());
+        // Atualizar estoque do produto, definir a unidade na primeira compra e registrar o preço
+        // unitário no histórico (essencial para o cálculo de custos na formação de preços)
+        productService.applyStockMovements(List.of(
+                StockMovement.purchase(product.getId(), quantity.value(), quantity.unitMeasurement(), unitPrice, purchaseId)));
+        eventPublisher.publishEvent(new PurchaseItemAdded(purchaseId, savedPurchase.getDate(), product.getId(),
+                quantity, unitPrice, unitPrice.multiply(quantity.value())));
         
         return savedPurchase;
     }
@@ -212,7 +264,10 @@ public class PurchaseService {
         Purchase savedPurchase = purchaseRepository.save(purchase);
         
         // Reverter estoque do produto
-        productService.decreaseStock(itemToRemove.getProduct().getId(), itemToRemove.getQuantity().value());
+        productService.applyStockMovements(List.of(StockMovement.out(itemToRemove.getProduct().getId(),
+                itemToRemove.getQuantity().value(), StockMovementSource.PURCHASE_REVERSAL, purchaseId)));
+        eventPublisher.publishEvent(new PurchaseItemRemoved(purchaseId, savedPurchase.getDate(),
+                itemToRemove.getProduct().getId(), itemToRemove.getQuantity(), itemToRemove.getSubtotal()));
         
         return savedPurchase;
     }
@@ -229,9 +284,10 @@ public class PurchaseService {
                 .orElseThrow(() -> new IllegalArgumentException("Compra não encontrada com ID: " + id));
         
         // Reverter estoque antes de deletar
-        revertProductStock(purchase.getItems());
+        revertProductStock(purchase);
         
         purchaseRepository.deleteById(id);
+        eventPublisher.publishEvent(new PurchaseDeleted(id, purchase.getDate(), purchase.getTotalCost()));
     }
 
     @Transactional
@@ -241,9 +297,10 @@ public class PurchaseService {
         }
         
         // Reverter estoque antes de deletar
-        revertProductStock(purchase.getItems());
+        revertProductStock(purchase);
         
         purchaseRepository.delete(purchase);
+        eventPublisher.publishEvent(new PurchaseDeleted(purchase.getId(), purchase.getDate(), purchase.getTotalCost()));
     }
 
     // ==================== BUSINESS OPERATIONS ====================
@@ -272,33 +329,79 @@ public class PurchaseService {
         return purchase.getItems().size();
     }
 
+    /**
+     * Gasto com compras no período, calculado pelo banco (SUM em uma varredura por faixa de datas)
+     */
+    @Transactional(readOnly = true)
+    public Money calculateTotalPurchasesForPeriod(LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        return new Money(purchaseRepository.sumTotalCostBetween(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay()));
+    }
+
+    @Transactional(readOnly = true)
+    public long countPurchasesForPeriod(LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        return purchaseRepository.countBetween(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Quantidade e gasto com compras por dia no período (somente dias com compras)
+     */
+    @Transactional(readOnly = true)
+    public List<DailyTotal> findDailyTotals(LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        return purchaseRepository.sumByDayBetween(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+
     // ==================== PRIVATE HELPER METHODS ====================
 
     /**
      * Atualiza o estoque dos produtos comprados E registra os preços de compra
      * no histórico de preços para cálculo de custos.
+     * Todos os itens são aplicados em um único lote (uma consulta para carregar os produtos).
      */
-    private void updateProductStock(List<PurchaseItem> items) {
-        for (PurchaseItem item : items) {
-            // Aumenta o estoque
-            productService.increaseStock(item.getProduct().getId(), item.getQuantity().value());
-            
-            // Define unidade do estoque na primeira compra (verificar produto atualizado)
-            Product currentProduct = productService.findById(item.getProduct().getId())
-                    .orElseThrow(() -> new IllegalStateException("Produto não encontrado"));
-            if (currentProduct.getStockUnit() == null) {
-                productService.setStockUnit(item.getProduct().getId(), item.getQuantity().unitMeasurement());
-            }
-            
-            // IMPORTANTE: Registra o preço unitário da compra no histórico de preços com unidade
-            // Isso é essencial para o cálculo de custos na formação de preços
-            productService.addPrice(item.getProduct().getId(), item.getUnitCost(), item.getQuantity().unitMeasurement());
+    private void updateProductStock(UUID purchaseId, List<PurchaseItem> items) {
+        // IMPORTANTE: o preço unitário da compra é registrado no histórico de preços com unidade,
+        // essencial para o cálculo de custos na formação de preços
+        productService.applyStockMovements(items.stream()
+                .map(item -> StockMovement.purchase(item.getProduct().getId(), item.getQuantity().value(),
+                        item.getQuantity().unitMeasurement(), item.getUnitCost(), purchaseId))
+                .toList());
+    }
+
+    private void revertProductStock(Purchase purchase) {
+        if (purchase.getItems().isEmpty()) {
+            return;
         }
+        productService.applyStockMovements(purchase.getItems().stream()
+                .map(item -> StockMovement.out(item.getProduct().getId(), item.getQuantity().value(),
+                        StockMovementSource.PURCHASE_REVERSAL, purchase.getId()))
+                .toList());
     }
 
-    private void revertProductStock(List<PurchaseItem> items) {
-        for (PurchaseItem item : items) {
-            productService.decreaseStock(item.getProduct().getId(), item.getQuantity().value());
+    /**
+     * Carrega compras com relações a partir de uma lista de IDs, preservando a ordem da lista
+     */
+    private List<Purchase> loadWithRelations(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Purchase> byId = purchaseRepository.findAllWithRelationsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Purchase::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .toList();
+    }
+
+    private void validatePeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null) {
+            throw new IllegalArgumentException("Data inicial não pode ser nula");
+        }
+        if (endDate == null) {
+            throw new IllegalArgumentException("Data final não pode ser nula");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Data inicial não pode ser posterior à data final");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,503 @@
+package br.com.alg.scg.application.service;
+
+import br.com.alg.scg.domain.finance.entity.RecipeCostHistory;
+import br.com.alg.scg.domain.finance.entity.RecipeCostSnapshot;
+import br.com.alg.scg.domain.finance.repository.RecipeCostHistoryRepository;
+import br.com.alg.scg.domain.finance.repository.RecipeCostSnapshotRepository;
+import br.com.alg.scg.domain.finance.service.RecipeCostingEngine;
+import br.com.alg.scg.domain.finance.valueobject.CatalogueRecostReport;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCost;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCostBreakdown;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCostPoint;
+import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.entity.Recipe;
+import br.com.alg.scg.domain.product.event.ConversionProfileChanged;
+import br.com.alg.scg.domain.product.event.PriceChanged;
+import br.com.alg.scg.domain.product.event.RecipeChanged;
+import br.com.alg.scg.domain.product.event.RecipeRemoved;
+import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.service.CurrentPriceCache;
+import br.com.alg.scg.domain.product.service.RecipeDependencyIndex;
+import br.com.alg.scg.domain.product.valueobject.ProductType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Custo das receitas mantido em recipe_cost_snapshot.
+ * Quando o preço de uma matéria-prima muda, apenas as receitas que a utilizam, direta ou por meio de
+ * intermediários (índice reverso {@link RecipeDependencyIndex}), são recusteadas, e o novo custo é gravado
+ * com a variação de cada ingrediente; as telas leem o custo gravado em vez de recalculá-lo a cada exibição.
+ * Cada recálculo também é acrescentado a recipe_cost_history, a série usada nos gráficos de margem.
+ * Os recusteios disparados por eventos rodam em paralelo e podem ser confirmados fora de ordem; o snapshot
+ * é versionado e o recusteio que perde a disputa é refeito sobre os dados já confirmados.
+ */
+@Service
+public class RecipeCostService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeCostService.class);
+
+    // Mais partições que threads equilibram receitas de tamanhos diferentes entre os núcleos
+    private static final int PARTITIONS_PER_THREAD = 4;
+
+    // Tentativas de um recusteio que conflita com outro recusteio concorrente da mesma receita
+    private static final int MAX_RECOST_ATTEMPTS = 3;
+
+    private final ProductRepository productRepository;
+    private final RecipeCostSnapshotRepository snapshotRepository;
+    private final RecipeCostHistoryRepository historyRepository;
+    private final RecipeCostingEngine costingEngine;
+    private final RecipeDependencyIndex dependencyIndex;
+    private final CurrentPriceCache priceCache;
+    private final ForkJoinPool costingPool;
+    private final TransactionTemplate newTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int writeBatchSize;
+    private final AtomicBoolean catalogueRecostRunning = new AtomicBoolean();
+
+    @Autowired
+    public RecipeCostService(ProductRepository productRepository,
+                             RecipeCostSnapshotRepository snapshotRepository,
+                             RecipeCostHistoryRepository historyRepository,
+                             RecipeCostingEngine costingEngine,
+                             RecipeDependencyIndex dependencyIndex,
+                             CurrentPriceCache priceCache,
+                             ForkJoinPool costingPool,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${scg.recipe-cost.write-batch-size:500}") int writeBatchSize) {
+        if (writeBatchSize <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote de gravação deve ser positivo");
+        }
+        this.productRepository = productRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.historyRepository = historyRepository;
+        this.costingEngine = costingEngine;
+        this.dependencyIndex = dependencyIndex;
+        this.priceCache = priceCache;
+        this.costingPool = costingPool;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    // ==================== READ OPERATIONS ====================
+
+    @Transactional(readOnly = true)
+    public Optional<RecipeCostSnapshot> findSnapshot(UUID productId) {
+        if (productId == null) {
+            throw new IllegalArgumentException("ID do produto não pode ser nulo");
+        }
+        return snapshotRepository.findByProductId(productId);
+    }
+
+    /**
+     * Custos dos produtos finais informados, lidos de recipe_cost_snapshot (uma consulta),
+     * com o preço de venda pela margem atual de cada produto. Produtos ainda sem custo gravado
+     * (ex.: receita criada há instantes) são custeados na hora, sem gravar.
+     *
+     * @return mapa ID do produto → custo, na mesma ordem da coleção recebida
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, RecipeCost> findCosts(Collection<Product> finalProducts) {
+        if (finalProducts == null) {
+            throw new IllegalArgumentException("Lista de produtos não pode ser nula");
+        }
+        if (finalProducts.isEmpty()) {
+            return Map.of();
+        }
+
+        List<UUID> productIds = finalProducts.stream().map(Product::getId).toList();
+        Map<UUID, RecipeCostSnapshot> snapshots = snapshotRepository.findByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(RecipeCostSnapshot::getProductId, Function.identity()));
+
+        List<Product> missing = new ArrayList<>();
+        for (Product product : finalProducts) {
+            if (!snapshots.containsKey(product.getId())) {
+                missing.add(product);
+            }
+        }
+        Map<UUID, RecipeCost> computed = missing.isEmpty() ? Map.of() : costingEngine.costProducts(missing);
+
+        Map<UUID, RecipeCost> costs = new LinkedHashMap<>();
+        for (Product product : finalProducts) {
+            RecipeCostSnapshot snapshot = snapshots.get(product.getId());
+            costs.put(product.getId(), snapshot != null
+                    ? snapshot.toRecipeCost(product.getProfitMargin())
+                    : computed.get(product.getId()));
+        }
+        return costs;
+    }
+
+    /**
+     * Série de custos do produto nos últimos meses (ex.: 12 = último ano), em ordem cronológica
+     */
+    @Transactional(readOnly = true)
+    public List<RecipeCostPoint> findCostHistory(UUID productId, int months) {
+        if (months <= 0) {
+            throw new IllegalArgumentException("Quantidade de meses deve ser positiva");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return findCostHistory(productId, now.minusMonths(months), now);
+    }
+
+    /**
+     * Série de custos do produto no intervalo [from, to), em ordem cronológica.
+     * Uma leitura por faixa no índice (recipe_id, computed_at), sem reprocessar preços.
+     */
+    @Transactional(readOnly = true)
+    public List<RecipeCostPoint> findCostHistory(UUID productId, LocalDateTime from, LocalDateTime to) {
+        validatePeriod(from, to);
+        return findRecipeId(productId)
+                .map(recipeId -> historyRepository.findPoints(recipeId, from, to))
+                .orElse(List.of());
+    }
+
+    /**
+     * Custeios do produto no intervalo [from, to) com o custo de cada ingrediente, em ordem cronológica
+     */
+    @Transactional(readOnly = true)
+    public List<RecipeCostHistory> findCostHistoryDetails(UUID productId, LocalDateTime from, LocalDateTime to) {
+        validatePeriod(from, to);
+        return findRecipeId(productId)
+                .map(recipeId -> historyRepository
+                        .findByRecipeIdAndComputedAtGreaterThanEqualAndComputedAtLessThanOrderByComputedAt(recipeId, from, to))
+                .orElse(List.of());
+    }
+
+    /**
+     * Custo da receita do produto com os preços em vigor na data informada (ex.: data de uma venda passada)
+     */
+    @Transactional(readOnly = true)
+    public RecipeCost findCostAsOf(UUID productId, LocalDateTime asOf) {
+        return costingEngine.costAsOf(findRecipe(productId), asOf);
+    }
+
+    /**
+     * Custo da receita do produto em cada uma das datas informadas, em ordem cronológica
+     */
+    @Transactional(readOnly = true)
+    public NavigableMap<LocalDateTime, RecipeCost> findCostsAsOf(UUID productId, Collection<LocalDateTime> instants) {
+        return costingEngine.costAsOf(findRecipe(productId), instants);
+    }
+
+    // ==================== RECOSTING ====================
+
+    /**
+     * Recusteia as receitas informadas e grava o custo de cada uma (INSERT ou UPDATE em lote)
+     *
+     * @return quantidade de receitas recusteadas
+     */
+    @Transactional
+    public int recostRecipes(Collection<UUID> recipeIds) {
+        if (recipeIds == null) {
+            throw new IllegalArgumentException("Lista de receitas não pode ser nula");
+        }
+        if (recipeIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Product> products = productRepository.findAllWithRecipesByRecipeIdIn(recipeIds);
+        return storeBreakdowns(costingEngine.breakdownProducts(products), LocalDateTime.now(), null);
+    }
+
+    /**
+     * Recusteia todos os produtos finais do catálogo (ex.: relatório noturno de margens, grande reajuste
+     * de fornecedor). Os produtos e preços são lidos uma vez, o custeio é dividido em partições executadas
+     * em paralelo no pool recipeCostingPool sobre uma fotografia imutável dos preços, e os resultados são
+     * gravados em lotes, cada lote em sua própria transação.
+     * Receitas recusteadas por um evento depois da leitura (versão do snapshot alterada) não são
+     * sobrescritas: o custo gravado pelo evento já considera dados mais novos que a fotografia.
+     *
+     * @return quantidade de produtos, falhas e vazão da execução
+     * @throws IllegalStateException se outro recusteio do catálogo estiver em andamento
+     */
+    public CatalogueRecostReport recostCatalogue() {
+        return tryRecostCatalogue().orElseThrow(
+                () -> new IllegalStateException("Recusteio do catálogo já está em andamento"));
+    }
+
+    private Optional<CatalogueRecostReport> tryRecostCatalogue() {
+        if (!catalogueRecostRunning.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(recostCatalogueExclusively());
+        } finally {
+            catalogueRecostRunning.set(false);
+        }
+    }
+
+    private CatalogueRecostReport recostCatalogueExclusively() {
+        long startedAt = System.nanoTime();
+        int partitions = costingPool.getParallelism() * PARTITIONS_PER_THREAD;
+
+        long[] costingNanos = new long[1];
+        Map<UUID, Long> versionsAtRead = new HashMap<>();
+        Map<UUID, RecipeCostBreakdown> breakdowns = readOnlyTransaction.execute(status -> {
+            // Versões lidas antes dos preços: um recusteio confirmado depois disso torna a entrada obsoleta
+            snapshotRepository.findAllVersions().forEach(
+                    version -> versionsAtRead.put(version.recipeId(), version.version()));
+            List<Product> products = productRepository.findAllWithRecipesByType(ProductType.FINAL_PRODUCT);
+            long costingStartedAt = System.nanoTime();
+            Map<UUID, RecipeCostBreakdown> result = costingEngine.breakdownProducts(products, costingPool, partitions);
+            costingNanos[0] = System.nanoTime() - costingStartedAt;
+            return result;
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        int stored = 0;
+        List<Map.Entry<UUID, RecipeCostBreakdown>> entries = new ArrayList<>(breakdowns.entrySet());
+        for (int from = 0; from < entries.size(); from += writeBatchSize) {
+            Map<UUID, RecipeCostBreakdown> batch = new LinkedHashMap<>();
+            entries.subList(from, Math.min(entries.size(), from + writeBatchSize))
+                    .forEach(entry -> batch.put(entry.getKey(), entry.getValue()));
+            stored += recostWithRetry(() -> storeBreakdowns(batch, now, versionsAtRead));
+        }
+
+        int failures = (int) breakdowns.values().stream().filter(breakdown -> breakdown.cost().hasError()).count();
+        CatalogueRecostReport report = new CatalogueRecostReport(breakdowns.size(), failures,
+                breakdowns.size() - stored, partitions,
+                Duration.ofNanos(costingNanos[0]), Duration.ofNanos(System.nanoTime() - startedAt));
+        logger.info("Catálogo recusteado: {} produtos ({} com erro, {} já recusteados durante a execução) em {} ms "
+                        + "de custeio, {} ms no total, {} produtos/s",
+                report.products(), report.failures(), report.skipped(), report.costingTime().toMillis(),
+                report.totalTime().toMillis(), Math.round(report.productsPerSecond()));
+        return report;
+    }
+
+    /**
+     * Recusteia somente as receitas que usam alguma das matérias-primas informadas
+     *
+     * @return quantidade de receitas recusteadas
+     */
+    @Transactional
+    public int recostAffectedBy(Collection<UUID> rawMaterialIds) {
+        if (rawMaterialIds == null) {
+            throw new IllegalArgumentException("Lista de matérias-primas não pode ser nula");
+        }
+        Set<UUID> recipeIds = dependencyIndex.recipesUsingAny(rawMaterialIds);
+        if (recipeIds.isEmpty()) {
+            return 0;
+        }
+        // Garante que o custeio leia o preço recém-confirmado, e não um valor ainda em cache
+        rawMaterialIds.forEach(priceCache::evict);
+        return recostRecipes(recipeIds);
+    }
+
+    // ==================== EVENT LISTENERS ====================
+
+    @Async
+    @TransactionalEventListener
+    public void onPriceChanged(PriceChanged event) {
+        int recosted = recostWithRetry(() -> recostAffectedBy(List.of(event.productId())));
+        if (recosted > 0) {
+            logger.debug("{} receitas recusteadas após alteração de preço do produto {}", recosted, event.productId());
+        }
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onConversionProfileChanged(ConversionProfileChanged event) {
+        int recosted = recostWithRetry(() -> recostRecipes(dependencyIndex.recipesUsing(event.productId())));
+        if (recosted > 0) {
+            logger.debug("{} receitas recusteadas após alteração do perfil de conversão do produto {}",
+                    recosted, event.productId());
+        }
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onRecipeChanged(RecipeChanged event) {
+        recostWithRetry(() -> productRepository.findWithRecipeById(event.productId())
+                .flatMap(Product::getProductRecipe)
+                .map(recipe -> {
+                    dependencyIndex.update(event.productId(), recipe.getId(), recipe.getRawMaterialIds());
+                    // Receitas que usam este produto como intermediário também mudam de custo
+                    Set<UUID> recipeIds = new HashSet<>(dependencyIndex.recipesUsing(event.productId()));
+                    recipeIds.add(recipe.getId());
+                    return recostRecipes(recipeIds);
+                })
+                .orElse(0));
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onRecipeRemoved(RecipeRemoved event) {
+        recostWithRetry(() -> {
+            Set<UUID> dependents = new HashSet<>(dependencyIndex.recipesUsing(event.productId()));
+            dependencyIndex.remove(event.recipeId());
+            snapshotRepository.deleteById(event.recipeId());
+            dependents.remove(event.recipeId());
+            return recostRecipes(dependents);
+        });
+    }
+
+    /**
+     * Na inicialização, custeia as receitas que ainda não possuem custo gravado
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void recostMissing() {
+        int recosted = recostWithRetry(() -> recostRecipes(snapshotRepository.findRecipeIdsWithoutSnapshot()));
+        if (recosted > 0) {
+            logger.info("{} receitas sem custo gravado foram custeadas", recosted);
+        }
+    }
+
+    /**
+     * Recusteio agendado do catálogo inteiro (por padrão, de madrugada); ignorado se a execução
+     * anterior (ou um recusteio manual) ainda estiver em andamento
+     */
+    @Scheduled(cron = "${scg.recipe-cost.catalogue-cron:-}")
+    public void scheduledCatalogueRecost() {
+        if (tryRecostCatalogue().isEmpty()) {
+            logger.warn("Recusteio agendado do catálogo ignorado: o recusteio anterior ainda está em andamento");
+        }
+    }
+
+    /**
+     * Recarrega periodicamente o índice reverso do banco, para incorporar receitas alteradas por outros nós
+     */
+    @Scheduled(fixedDelayString = "${scg.recipe-cost.index-refresh:PT10M}", initialDelayString = "${scg.recipe-cost.index-refresh:PT10M}")
+    public void refreshDependencyIndex() {
+        dependencyIndex.clear();
+    }
+
+    // ==================== PRIVATE HELPER METHODS ====================
+
+    /**
+     * Executa o recusteio em uma transação própria e o refaz quando outro recusteio da mesma receita foi
+     * confirmado antes (versão do snapshot alterada) ou inseriu o primeiro snapshot ao mesmo tempo
+     * (chave duplicada). Cada tentativa relê receitas, preços e snapshots já confirmados.
+     *
+     * @return quantidade de receitas recusteadas
+     */
+    private int recostWithRetry(Supplier<Integer> recost) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer recosted = newTransaction.execute(status -> recost.get());
+                return recosted != null ? recosted : 0;
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                if (attempt >= MAX_RECOST_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Recusteio em conflito com outro recusteio concorrente (tentativa {}): {}",
+                        attempt, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Grava o custeio de cada produto (INSERT ou UPDATE em lote) e acrescenta os custeios sem erro ao histórico
+     *
+     * @param expectedVersions versão de cada snapshot quando os dados do custeio foram lidos (ausente = não
+     *                         existia); receitas cujo snapshot mudou desde então não são gravadas.
+     *                         Null quando o custeio foi feito na própria transação.
+     * @return quantidade de receitas gravadas
+     */
+    private int storeBreakdowns(Map<UUID, RecipeCostBreakdown> breakdowns, LocalDateTime now,
+                                Map<UUID, Long> expectedVersions) {
+        if (breakdowns.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> recipeIds = breakdowns.values().stream().map(RecipeCostBreakdown::recipeId).toList();
+        Map<UUID, RecipeCostSnapshot> existing = snapshotRepository.findAllById(recipeIds).stream()
+                .collect(Collectors.toMap(RecipeCostSnapshot::getRecipeId, Function.identity()));
+
+        List<RecipeCostSnapshot> snapshots = new ArrayList<>(breakdowns.size());
+        breakdowns.forEach((productId, breakdown) -> {
+            RecipeCostSnapshot snapshot = existing.get(breakdown.recipeId());
+            if (expectedVersions != null && !Objects.equals(expectedVersions.get(breakdown.recipeId()),
+                    snapshot != null ? snapshot.getVersion() : null)) {
+                return; // Recusteado (ou removido) depois da leitura: o custo gravado é mais novo
+            }
+            if (snapshot == null) {
+                snapshot = new RecipeCostSnapshot(breakdown.recipeId(), productId);
+            }
+            if (breakdown.cost().hasError()) {
+                snapshot.fail(breakdown.cost().errorMessage(), now);
+            } else {
+                snapshot.update(breakdown.cost().totalCost(), breakdown.cost().unitCost(),
+                        breakdown.yieldQuantity(), breakdown.ingredientCosts(), now);
+            }
+            snapshots.add(snapshot);
+        });
+
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        snapshotRepository.saveAll(snapshots);
+        historyRepository.saveAll(snapshots.stream()
+                .filter(snapshot -> !snapshot.hasError())
+                .map(RecipeCostHistory::of)
+                .toList());
+        return snapshots.size();
+    }
+
+    private Recipe findRecipe(UUID productId) {
+        if (productId == null) {
+            throw new IllegalArgumentException("ID do produto não pode ser nulo");
+        }
+        Product product = productRepository.findWithRecipeById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado com ID: " + productId));
+        return product.getProductRecipe()
+                .orElseThrow(() -> new IllegalArgumentException("Produto não possui receita: " + product.getName()));
+    }
+
+    private Optional<UUID> findRecipeId(UUID productId) {
+        if (productId == null) {
+            throw new IllegalArgumentException("ID do produto não pode ser nulo");
+        }
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado com ID: " + productId));
+        return product.getProductRecipe().map(Recipe::getId);
+    }
+
+    private void validatePeriod(LocalDateTime from, LocalDateTime to) {
+        if (from == null) {
+            throw new IllegalArgumentException("Data inicial não pode ser nula");
+        }
+        if (to == null) {
+            throw new IllegalArgumentException("Data final não pode ser nula");
+        }
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Data final deve ser posterior à data inicial");
+        }
+    }
+}
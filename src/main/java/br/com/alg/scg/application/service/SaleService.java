@@ -1,34 +1,61 @@
 package br.com.alg.scg.application.service;
 
+import br.com.alg.scg.domain.common.valueobject.DailyTotal;
 import br.com.alg.scg.domain.common.valueobject.Money;
 import br.com.alg.scg.domain.common.valueobject.Quantity;
 import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.valueobject.CurrentPrice;
+import br.com.alg.scg.domain.product.valueobject.StockMovement;
+import br.com.alg.scg.domain.product.valueobject.StockMovementSource;
 import br.com.alg.scg.domain.sales.entity.Client;
 import br.com.alg.scg.domain.sales.entity.Sale;
 import br.com.alg.scg.domain.sales.entity.SaleItem;
 import br.com.alg.scg.domain.sales.entity.repository.SaleRepository;
+import br.com.alg.scg.domain.sales.event.SaleCreated;
+import br.com.alg.scg.domain.sales.event.SaleDeleted;
+import br.com.alg.scg.domain.sales.event.SaleItemAdded;
+import br.com.alg.scg.domain.sales.event.SaleItemRemoved;
+import br.com.alg.scg.domain.sales.event.SaleLine;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class SaleService {
 
+    // Propriedades aceitas na ordenação das páginas pedidas pela API
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "saleDate");
+
     private final SaleRepository saleRepository;
     private final ProductService productService;
     private final ClientService clientService;
+    private final SalesSummaryService salesSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public SaleService(SaleRepository saleRepository, ProductService productService, ClientService clientService) {
+    public SaleService(SaleRepository saleRepository, ProductService productService, ClientService clientService,
+                       SalesSummaryService salesSummaryService, ApplicationEventPublisher eventPublisher) {
         this.saleRepository = saleRepository;
         this.productService = productService;
         this.clientService = clientService;
+        this.salesSummaryService = salesSummaryService;
+        this.eventPublisher = eventPublisher;
     }
 
     // ==================== CREATE OPERATIONS ====================
@@ -43,7 +70,10 @@ public class SaleService {
         }
 
         Sale sale = new Sale(client);
-        return saleRepository.save(sale);
+        Sale savedSale = saleRepository.save(sale);
+        eventPublisher.publishEvent(new SaleCreated(savedSale.getId(), savedSale.getSaleDate(),
+                savedSale.getTotalValue(), toLines(savedSale)));
+        return savedSale;
     }
 
     @Transactional
@@ -61,20 +91,19 @@ public class SaleService {
             throw new IllegalArgumentException("Cliente não está ativo");
         }
 
-        // Verificar estoque antes de criar a venda
-        validateStockAvailabilityForProducts(products, quantities);
-
         Sale sale = new Sale(client);
         
         for (int i = 0; i < products.size(); i++) {
-            sale.addItem(products.get(i), quantities.get(i));
+            Product product = products.get(i);
+            sale.addItem(product, quantities.get(i), currentSalePrice(product));
         }
         
-        Sale savedSale = saleRepository.save(sale);
-        
-        // Reduzir estoque dos produtos vendidos
-        updateProductStockForProducts(products, quantities);
+        // Reduzir estoque dos produtos vendidos em lote (valida o estoque de todos antes de alterar qualquer um)
+        productService.applyStockMovements(toOutboundMovements(sale, products, quantities));
         
+        Sale savedSale = saleRepository.save(sale);
+        eventPublisher.publishEvent(new SaleCreated(savedSale.getId(), savedSale.getSaleDate(),
+                savedSale.getTotalValue(), toLines(savedSale)));
         return savedSale;
     }
 
@@ -85,12 +114,46 @@ public class SaleService {
         if (id == null) {
             throw new IllegalArgumentException("ID não pode ser nulo");
         }
-        return saleRepository.findById(id);
+        return saleRepository.findByIdWithRelations(id);
     }
 
     @Transactional(readOnly = true)
     public List<Sale> findAll() {
-        return saleRepository.findAll();
+        return saleRepository.findAllWithRelations();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Sale> findAll(Pageable pageable) {
+        Pagination.validatePageable(pageable, SORTABLE_PROPERTIES);
+        Page<UUID> ids = saleRepository.findPageIds(pageable);
+        return new PageImpl<>(loadWithRelations(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Página de vendas com relações carregadas, sem consulta de contagem.
+     * Usado pelos grids com carregamento sob demanda, que obtêm o total via {@link #count()}.
+     */
+    @Transactional(readOnly = true)
+    public List<Sale> findPage(Pageable pageable) {
+        if (pageable == null) {
+            throw new IllegalArgumentException("Paginação não pode ser nula");
+        }
+        return loadWithRelations(saleRepository.findIdList(pageable));
+    }
+
+    /**
+     * Paginação por cursor (keyset) sobre os IDs UUIDv7: retorna até {@code size + 1} registros
+     * anteriores ao cursor, do mais recente ao mais antigo (o registro extra indica que há próxima página).
+     * Sem cursor, começa pelos mais recentes.
+     */
+    @Transactional(readOnly = true)
+    public List<Sale> findPageAfter(UUID cursor, int size) {
+        Pagination.validatePageSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<UUID> ids = cursor == null
+                ? saleRepository.findLatestIds(limit)
+                : saleRepository.findIdsBefore(cursor, limit);
+        return loadWithRelations(ids);
     }
 
     @Transactional(readOnly = true)
@@ -111,21 +174,16 @@ public class SaleService {
         if (client == null) {
             throw new IllegalArgumentException("Cliente não pode ser nulo");
         }
-        return saleRepository.findByClient(client);
+        return saleRepository.findByClientWithRelations(client);
     }
 
     @Transactional(readOnly = true)
     public List<Sale> findByDateRange(LocalDate startDate, LocalDate endDate) {
-        if (startDate == null) {
-            throw new IllegalArgumentException("Data inicial não pode ser nula");
-        }
-        if (endDate == null) {
-            throw new IllegalArgumentException("Data final não pode ser nula");
-        }
-        if (startDate.isAfter(endDate)) {
-            throw new IllegalArgumentException("Data inicial não pode ser posterior à data final");
-        }
-        return saleRepository.findBySaleDateBetween(startDate, endDate);
+        validatePeriod(startDate, endDate);
+        // Converter LocalDate para LocalDateTime para busca
+        LocalDateTime startDateTime = startDate.atStartOfDay();
+        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
+        return saleRepository.findBySaleDateBetweenWithRelations(startDateTime, endDateTime);
     }
 
     // ==================== UPDATE OPERATIONS ====================
@@ -145,18 +203,17 @@ public class SaleService {
         Sale sale = saleRepository.findById(saleId)
                 .orElseThrow(() -> new IllegalArgumentException("Venda não encontrada com ID: " + saleId));
 
-        // Verificar se há estoque suficiente
-        if (!productService.hasStock(product.getId(), new java.math.BigDecimal(quantity))) {
-            throw new IllegalArgumentException("Estoque insuficiente para o produto: " + product.getName());
-        }
-
-        sale.addItem(product, quantity);
-        
-        Sale savedSale = saleRepository.save(sale);
+        sale.addItem(product, quantity, currentSalePrice(product));
         
-        // Reduzir estoque do produto
-        productService.decreaseStock(product.getId(), new java.math.BigDecimal(quantity));
+        // Reduzir estoque do produto (falha com estoque insuficiente antes de gravar a venda)
+        productService.applyStockMovements(List.of(StockMovement.out(product.getId(), new java.math.BigDecimal(quantity),
+                StockMovementSource.SALE, saleId)));
         
+        Sale savedSale = saleRepository.save(sale);
+        List<SaleItem> items = savedSale.getItems();
+        SaleItem addedItem = items.get(items.size() - 1);
+        eventPublisher.publishEvent(new SaleItemAdded(saleId, savedSale.getSaleDate(), product.getId(),
+                addedItem.getQuantity(), addedItem.getSubtotal()));
         return savedSale;
     }
 
@@ -183,7 +240,10 @@ public class SaleService {
         Sale savedSale = saleRepository.save(sale);
         
         // Restaurar estoque do produto
-        productService.increaseStock(itemToRemove.getProduct().getId(), new java.math.BigDecimal(itemToRemove.getQuantity()));
+        productService.applyStockMovements(List.of(StockMovement.in(itemToRemove.getProduct().getId(),
+                new java.math.BigDecimal(itemToRemove.getQuantity()), StockMovementSource.SALE_REVERSAL, saleId)));
+        eventPublisher.publishEvent(new SaleItemRemoved(saleId, savedSale.getSaleDate(),
+                itemToRemove.getProduct().getId(), itemToRemove.getQuantity(), itemToRemove.getSubtotal()));
         
         return savedSale;
     }
@@ -199,10 +259,11 @@ public class SaleService {
         Sale sale = saleRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Venda não encontrada com ID: " + id));
         
-        // Restaurar estoque antes de deletar
-        restoreProductStock(sale.getItems());
+        // Restaurar estoque antes de deletar (o resumo diário é atualizado pelo evento SaleDeleted)
+        restoreProductStock(sale);
         
         saleRepository.deleteById(id);
+        eventPublisher.publishEvent(new SaleDeleted(id, sale.getSaleDate(), sale.getTotalValue(), toLines(sale)));
     }
 
     @Transactional
@@ -211,10 +272,11 @@ public class SaleService {
             throw new IllegalArgumentException("Venda não pode ser nula");
         }
         
-        // Restaurar estoque antes de deletar
-        restoreProductStock(sale.getItems());
+        // Restaurar estoque antes de deletar (o resumo diário é atualizado pelo evento SaleDeleted)
+        restoreProductStock(sale);
         
         saleRepository.delete(sale);
+        eventPublisher.publishEvent(new SaleDeleted(sale.getId(), sale.getSaleDate(), sale.getTotalValue(), toLines(sale)));
     }
 
     // ==================== BUSINESS OPERATIONS ====================
@@ -243,6 +305,11 @@ public class SaleService {
         return sale.getItems().size();
     }
 
+    /**
+     * Faturamento do período, lido do resumo diário pré-agregado (no máximo uma linha por dia).
+     * O resumo é atualizado de forma assíncrona após o commit de cada venda, então pode refletir
+     * as vendas mais recentes com um pequeno atraso.
+     */
     @Transactional(readOnly = true)
     public Money calculateTotalSalesForPeriod(LocalDate startDate, LocalDate endDate) {
         if (startDate == null) {
@@ -251,45 +318,89 @@ public class SaleService {
         if (endDate == null) {
             throw new IllegalArgumentException("Data final não pode ser nula");
         }
-
-        List<Sale> sales = findByDateRange(startDate, endDate);
-        
-        BigDecimal total = sales.stream()
-                .map(Sale::getTotalValue)
-                .map(Money::value)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return new Money(total);
+        return salesSummaryService.totalRevenue(startDate, endDate);
     }
 
     @Transactional(readOnly = true)
     public long countSalesForPeriod(LocalDate startDate, LocalDate endDate) {
-        return findByDateRange(startDate, endDate).size();
+        if (startDate == null) {
+            throw new IllegalArgumentException("Data inicial não pode ser nula");
+        }
+        if (endDate == null) {
+            throw new IllegalArgumentException("Data final não pode ser nula");
+        }
+        return salesSummaryService.countSales(startDate, endDate);
+    }
+
+    /**
+     * Quantidade e faturamento por dia calculados direto sobre a tabela de vendas (GROUP BY dia).
+     * Útil para conferir o resumo diário pré-agregado.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyTotal> findDailyTotals(LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        return saleRepository.sumByDayBetween(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
     }
 
     // ==================== PRIVATE HELPER METHODS ====================
 
-    private void validateStockAvailabilityForProducts(List<Product> products, List<Integer> quantities) {
+    /**
+     * Preço vigente do produto, lido do cache de preços (o preço é "congelado" no item da venda)
+     */
+    private Money currentSalePrice(Product product) {
+        return productService.findCurrentPrice(product.getId())
+                .map(CurrentPrice::value)
+                .orElseThrow(() -> new IllegalStateException("Produto " + product.getName() + " não possui preço para venda."));
+    }
+
+    private static List<SaleLine> toLines(Sale sale) {
+        return sale.getItems().stream()
+                .map(item -> new SaleLine(item.getProduct().getId(), item.getQuantity(), item.getSubtotal()))
+                .toList();
+    }
+
+    private List<StockMovement> toOutboundMovements(Sale sale, List<Product> products, List<Integer> quantities) {
+        List<StockMovement> movements = new ArrayList<>(products.size());
         for (int i = 0; i < products.size(); i++) {
-            Product product = products.get(i);
-            int quantity = quantities.get(i);
-            if (!productService.hasStock(product.getId(), new java.math.BigDecimal(quantity))) {
-                throw new IllegalArgumentException("Estoque insuficiente para o produto: " + product.getName());
-            }
+            movements.add(StockMovement.out(products.get(i).getId(), new java.math.BigDecimal(quantities.get(i)),
+                    StockMovementSource.SALE, sale.getId()));
         }
+        return movements;
     }
 
-    private void updateProductStockForProducts(List<Product> products, List<Integer> quantities) {
-        for (int i = 0; i < products.size(); i++) {
-            Product product = products.get(i);
-            int quantity = quantities.get(i);
-            productService.decreaseStock(product.getId(), new java.math.BigDecimal(quantity));
+    private void restoreProductStock(Sale sale) {
+        if (sale.getItems().isEmpty()) {
+            return;
         }
+        productService.applyStockMovements(sale.getItems().stream()
+                .map(item -> StockMovement.in(item.getProduct().getId(), new java.math.BigDecimal(item.getQuantity()),
+                        StockMovementSource.SALE_REVERSAL, sale.getId()))
+                .toList());
     }
 
-    private void restoreProductStock(List<SaleItem> items) {
-        for (SaleItem item : items) {
-            productService.increaseStock(item.getProduct().getId(), new java.math.BigDecimal(item.getQuantity()));
+    /**
+     * Carrega vendas com relações a partir de uma lista de IDs, preservando a ordem da lista
+     */
+    private List<Sale> loadWithRelations(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Sale> byId = saleRepository.findAllWithRelationsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Sale::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .toList();
+    }
+
+    private void validatePeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null) {
+            throw new IllegalArgumentException("Data inicial não pode ser nula");
+        }
+        if (endDate == null) {
+            throw new IllegalArgumentException("Data final não pode ser nula");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Data inicial não pode ser posterior à data final");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,163 @@
+package br.com.alg.scg.application.service;
+
+import br.com.alg.scg.domain.common.event.OutboxDelivery;
+import br.com.alg.scg.domain.common.valueobject.MinorUnits;
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.sales.entity.DailyProductSales;
+import br.com.alg.scg.domain.sales.entity.DailySalesSummary;
+import br.com.alg.scg.domain.sales.entity.repository.DailyProductSalesRepository;
+import br.com.alg.scg.domain.sales.entity.repository.DailySalesSummaryRepository;
+import br.com.alg.scg.domain.sales.event.SaleCreated;
+import br.com.alg.scg.domain.sales.event.SaleDeleted;
+import br.com.alg.scg.domain.sales.event.SaleItemAdded;
+import br.com.alg.scg.domain.sales.event.SaleItemRemoved;
+import br.com.alg.scg.domain.sales.event.SaleLine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resumo diário de vendas pré-agregado (daily_sales_summary e daily_product_sales).
+ * Atualizado incrementalmente por UPSERTs atômicos a partir dos eventos de venda entregues pela
+ * outbox, fora da thread da requisição e na mesma transação que marca o evento como processado
+ * (cada venda é somada exatamente uma vez, mesmo com vários nós ou após uma queda); totais por período
+ * leem no máximo uma linha por dia em vez de carregar todas as vendas.
+ */
+@Service
+public class SalesSummaryService {
+
+    private final DailySalesSummaryRepository summaryRepository;
+    private final DailyProductSalesRepository productSalesRepository;
+
+    @Autowired
+    public SalesSummaryService(DailySalesSummaryRepository summaryRepository,
+                               DailyProductSalesRepository productSalesRepository) {
+        this.summaryRepository = summaryRepository;
+        this.productSalesRepository = productSalesRepository;
+    }
+
+    // ==================== INCREMENTAL UPDATES (OUTBOX HANDLERS) ====================
+
+    /**
+     * Soma uma venda nova (com seus itens) ao resumo do dia
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onSaleCreated(OutboxDelivery<SaleCreated> delivery) {
+        SaleCreated event = delivery.event();
+        apply(event.saleDate().toLocalDate(), event.items(), 1, 1);
+    }
+
+    /**
+     * Retira uma venda excluída (com seus itens) do resumo do dia
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onSaleDeleted(OutboxDelivery<SaleDeleted> delivery) {
+        SaleDeleted event = delivery.event();
+        apply(event.saleDate().toLocalDate(), event.items(), -1, -1);
+    }
+
+    /**
+     * Item adicionado a uma venda existente
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onSaleItemAdded(OutboxDelivery<SaleItemAdded> delivery) {
+        SaleItemAdded event = delivery.event();
+        apply(event.saleDate().toLocalDate(),
+                List.of(new SaleLine(event.productId(), event.quantity(), event.subtotal())), 1, 0);
+    }
+
+    /**
+     * Item removido de uma venda existente
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onSaleItemRemoved(OutboxDelivery<SaleItemRemoved> delivery) {
+        SaleItemRemoved event = delivery.event();
+        apply(event.saleDate().toLocalDate(),
+                List.of(new SaleLine(event.productId(), event.quantity(), event.subtotal())), -1, 0);
+    }
+
+    /**
+     * Reconstrói o resumo dos dias do intervalo a partir de sales/sale_items
+     */
+    @Transactional
+    public void rebuild(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        summaryRepository.deleteRange(startDate, endDate);
+        productSalesRepository.deleteRange(startDate, endDate);
+        summaryRepository.rebuildRange(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+        productSalesRepository.rebuildRange(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+
+    // ==================== READ OPERATIONS ====================
+
+    @Transactional(readOnly = true)
+    public Money totalRevenue(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        return new Money(summaryRepository.sumRevenue(startDate, endDate));
+    }
+
+    @Transactional(readOnly = true)
+    public long countSales(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        return summaryRepository.sumSaleCount(startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailySalesSummary> findDaily(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        return summaryRepository.findBySaleDateBetweenOrderBySaleDate(startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyProductSales> findDailyByProduct(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        return productSalesRepository.findBySaleDateBetween(startDate, endDate);
+    }
+
+    // ==================== PRIVATE HELPER METHODS ====================
+
+    private void apply(LocalDate day, List<SaleLine> lines, int sign, int saleCountDelta) {
+        long quantity = 0;
+        long revenueCents = 0;
+        for (SaleLine line : lines) {
+            BigDecimal subtotal = line.subtotal().value();
+            quantity += line.quantity();
+            revenueCents = MinorUnits.add(revenueCents, MinorUnits.of(subtotal));
+            productSalesRepository.addToDay(day, toBytes(line.productId()),
+                    sign * (long) line.quantity(), sign < 0 ? subtotal.negate() : subtotal);
+        }
+
+        summaryRepository.addToDay(day, saleCountDelta, MinorUnits.toBigDecimal(sign * revenueCents), sign * quantity);
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null) {
+            throw new IllegalArgumentException("Data inicial não pode ser nula");
+        }
+        if (endDate == null) {
+            throw new IllegalArgumentException("Data final não pode ser nula");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Data final não pode ser anterior à data inicial");
+        }
+    }
+}
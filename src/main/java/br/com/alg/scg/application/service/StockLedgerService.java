@@ -0,0 +1,183 @@
+package br.com.alg.scg.application.service;
+
+import br.com.alg.scg.domain.product.entity.StockLedgerEntry;
+import br.com.alg.scg.domain.product.entity.StockSnapshot;
+import br.com.alg.scg.domain.product.repository.StockLedgerRepository;
+import br.com.alg.scg.domain.product.repository.StockSnapshotRepository;
+import br.com.alg.scg.domain.product.valueobject.StockMovement;
+import br.com.alg.scg.domain.product.valueobject.StockMovementSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Livro-razão de estoque: registra cada movimentação (somente INSERT) e consolida
+ * periodicamente o saldo por produto em snapshots, para consultar o estoque em qualquer instante
+ * sem reprocessar todo o histórico.
+ * <p>
+ * As movimentações são inseridas imediatamente antes do commit da transação que as gerou, então a
+ * sequência atribuída pelo banco (seq) segue a ordem de confirmação; as janelas de consolidação são
+ * intervalos de seq, e uma transação longa não tem suas movimentações "puladas" por um snapshot.
+ */
+@Service
+public class StockLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedgerService.class);
+
+    private final StockLedgerRepository ledgerRepository;
+    private final StockSnapshotRepository snapshotRepository;
+    private final Duration snapshotLag;
+
+    @Autowired
+    public StockLedgerService(StockLedgerRepository ledgerRepository,
+                              StockSnapshotRepository snapshotRepository,
+                              @Value("${scg.stock-snapshot.lag:PT1M}") Duration snapshotLag) {
+        this.ledgerRepository = ledgerRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.snapshotLag = snapshotLag;
+    }
+
+    // ==================== CREATE OPERATIONS ====================
+
+    /**
+     * Registra as movimentações no livro-razão, na transação do chamador (INSERTs em lote JDBC
+     * imediatamente antes do commit)
+     */
+    @Transactional
+    public void record(List<StockMovement> movements) {
+        if (movements == null) {
+            throw new IllegalArgumentException("Lista de movimentações não pode ser nula");
+        }
+        List<StockMovement> pending = List.copyOf(movements);
+        beforeCommit(now -> {
+            List<StockLedgerEntry> entries = new ArrayList<>(pending.size());
+            for (StockMovement movement : pending) {
+                BigDecimal delta = movement.direction() == StockMovement.Direction.OUT
+                        ? movement.quantity().negate()
+                        : movement.quantity();
+                entries.add(new StockLedgerEntry(movement.productId(), delta, movement.unitMeasurement(),
+                        movement.source(), movement.sourceId(), now));
+            }
+            ledgerRepository.saveAll(entries);
+        });
+    }
+
+    /**
+     * Registra uma variação avulsa (estoque inicial de um produto novo ou ajuste manual)
+     */
+    @Transactional
+    public void record(UUID productId, BigDecimal delta, StockMovementSource source) {
+        if (productId == null) {
+            throw new IllegalArgumentException("ID do produto não pode ser nulo");
+        }
+        if (delta == null || delta.signum() == 0) {
+            return;
+        }
+        if (source == null) {
+            throw new IllegalArgumentException("Origem da movimentação não pode ser nula");
+        }
+        beforeCommit(now -> ledgerRepository.save(new StockLedgerEntry(productId, delta, null, source, null, now)));
+    }
+
+    // ==================== READ OPERATIONS ====================
+
+    /**
+     * Estoque do produto no instante informado: último snapshot até o instante
+     * mais a soma das movimentações não consolidadas nele, ocorridas até o instante (consulta coberta por índice)
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal stockAsOf(UUID productId, LocalDateTime at) {
+        if (productId == null) {
+            throw new IllegalArgumentException("ID do produto não pode ser nulo");
+        }
+        if (at == null) {
+            throw new IllegalArgumentException("Data não pode ser nula");
+        }
+
+        var snapshot = snapshotRepository.findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(productId, at);
+        BigDecimal base = snapshot.map(StockSnapshot::getQuantity).orElse(BigDecimal.ZERO);
+        long afterSeq = snapshot.map(StockSnapshot::getLastMovementSeq).orElse(0L);
+        return base.add(ledgerRepository.sumDeltas(productId, afterSeq, at));
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockLedgerEntry> findMovements(UUID productId) {
+        if (productId == null) {
+            throw new IllegalArgumentException("ID do produto não pode ser nulo");
+        }
+        return ledgerRepository.findByProductIdOrderByOccurredAtAsc(productId);
+    }
+
+    // ==================== BUSINESS OPERATIONS ====================
+
+    /**
+     * Consolida em snapshots as movimentações com seq posterior à do último snapshot, apenas para os produtos
+     * movimentados. A janela termina na última movimentação registrada há mais de scg.stock-snapshot.lag,
+     * margem para o intervalo entre a inserção (logo antes do commit) e o commit de cada transação.
+     */
+    @Scheduled(cron = "${scg.stock-snapshot.cron:0 0 * * * *}")
+    @Transactional
+    public int takeSnapshots() {
+        LocalDateTime until = LocalDateTime.now().minus(snapshotLag);
+        long afterSeq = snapshotRepository.findLastMovementSeq().orElse(0L);
+        long upToSeq = ledgerRepository.findLastSeq(afterSeq, until).orElse(afterSeq);
+        if (upToSeq <= afterSeq) {
+            return 0;
+        }
+
+        Map<UUID, BigDecimal> deltas = ledgerRepository.sumDeltasByProduct(afterSeq, upToSeq).stream()
+                .collect(Collectors.toMap(row -> (UUID) row[0], row -> (BigDecimal) row[1]));
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, BigDecimal> previous = snapshotRepository.findLatestByProductIdIn(deltas.keySet()).stream()
+                .collect(Collectors.toMap(StockSnapshot::getProductId, StockSnapshot::getQuantity));
+
+        List<StockSnapshot> snapshots = deltas.entrySet().stream()
+                .map(entry -> new StockSnapshot(entry.getKey(),
+                        previous.getOrDefault(entry.getKey(), BigDecimal.ZERO).add(entry.getValue()),
+                        until, upToSeq))
+                .toList();
+        snapshotRepository.saveAll(snapshots);
+
+        logger.info("Snapshots de estoque consolidados até a movimentação {} ({}): {} produto(s)",
+                upToSeq, until, snapshots.size());
+        return snapshots.size();
+    }
+
+    // ==================== PRIVATE HELPER METHODS ====================
+
+    /**
+     * Executa a gravação imediatamente antes do commit da transação atual (com a data desse momento),
+     * para que a seq das movimentações acompanhe a ordem de confirmação das transações
+     */
+    private void beforeCommit(Consumer<LocalDateTime> write) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write.accept(LocalDateTime.now());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                write.accept(LocalDateTime.now());
+            }
+        });
+    }
+}
@@ -4,16 +4,23 @@ import br.com.alg.scg.domain.common.valueobject.Contact;
 import br.com.alg.scg.domain.purchases.entity.Supplier;
 import br.com.alg.scg.domain.purchases.entity.repository.SupplierRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class SupplierService {
 
+    // Propriedades aceitas na ordenação das páginas pedidas pela API
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "document");
+
     private final SupplierRepository supplierRepository;
 
     @Autowired
@@ -59,6 +66,26 @@ public class SupplierService {
         return supplierRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Page<Supplier> findAll(Pageable pageable) {
+        Pagination.validatePageable(pageable, SORTABLE_PROPERTIES);
+        return supplierRepository.findAll(pageable);
+    }
+
+    /**
+     * Paginação por cursor (keyset) sobre os IDs UUIDv7: retorna até {@code size + 1} registros
+     * anteriores ao cursor, do mais recente ao mais antigo (o registro extra indica que há próxima página).
+     * Sem cursor, começa pelos mais recentes.
+     */
+    @Transactional(readOnly = true)
+    public List<Supplier> findPageAfter(UUID cursor, int size) {
+        Pagination.validatePageSize(size);
+        Pageable limit = PageRequest.of(0, size + 1);
+        return cursor == null
+                ? supplierRepository.findAllByOrderByIdDesc(limit)
+                : supplierRepository.findByIdLessThanOrderByIdDesc(cursor, limit);
+    }
+
     @Transactional(readOnly = true)
     public boolean existsById(UUID id) {
         if (id == null) {
@@ -176,4 +203,4 @@ public class SupplierService {
         }
         return supplierRepository.findByNameContainingIgnoreCase(name.trim()).size() > 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package br.com.alg.scg.domain.common.entity;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Evento de domínio pendente de entrega (padrão transactional outbox).
+ * O ID é um UUIDv7, então a ordem dos IDs é a ordem de gravação.
+ */
+@Getter
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    private UUID id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 200)
+    private String eventType;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    protected OutboxEvent() { /* Construtor exigido pelo JPA */ }
+
+    public OutboxEvent(String aggregateType, UUID aggregateId, String eventType, String payload) {
+        this.id = UuidCreator.getTimeOrderedEpoch();
+        this.aggregateType = Objects.requireNonNull(aggregateType, "O tipo do agregado não pode ser nulo.");
+        this.aggregateId = Objects.requireNonNull(aggregateId, "O ID do agregado não pode ser nulo.");
+        this.eventType = Objects.requireNonNull(eventType, "O tipo do evento não pode ser nulo.");
+        this.payload = Objects.requireNonNull(payload, "O conteúdo do evento não pode ser nulo.");
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public boolean isProcessed() {
+        return processedAt != null;
+    }
+
+    public void markProcessed(LocalDateTime when) {
+        if (isProcessed()) {
+            throw new IllegalStateException("Evento já processado: " + id);
+        }
+        this.processedAt = Objects.requireNonNull(when, "A data de processamento não pode ser nula.");
+    }
+
+    /**
+     * Registra uma entrega com falha; o evento só volta a ser selecionado a partir de nextAttemptAt
+     * (nulo quando não haverá nova tentativa)
+     */
+    public void registerFailure(String error, LocalDateTime nextAttemptAt) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.alg.scg.domain.common.event;
+
+import java.util.UUID;
+
+/**
+ * Evento de domínio ligado a um agregado (venda, compra).
+ * Eventos desse tipo são gravados na outbox na mesma transação da alteração e entregues
+ * aos handlers pelo poller, na ordem em que foram gerados para cada agregado.
+ */
+public interface AggregateEvent {
+
+    String aggregateType();
+
+    UUID aggregateId();
+}
@@ -0,0 +1,25 @@
+package br.com.alg.scg.domain.common.event;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Entrega de um evento lido da outbox. Os handlers escutam {@code OutboxDelivery<TipoDoEvento>}
+ * e rodam na mesma transação que marca o evento como processado: se o handler falhar,
+ * nada é aplicado e o evento é entregue novamente.
+ */
+public record OutboxDelivery<T extends AggregateEvent>(UUID eventId, T event) implements ResolvableTypeProvider {
+
+    public OutboxDelivery {
+        Objects.requireNonNull(eventId, "O ID do evento não pode ser nulo.");
+        Objects.requireNonNull(event, "O evento não pode ser nulo.");
+    }
+
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forInstance(event));
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.alg.scg.domain.common.repository;
+
+import br.com.alg.scg.domain.common.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * IDs dos próximos eventos a entregar: o evento pendente mais antigo de cada agregado
+     * (o seguinte só fica disponível depois que este for processado, preservando a ordem por agregado).
+     * Eventos que falharam só voltam a ser selecionados depois de next_attempt_at; os que esgotaram as
+     * tentativas não são mais selecionados. Em ambos os casos seguram os seguintes do mesmo agregado.
+     * Usa os índices (processed_at, id) e (aggregate_id, processed_at, id).
+     */
+    @Query(value = "SELECT e.id FROM outbox_events e " +
+            "WHERE e.processed_at IS NULL AND e.attempts < :maxAttempts " +
+            "AND (e.next_attempt_at IS NULL OR e.next_attempt_at <= :now) " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events p " +
+            "                WHERE p.aggregate_id = e.aggregate_id AND p.processed_at IS NULL AND p.id < e.id) " +
+            "ORDER BY e.id LIMIT :limit", nativeQuery = true)
+    List<byte[]> findNextPendingIds(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now,
+                                    @Param("limit") int limit);
+
+    /**
+     * Trava o evento para entrega. Se outro nó já o tiver travado, a linha é pulada (SKIP LOCKED)
+     * em vez de esperar, e o resultado vem vazio.
+     */
+    @Query(value = "SELECT * FROM outbox_events " +
+            "WHERE id = :id AND processed_at IS NULL " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<OutboxEvent> claimPending(@Param("id") byte[] id);
+
+    /**
+     * Remove eventos já processados antes da data informada
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt IS NOT NULL AND e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
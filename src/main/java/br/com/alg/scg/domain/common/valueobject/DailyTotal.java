@@ -0,0 +1,10 @@
+package br.com.alg.scg.domain.common.valueobject;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Total de um dia calculado por consulta agregada (GROUP BY dia): quantidade de registros e soma dos valores
+ */
+public record DailyTotal(LocalDate day, long count, BigDecimal total) {
+}
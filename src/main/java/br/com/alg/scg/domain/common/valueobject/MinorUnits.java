@@ -0,0 +1,103 @@
+package br.com.alg.scg.domain.common.valueobject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética de dinheiro em ponto fixo: valores em centavos (long), para os laços de custeio e de agregação,
+ * sem alocar um BigDecimal e um {@link Money} a cada operação. Os resultados são arredondados para centavos
+ * com HALF_UP, exatamente como em {@link Money}; a conversão para Money acontece só nas fronteiras
+ * (API, telas, banco). Se o resultado não couber em long, o cálculo é refeito em BigDecimal.
+ */
+public final class MinorUnits {
+
+    private static final int SCALE = 2;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private MinorUnits() {
+    }
+
+    /**
+     * Centavos de um valor monetário
+     */
+    public static long of(Money money) {
+        return of(money.value());
+    }
+
+    /**
+     * Centavos de um valor decimal, arredondado para 2 casas com HALF_UP
+     *
+     * @throws ArithmeticException se o valor não couber em long
+     */
+    public static long of(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static Money toMoney(long cents) {
+        return new Money(toBigDecimal(cents));
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static long add(long cents, long otherCents) {
+        return Math.addExact(cents, otherCents);
+    }
+
+    /**
+     * Valor × fator, arredondado para centavos com HALF_UP (mesmo resultado de {@link Money#multiply})
+     */
+    public static long multiply(long cents, BigDecimal factor) {
+        int scale = factor.scale();
+        if (scale >= 0 && scale < POWERS_OF_TEN.length && factor.precision() < 19) {
+            long unscaled = factor.unscaledValue().longValue();
+            long high = Math.multiplyHigh(cents, unscaled);
+            long product = cents * unscaled;
+            // Sem estouro: a parte alta é só a extensão de sinal da parte baixa
+            if ((high == 0 && product >= 0) || (high == -1 && product < 0)) {
+                return divideHalfUp(product, POWERS_OF_TEN[scale]);
+            }
+        }
+        return of(toBigDecimal(cents).multiply(factor));
+    }
+
+    /**
+     * Valor ÷ divisor positivo, arredondado para centavos com HALF_UP
+     * (mesmo resultado de {@code BigDecimal.divide(divisor, 2, HALF_UP)})
+     */
+    public static long divide(long cents, BigDecimal divisor) {
+        if (divisor.signum() <= 0) {
+            throw new IllegalArgumentException("Divisor deve ser positivo");
+        }
+        int scale = divisor.scale();
+        if (scale >= 0 && scale < POWERS_OF_TEN.length && divisor.precision() < 19) {
+            long unscaled = divisor.unscaledValue().longValue();
+            long power = POWERS_OF_TEN[scale];
+            long high = Math.multiplyHigh(cents, power);
+            long dividend = cents * power;
+            if ((high == 0 && dividend >= 0) || (high == -1 && dividend < 0)) {
+                return divideHalfUp(dividend, unscaled);
+            }
+        }
+        return of(toBigDecimal(cents).divide(divisor, SCALE, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Divisão inteira arredondada com HALF_UP (empates se afastam do zero); divisor positivo
+     */
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) >= divisor - Math.abs(remainder)) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.alg.scg.domain.common.valueobject;
+
+import java.math.BigDecimal;
+
+/**
+ * Fatores de conversão entre unidades que dependem do produto (densidade, peso por unidade, unidades por
+ * pacote), consultados por {@link UnitConverter} quando a tabela padrão não converte o par de unidades.
+ */
+@FunctionalInterface
+public interface UnitConversions {
+
+    /**
+     * Nenhuma conversão além da tabela padrão
+     */
+    UnitConversions NONE = (fromUnit, toUnit) -> null;
+
+    /**
+     * Fator tal que (valor em toUnit) = (valor em fromUnit) × fator, ou null se não houver conversão
+     */
+    BigDecimal factor(UnitMeasurement fromUnit, UnitMeasurement toUnit);
+}
@@ -1,100 +1,123 @@
 package br.com.alg.scg.domain.common.valueobject;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Optional;
 
 /**
  * Utilitário para conversão entre diferentes unidades de medida.
  * Centraliza toda lógica de conversão para evitar erros de cálculo.
+ * <p>
+ * Os fatores de conversão ficam pré-calculados em uma matriz unidade × unidade, indexada pelo ordinal
+ * do enum: cada conversão é uma consulta à matriz e uma multiplicação. Conversões que dependem do
+ * produto (densidade, peso por unidade) entram por {@link UnitConversions}.
  */
 public class UnitConverter {
 
+    private static final BigDecimal THOUSAND = BigDecimal.valueOf(1000);
+
+    // Casas decimais das conversões para uma unidade maior (ex.: g → kg)
+    private static final int FRACTION_SCALE = 6;
+
+    private static final UnitMeasurement[] UNITS = UnitMeasurement.values();
+
+    // FACTORS[de][para]; null = unidades incompatíveis
+    private static final Factor[][] FACTORS = new Factor[UNITS.length][UNITS.length];
+
+    static {
+        for (UnitMeasurement unit : UNITS) {
+            FACTORS[unit.ordinal()][unit.ordinal()] = new Factor(BigDecimal.ONE, false);
+        }
+        define(UnitMeasurement.KILOGRAM, UnitMeasurement.GRAMA, THOUSAND);
+        define(UnitMeasurement.LITRO, UnitMeasurement.MILILITRO, THOUSAND);
+    }
+
     /**
      * Converte uma quantidade de uma unidade para outra unidade compatível.
-     * 
+     *
      * @param fromQuantity Quantidade original
      * @param toUnit Unidade de destino
      * @return Nova Quantity convertida para a unidade de destino
      * @throws IllegalArgumentException se as unidades não são compatíveis para conversão
      */
     public static Quantity convert(Quantity fromQuantity, UnitMeasurement toUnit) {
-        if (fromQuantity.unitMeasurement() == toUnit) {
-            return fromQuantity; // Não precisa converter
-        }
-
-        // Conversões de peso
-        if (isWeightUnit(fromQuantity.unitMeasurement()) && isWeightUnit(toUnit)) {
-            return convertWeight(fromQuantity, toUnit);
-        }
-
-        // Conversões de volume
-        if (isVolumeUnit(fromQuantity.unitMeasurement()) && isVolumeUnit(toUnit)) {
-            return convertVolume(fromQuantity, toUnit);
-        }
-
-        throw new IllegalArgumentException(
-            String.format("Não é possível converter de %s para %s - unidades incompatíveis", 
+        return tryConvert(fromQuantity, toUnit).orElseThrow(() -> new IllegalArgumentException(
+            String.format("Não é possível converter de %s para %s - unidades incompatíveis",
                 fromQuantity.unitMeasurement(), toUnit)
-        );
+        ));
     }
 
-    private static boolean isWeightUnit(UnitMeasurement unit) {
-        return unit == UnitMeasurement.GRAMA || unit == UnitMeasurement.KILOGRAM;
+    /**
+     * Converte a quantidade para a unidade de destino, ou retorna vazio se as unidades forem incompatíveis
+     * (sem usar exceção como controle de fluxo)
+     */
+    public static Optional<Quantity> tryConvert(Quantity fromQuantity, UnitMeasurement toUnit) {
+        return tryConvert(fromQuantity, toUnit, UnitConversions.NONE);
     }
 
-    private static boolean isVolumeUnit(UnitMeasurement unit) {
-        return unit == UnitMeasurement.MILILITRO || unit == UnitMeasurement.LITRO;
+    /**
+     * Como {@link #tryConvert(Quantity, UnitMeasurement)}, usando também os fatores específicos de um produto
+     * quando as unidades não são conversíveis pela tabela padrão (ex.: UNIT → g pelo peso de cada unidade)
+     */
+    public static Optional<Quantity> tryConvert(Quantity fromQuantity, UnitMeasurement toUnit,
+                                                UnitConversions productConversions) {
+        if (fromQuantity.unitMeasurement() == toUnit) {
+            return Optional.of(fromQuantity); // Não precisa converter
+        }
+        // Quantidade pequena demais, arredondada a zero: não é uma quantidade válida na unidade de destino
+        return tryConvertValue(fromQuantity, toUnit, productConversions)
+                .filter(value -> value.signum() > 0)
+                .map(value -> new Quantity(value, toUnit));
     }
 
-    private static Quantity convertWeight(Quantity fromQuantity, UnitMeasurement toUnit) {
-        BigDecimal value = fromQuantity.value();
+    /**
+     * Valor da quantidade na unidade de destino, ou vazio somente se as unidades forem incompatíveis.
+     * Diferente de {@link #tryConvert(Quantity, UnitMeasurement, UnitConversions)}, um valor arredondado
+     * a zero é retornado como zero (ex.: para custear uma quantidade ínfima como custo zero)
+     */
+    public static Optional<BigDecimal> tryConvertValue(Quantity fromQuantity, UnitMeasurement toUnit,
+                                                       UnitConversions productConversions) {
         UnitMeasurement fromUnit = fromQuantity.unitMeasurement();
-
-        // Converte tudo para gramas primeiro, depois para a unidade desejada
-        BigDecimal valueInGrams;
-        switch (fromUnit) {
-            case GRAMA -> valueInGrams = value;
-            case KILOGRAM -> valueInGrams = value.multiply(new BigDecimal("1000"));
-            default -> throw new IllegalArgumentException("Unidade de peso não reconhecida: " + fromUnit);
+        if (fromUnit == toUnit) {
+            return Optional.of(fromQuantity.value());
         }
 
-        BigDecimal finalValue;
-        switch (toUnit) {
-            case GRAMA -> finalValue = valueInGrams;
-            case KILOGRAM -> finalValue = valueInGrams.divide(new BigDecimal("1000"), 6, java.math.RoundingMode.HALF_UP);
-            default -> throw new IllegalArgumentException("Unidade de peso não reconhecida: " + toUnit);
+        Factor factor = FACTORS[fromUnit.ordinal()][toUnit.ordinal()];
+        if (factor != null) {
+            return Optional.of(factor.apply(fromQuantity.value()));
         }
-
-        return new Quantity(finalValue, toUnit);
-    }
-
-    private static Quantity convertVolume(Quantity fromQuantity, UnitMeasurement toUnit) {
-        BigDecimal value = fromQuantity.value();
-        UnitMeasurement fromUnit = fromQuantity.unitMeasurement();
-
-        // Converte tudo para mililitros primeiro, depois para a unidade desejada
-        BigDecimal valueInMl;
-        switch (fromUnit) {
-            case MILILITRO -> valueInMl = value;
-            case LITRO -> valueInMl = value.multiply(new BigDecimal("1000"));
-            default -> throw new IllegalArgumentException("Unidade de volume não reconhecida: " + fromUnit);
+        BigDecimal productFactor = productConversions.factor(fromUnit, toUnit);
+        if (productFactor == null) {
+            return Optional.empty();
         }
-
-        BigDecimal finalValue;
-        switch (toUnit) {
-            case MILILITRO -> finalValue = valueInMl;
-            case LITRO -> finalValue = valueInMl.divide(new BigDecimal("1000"), 6, java.math.RoundingMode.HALF_UP);
-            default -> throw new IllegalArgumentException("Unidade de volume não reconhecida: " + toUnit);
+        BigDecimal value = fromQuantity.value().multiply(productFactor);
+        if (value.scale() > FRACTION_SCALE) {
+            value = value.setScale(FRACTION_SCALE, RoundingMode.HALF_UP);
         }
-
-        return new Quantity(finalValue, toUnit);
+        return Optional.of(value);
     }
 
     /**
      * Verifica se duas unidades são compatíveis para conversão
      */
     public static boolean areCompatible(UnitMeasurement unit1, UnitMeasurement unit2) {
-        return (isWeightUnit(unit1) && isWeightUnit(unit2)) || 
-               (isVolumeUnit(unit1) && isVolumeUnit(unit2)) ||
-               (unit1 == unit2);
+        return FACTORS[unit1.ordinal()][unit2.ordinal()] != null;
+    }
+
+    private static void define(UnitMeasurement larger, UnitMeasurement smaller, BigDecimal ratio) {
+        FACTORS[larger.ordinal()][smaller.ordinal()] = new Factor(ratio, false);
+        FACTORS[smaller.ordinal()][larger.ordinal()] = new Factor(BigDecimal.ONE.divide(ratio), true);
+    }
+
+    /**
+     * Fator de conversão; para uma unidade maior o resultado é arredondado para {@link #FRACTION_SCALE}
+     * casas (mesmo resultado de dividir pela razão entre as unidades)
+     */
+    private record Factor(BigDecimal multiplier, boolean fractional) {
+
+        BigDecimal apply(BigDecimal value) {
+            BigDecimal result = value.multiply(multiplier);
+            return fractional ? result.setScale(FRACTION_SCALE, RoundingMode.HALF_UP) : result;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package br.com.alg.scg.domain.finance.entity;
+
+import br.com.alg.scg.domain.finance.valueobject.IngredientCost;
+import com.github.f4b6a3.uuid.UuidCreator;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Custeio de uma receita em um instante: cópia de {@link RecipeCostSnapshot} gravada a cada recálculo.
+ * Somente inserida, nunca alterada; forma a série histórica de custos usada nos gráficos de margem.
+ */
+@Getter
+@Entity
+@Immutable
+@Table(name = "recipe_cost_history")
+public class RecipeCostHistory {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    private UUID id;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "recipe_id", nullable = false)
+    private UUID recipeId;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "total_cost", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalCost;
+
+    @Column(name = "unit_cost", nullable = false, precision = 19, scale = 2)
+    private BigDecimal unitCost;
+
+    @Column(name = "yield_quantity", nullable = false, precision = 10, scale = 3)
+    private BigDecimal yieldQuantity;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "recipe_cost_history_ingredients", joinColumns = @JoinColumn(name = "history_id"))
+    private List<IngredientCost> ingredients = new ArrayList<>();
+
+    protected RecipeCostHistory() { /* Construtor exigido pelo JPA */ }
+
+    private RecipeCostHistory(RecipeCostSnapshot snapshot) {
+        this.id = UuidCreator.getTimeOrderedEpoch();
+        this.recipeId = snapshot.getRecipeId();
+        this.productId = snapshot.getProductId();
+        this.totalCost = snapshot.getTotalCost();
+        this.unitCost = snapshot.getUnitCost();
+        this.yieldQuantity = snapshot.getYieldQuantity();
+        this.computedAt = snapshot.getComputedAt();
+        this.ingredients.addAll(snapshot.getIngredients());
+    }
+
+    /**
+     * Registro histórico do custeio atual da receita (que não pode ter falhado)
+     */
+    public static RecipeCostHistory of(RecipeCostSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "O custo da receita não pode ser nulo.");
+        if (snapshot.hasError()) {
+            throw new IllegalArgumentException("Custeio com erro não entra no histórico: " + snapshot.getErrorMessage());
+        }
+        return new RecipeCostHistory(snapshot);
+    }
+
+    public List<IngredientCost> getIngredients() {
+        return List.copyOf(ingredients);
+    }
+}
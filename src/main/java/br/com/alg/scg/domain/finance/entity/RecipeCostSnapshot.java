@@ -0,0 +1,147 @@
+package br.com.alg.scg.domain.finance.entity;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.finance.valueobject.IngredientCost;
+import br.com.alg.scg.domain.finance.valueobject.ProfitMargin;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCost;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Último custo calculado de uma receita (uma linha por receita), com o custo de cada ingrediente.
+ * Recalculado apenas quando muda o preço de uma das suas matérias-primas ou a própria receita,
+ * para que as telas leiam o custo pronto em vez de recalculá-lo.
+ * Versionado: recusteios concorrentes da mesma receita (eventos assíncronos confirmados fora de ordem)
+ * não sobrescrevem silenciosamente um custo mais novo.
+ */
+@Getter
+@Entity
+@Table(name = "recipe_cost_snapshot")
+public class RecipeCostSnapshot {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "recipe_id")
+    private UUID recipeId;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "total_cost", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalCost;
+
+    @Column(name = "unit_cost", nullable = false, precision = 19, scale = 2)
+    private BigDecimal unitCost;
+
+    @Column(name = "yield_quantity", nullable = false, precision = 10, scale = 3)
+    private BigDecimal yieldQuantity;
+
+    @Column(name = "total_cost_delta", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalCostDelta;
+
+    @Column(name = "error_message", length = MAX_ERROR_LENGTH)
+    private String errorMessage;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    // Nula até o primeiro INSERT: o Spring Data trata o snapshot como novo (persist, sem SELECT prévio)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "recipe_cost_snapshot_ingredients", joinColumns = @JoinColumn(name = "recipe_id"))
+    private List<IngredientCost> ingredients = new ArrayList<>();
+
+    protected RecipeCostSnapshot() { /* Construtor exigido pelo JPA */ }
+
+    public RecipeCostSnapshot(UUID recipeId, UUID productId) {
+        this.recipeId = Objects.requireNonNull(recipeId, "O ID da receita não pode ser nulo.");
+        this.productId = Objects.requireNonNull(productId, "O ID do produto não pode ser nulo.");
+        this.totalCost = BigDecimal.ZERO;
+        this.unitCost = BigDecimal.ZERO;
+        this.yieldQuantity = BigDecimal.ONE;
+        this.totalCostDelta = BigDecimal.ZERO;
+        this.computedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Registra um novo custeio bem-sucedido, calculando a variação de cada ingrediente
+     * e do total em relação ao custeio anterior
+     */
+    public void update(Money totalCost, Money unitCost, BigDecimal yieldQuantity,
+                       Map<UUID, Money> ingredientCosts, LocalDateTime computedAt) {
+        Objects.requireNonNull(totalCost, "O custo total não pode ser nulo.");
+        Objects.requireNonNull(unitCost, "O custo unitário não pode ser nulo.");
+        Objects.requireNonNull(ingredientCosts, "Os custos dos ingredientes não podem ser nulos.");
+
+        Map<UUID, BigDecimal> previous = new HashMap<>();
+        ingredients.forEach(ingredient -> previous.put(ingredient.rawMaterialId(), ingredient.cost()));
+        boolean hadCost = errorMessage == null && !ingredients.isEmpty();
+
+        List<IngredientCost> updated = new ArrayList<>(ingredientCosts.size());
+        ingredientCosts.forEach((rawMaterialId, cost) -> {
+            BigDecimal before = previous.get(rawMaterialId);
+            updated.add(new IngredientCost(rawMaterialId, cost.value(),
+                    before != null ? cost.value().subtract(before) : BigDecimal.ZERO));
+        });
+
+        this.totalCostDelta = hadCost ? totalCost.value().subtract(this.totalCost) : BigDecimal.ZERO;
+        this.totalCost = totalCost.value();
+        this.unitCost = unitCost.value();
+        this.yieldQuantity = Objects.requireNonNull(yieldQuantity, "O rendimento não pode ser nulo.");
+        this.errorMessage = null;
+        this.computedAt = Objects.requireNonNull(computedAt, "A data do cálculo não pode ser nula.");
+        this.ingredients.clear();
+        this.ingredients.addAll(updated);
+    }
+
+    /**
+     * Registra que a receita não pôde ser custeada (ex.: matéria-prima sem preço).
+     * O custo anterior é descartado para não ser exibido como atual.
+     */
+    public void fail(String errorMessage, LocalDateTime computedAt) {
+        this.errorMessage = errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH
+                ? errorMessage.substring(0, MAX_ERROR_LENGTH)
+                : Objects.requireNonNull(errorMessage, "A mensagem de erro não pode ser nula.");
+        this.totalCost = BigDecimal.ZERO;
+        this.unitCost = BigDecimal.ZERO;
+        this.totalCostDelta = BigDecimal.ZERO;
+        this.computedAt = Objects.requireNonNull(computedAt, "A data do cálculo não pode ser nula.");
+        this.ingredients.clear();
+    }
+
+    public boolean hasError() {
+        return errorMessage != null;
+    }
+
+    public List<IngredientCost> getIngredients() {
+        return List.copyOf(ingredients);
+    }
+
+    /**
+     * Custo no formato usado pelas telas, aplicando a margem de lucro atual do produto
+     */
+    public RecipeCost toRecipeCost(ProfitMargin profitMargin) {
+        if (hasError()) {
+            return RecipeCost.failure(errorMessage);
+        }
+        Money unit = new Money(unitCost);
+        return RecipeCost.of(new Money(totalCost), unit, profitMargin != null ? profitMargin.applyTo(unit) : null);
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.alg.scg.domain.finance.repository;
+
+import br.com.alg.scg.domain.finance.entity.RecipeCostHistory;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCostPoint;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface RecipeCostHistoryRepository extends JpaRepository<RecipeCostHistory, UUID> {
+
+    /**
+     * Série de custos da receita no intervalo [from, to), em ordem cronológica.
+     * Leitura por faixa no índice (recipe_id, computed_at), sem carregar os ingredientes.
+     */
+    @Query("SELECT new br.com.alg.scg.domain.finance.valueobject.RecipeCostPoint(" +
+            "h.computedAt, h.totalCost, h.unitCost, h.yieldQuantity) FROM RecipeCostHistory h " +
+            "WHERE h.recipeId = :recipeId AND h.computedAt >= :from AND h.computedAt < :to " +
+            "ORDER BY h.computedAt")
+    List<RecipeCostPoint> findPoints(@Param("recipeId") UUID recipeId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    /**
+     * Custeios da receita no intervalo [from, to) com o detalhamento por ingrediente, em ordem cronológica
+     */
+    @EntityGraph(attributePaths = "ingredients")
+    List<RecipeCostHistory> findByRecipeIdAndComputedAtGreaterThanEqualAndComputedAtLessThanOrderByComputedAt(
+            UUID recipeId, LocalDateTime from, LocalDateTime to);
+}
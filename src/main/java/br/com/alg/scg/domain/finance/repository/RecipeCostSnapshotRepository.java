@@ -0,0 +1,33 @@
+package br.com.alg.scg.domain.finance.repository;
+
+import br.com.alg.scg.domain.finance.entity.RecipeCostSnapshot;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCostSnapshotVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RecipeCostSnapshotRepository extends JpaRepository<RecipeCostSnapshot, UUID> {
+
+    Optional<RecipeCostSnapshot> findByProductId(UUID productId);
+
+    List<RecipeCostSnapshot> findByProductIdIn(Collection<UUID> productIds);
+
+    /**
+     * Receitas de produtos finais que ainda não possuem custo calculado
+     */
+    @Query("SELECT r.id FROM Product p JOIN p.recipe r " +
+            "WHERE NOT EXISTS (SELECT 1 FROM RecipeCostSnapshot s WHERE s.recipeId = r.id)")
+    List<UUID> findRecipeIdsWithoutSnapshot();
+
+    /**
+     * Versão atual de cada custo gravado (usada para não sobrescrever custos recalculados durante
+     * o recusteio do catálogo)
+     */
+    @Query("SELECT new br.com.alg.scg.domain.finance.valueobject.RecipeCostSnapshotVersion(s.recipeId, s.version) " +
+            "FROM RecipeCostSnapshot s")
+    List<RecipeCostSnapshotVersion> findAllVersions();
+}
@@ -0,0 +1,373 @@
+package br.com.alg.scg.domain.finance.service;
+
+import br.com.alg.scg.domain.common.valueobject.MinorUnits;
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+import br.com.alg.scg.domain.finance.valueobject.ProfitMargin;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCost;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCostBreakdown;
+import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.entity.Recipe;
+import br.com.alg.scg.domain.product.repository.PriceRepository;
+import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.service.CurrentPriceCache;
+import br.com.alg.scg.domain.product.service.RecipeGraph;
+import br.com.alg.scg.domain.product.valueobject.CurrentPrice;
+import br.com.alg.scg.domain.product.valueobject.PricePoint;
+import br.com.alg.scg.domain.product.valueobject.ProductType;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Custeia vários produtos finais de uma só vez.
+ * Todos os ingredientes usados pelas receitas são carregados pelo {@link RecipeGraph} (uma consulta por
+ * nível de receitas), os preços vigentes das matérias-primas vêm do {@link CurrentPriceCache}, e o custo
+ * de cada produto é calculado em memória a partir deles.
+ * <p>
+ * Ingredientes intermediários (produtos com receita própria) são custeados em ordem topológica:
+ * o custo unitário de cada um é calculado uma única vez por execução e reaproveitado por todas as
+ * receitas que o usam.
+ * Somas e divisões são feitas em centavos ({@link MinorUnits}); Money só é criado para os resultados.
+ * <p>
+ * Também custeia uma receita com os preços em vigor em datas passadas ({@link #costAsOf}),
+ * lendo o histórico de preços das matérias-primas em uma única consulta.
+ */
+public class RecipeCostingEngine {
+
+    private final ProductRepository productRepository;
+    private final PriceRepository priceRepository;
+    private final CurrentPriceCache priceCache;
+    private final RecipeGraph recipeGraph;
+
+    public RecipeCostingEngine(ProductRepository productRepository, PriceRepository priceRepository,
+                               CurrentPriceCache priceCache, RecipeGraph recipeGraph) {
+        this.productRepository = productRepository;
+        this.priceRepository = priceRepository;
+        this.priceCache = priceCache;
+        this.recipeGraph = recipeGraph;
+    }
+
+    /**
+     * Custeia todos os produtos finais cadastrados.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, RecipeCost> costAllFinalProducts() {
+        return costProducts(productRepository.findAllWithRecipesByType(ProductType.FINAL_PRODUCT));
+    }
+
+    /**
+     * Custeia os produtos finais informados (com receitas já carregadas).
+     *
+     * @return mapa ID do produto → custo, na mesma ordem da coleção recebida
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, RecipeCost> costProducts(Collection<Product> finalProducts) {
+        CostingRun run = currentPricesRun(finalProducts);
+
+        Map<UUID, RecipeCost> costs = new LinkedHashMap<>();
+        for (Product product : finalProducts) {
+            costs.put(product.getId(), product.getProductRecipe()
+                    .map(recipe -> run.breakdown(product, recipe).cost())
+                    .orElseGet(() -> RecipeCost.failure("Produto " + product.getName() + " não possui receita completa.")));
+        }
+        return costs;
+    }
+
+    /**
+     * Custeia os produtos finais informados (com receitas já carregadas) detalhando o custo
+     * de cada ingrediente. Produtos sem receita não aparecem no resultado.
+     *
+     * @return mapa ID do produto → custeio detalhado, na mesma ordem da coleção recebida
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, RecipeCostBreakdown> breakdownProducts(Collection<Product> finalProducts) {
+        CostingRun run = currentPricesRun(finalProducts);
+
+        Map<UUID, RecipeCostBreakdown> breakdowns = new LinkedHashMap<>();
+        for (Product product : finalProducts) {
+            product.getProductRecipe().ifPresent(recipe -> breakdowns.put(product.getId(),
+                    run.breakdown(product, recipe)));
+        }
+        return breakdowns;
+    }
+
+    /**
+     * Custeio detalhado dos produtos dividido em partições executadas em paralelo no executor informado.
+     * Os intermediários são custeados antes, em uma só thread, e a tabela de preços resultante é congelada:
+     * as partições apenas leem essa fotografia imutável, sem acesso ao banco nem estado compartilhado.
+     * As receitas e os produtos devem estar carregados (ex: {@link ProductRepository#findAllWithRecipesByType}).
+     *
+     * @return mapa ID do produto → custeio detalhado, na mesma ordem da lista recebida
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, RecipeCostBreakdown> breakdownProducts(List<Product> finalProducts, Executor executor,
+                                                            int partitions) {
+        if (finalProducts == null) {
+            throw new IllegalArgumentException("Lista de produtos não pode ser nula");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor não pode ser nulo");
+        }
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("Quantidade de partições deve ser positiva");
+        }
+
+        CostingRun run = currentPricesRun(finalProducts).freeze();
+        int chunkSize = Math.max(1, (finalProducts.size() + partitions - 1) / partitions);
+
+        List<CompletableFuture<Map<UUID, RecipeCostBreakdown>>> futures = new ArrayList<>();
+        for (int from = 0; from < finalProducts.size(); from += chunkSize) {
+            List<Product> slice = finalProducts.subList(from, Math.min(finalProducts.size(), from + chunkSize));
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                Map<UUID, RecipeCostBreakdown> breakdowns = new LinkedHashMap<>();
+                for (Product product : slice) {
+                    product.getProductRecipe().ifPresent(recipe -> breakdowns.put(product.getId(),
+                            run.breakdown(product, recipe)));
+                }
+                return breakdowns;
+            }, executor));
+        }
+
+        Map<UUID, RecipeCostBreakdown> breakdowns = new LinkedHashMap<>();
+        futures.forEach(future -> breakdowns.putAll(future.join()));
+        return breakdowns;
+    }
+
+    /**
+     * Custo da receita com os preços em vigor na data informada: para cada matéria-prima,
+     * o último preço com data efetiva menor ou igual a asOf (uma única consulta para todos os ingredientes).
+     * O preço de venda não é calculado, pois a margem histórica não é conhecida.
+     */
+    @Transactional(readOnly = true)
+    public RecipeCost costAsOf(Recipe recipe, LocalDateTime asOf) {
+        if (recipe == null) {
+            throw new IllegalArgumentException("Receita não pode ser nula");
+        }
+        if (asOf == null) {
+            throw new IllegalArgumentException("Data de referência não pode ser nula");
+        }
+
+        Map<UUID, Product> ingredients = recipeGraph.loadIngredients(List.of(recipe));
+        Set<UUID> rawMaterialIds = rawMaterialIdsOf(ingredients);
+        Map<UUID, CurrentPrice> priceTable = new HashMap<>();
+        if (!rawMaterialIds.isEmpty()) {
+            for (PricePoint point : priceRepository.findPricesAsOf(rawMaterialIds, asOf)) {
+                priceTable.put(point.productId(), point.toPrice());
+            }
+        }
+        return new CostingRun(ingredients, priceTable, asOf).cost(recipe);
+    }
+
+    /**
+     * Custo da receita em cada uma das datas informadas (ex.: todas as datas de venda de um mês).
+     * O histórico de preços até a maior data é lido em uma única consulta e percorrido uma só vez,
+     * avançando o preço em vigor de cada matéria-prima à medida que as datas avançam.
+     *
+     * @return mapa data → custo, em ordem cronológica
+     */
+    @Transactional(readOnly = true)
+    public NavigableMap<LocalDateTime, RecipeCost> costAsOf(Recipe recipe, Collection<LocalDateTime> instants) {
+        if (recipe == null) {
+            throw new IllegalArgumentException("Receita não pode ser nula");
+        }
+        if (instants == null || instants.contains(null)) {
+            throw new IllegalArgumentException("Datas de referência não podem ser nulas");
+        }
+
+        NavigableMap<LocalDateTime, RecipeCost> costs = new TreeMap<>();
+        if (instants.isEmpty()) {
+            return costs;
+        }
+
+        TreeSet<LocalDateTime> dates = new TreeSet<>(instants);
+        Map<UUID, Product> ingredients = recipeGraph.loadIngredients(List.of(recipe));
+        Set<UUID> rawMaterialIds = rawMaterialIdsOf(ingredients);
+        Map<UUID, List<PricePoint>> histories = new HashMap<>();
+        if (!rawMaterialIds.isEmpty()) {
+            for (PricePoint point : priceRepository.findPriceHistoryUntil(rawMaterialIds, dates.last())) {
+                histories.computeIfAbsent(point.productId(), id -> new ArrayList<>()).add(point);
+            }
+        }
+
+        // Preço em vigor de cada matéria-prima na data corrente e posição de leitura no seu histórico
+        Map<UUID, CurrentPrice> priceTable = new HashMap<>();
+        Map<UUID, Integer> cursors = new HashMap<>();
+        for (LocalDateTime date : dates) {
+            histories.forEach((productId, history) -> {
+                int cursor = cursors.getOrDefault(productId, 0);
+                while (cursor < history.size() && !history.get(cursor).effectiveDate().isAfter(date)) {
+                    priceTable.put(productId, history.get(cursor).toPrice());
+                    cursor++;
+                }
+                cursors.put(productId, cursor);
+            });
+            costs.put(date, new CostingRun(ingredients, new HashMap<>(priceTable), date).cost(recipe));
+        }
+        return costs;
+    }
+
+    private CostingRun currentPricesRun(Collection<Product> products) {
+        List<Recipe> recipes = products.stream()
+                .map(Product::getProductRecipe)
+                .flatMap(Optional::stream)
+                .toList();
+        Map<UUID, Product> ingredients = recipeGraph.loadIngredients(recipes);
+        Set<UUID> rawMaterialIds = rawMaterialIdsOf(ingredients);
+        return new CostingRun(ingredients, new HashMap<>(priceCache.getAll(rawMaterialIds)), LocalDateTime.now());
+    }
+
+    private Set<UUID> rawMaterialIdsOf(Map<UUID, Product> ingredients) {
+        return ingredients.values().stream()
+                .filter(product -> product.getType() == ProductType.RAW_MATERIAL)
+                .map(Product::getId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Uma execução de custeio sobre um conjunto de ingredientes e uma tabela de preços de matérias-primas.
+     * O custo unitário de cada intermediário é calculado na primeira vez em que é usado, depois de seus
+     * próprios ingredientes (ordem topológica), e registrado na tabela de preços como o preço de uma unidade
+     * do seu rendimento; as demais receitas que o usam apenas o leem. Não é thread-safe.
+     */
+    private static final class CostingRun {
+
+        private final Map<UUID, Product> ingredients;
+        private final Map<UUID, CurrentPrice> priceTable;
+        private final LocalDateTime pricedAt;
+        private final Map<UUID, String> failures;
+        private final Set<UUID> inProgress = new HashSet<>();
+
+        CostingRun(Map<UUID, Product> ingredients, Map<UUID, CurrentPrice> priceTable, LocalDateTime pricedAt) {
+            this(ingredients, priceTable, pricedAt, new HashMap<>());
+        }
+
+        private CostingRun(Map<UUID, Product> ingredients, Map<UUID, CurrentPrice> priceTable,
+                           LocalDateTime pricedAt, Map<UUID, String> failures) {
+            this.ingredients = ingredients;
+            this.priceTable = priceTable;
+            this.pricedAt = pricedAt;
+            this.failures = failures;
+        }
+
+        /**
+         * Custeia todos os intermediários e devolve uma cópia imutável desta execução.
+         * Como nenhum intermediário fica pendente, a cópia só lê os mapas e pode ser usada por várias threads.
+         */
+        CostingRun freeze() {
+            for (Product ingredient : ingredients.values()) {
+                if (ingredient.getType() != ProductType.RAW_MATERIAL) {
+                    try {
+                        resolveIntermediate(ingredient);
+                    } catch (IllegalStateException e) {
+                        // Falha registrada em failures; reapresentada às receitas que usam o intermediário
+                    }
+                }
+            }
+            return new CostingRun(Map.copyOf(ingredients), Map.copyOf(priceTable), pricedAt, Map.copyOf(failures));
+        }
+
+        RecipeCostBreakdown breakdown(Product product, Recipe recipe) {
+            if (recipe.getRecipes().isEmpty()) {
+                return new RecipeCostBreakdown(recipe.getId(),
+                        RecipeCost.failure("Produto " + product.getName() + " não possui receita completa."),
+                        recipe.getYieldQuantity(), Map.of());
+            }
+
+            try {
+                resolveIntermediates(recipe);
+                Map<UUID, Money> ingredientCosts = recipe.calcIngredientCosts(ingredients, priceTable);
+                long totalCents = 0;
+                for (Money ingredientCost : ingredientCosts.values()) {
+                    totalCents = MinorUnits.add(totalCents, MinorUnits.of(ingredientCost));
+                }
+                Money totalCost = MinorUnits.toMoney(totalCents);
+                Money unitCost = MinorUnits.toMoney(recipe.divideByYieldInCents(totalCents));
+
+                ProfitMargin profitMargin = product.getProfitMargin();
+                Money salePrice = profitMargin != null ? profitMargin.applyTo(unitCost) : null;
+
+                return new RecipeCostBreakdown(recipe.getId(), RecipeCost.of(totalCost, unitCost, salePrice),
+                        recipe.getYieldQuantity(), ingredientCosts);
+            } catch (IllegalStateException e) {
+                return new RecipeCostBreakdown(recipe.getId(), RecipeCost.failure(e.getMessage()),
+                        recipe.getYieldQuantity(), Map.of());
+            }
+        }
+
+        /**
+         * Custo da receita sem preço de venda
+         */
+        RecipeCost cost(Recipe recipe) {
+            if (recipe.getRecipes().isEmpty()) {
+                return RecipeCost.failure("Receita não possui ingredientes.");
+            }
+            try {
+                long totalCents = totalCostInCents(recipe);
+                return RecipeCost.of(MinorUnits.toMoney(totalCents),
+                        MinorUnits.toMoney(recipe.divideByYieldInCents(totalCents)), null);
+            } catch (IllegalStateException e) {
+                return RecipeCost.failure(e.getMessage());
+            }
+        }
+
+        private long totalCostInCents(Recipe recipe) {
+            resolveIntermediates(recipe);
+            return recipe.calcTotalCostInCents(ingredients, priceTable);
+        }
+
+        private void resolveIntermediates(Recipe recipe) {
+            for (UUID ingredientId : recipe.getRawMaterialIds()) {
+                Product ingredient = ingredients.get(ingredientId);
+                if (ingredient != null && ingredient.getType() != ProductType.RAW_MATERIAL) {
+                    resolveIntermediate(ingredient);
+                }
+            }
+        }
+
+        private void resolveIntermediate(Product intermediate) {
+            UUID id = intermediate.getId();
+            if (priceTable.containsKey(id)) {
+                return;
+            }
+            String failure = failures.get(id);
+            if (failure != null) {
+                throw new IllegalStateException(failure);
+            }
+            if (!inProgress.add(id)) {
+                throw new IllegalStateException("Ciclo entre receitas envolvendo o produto " + intermediate.getName() + ".");
+            }
+
+            try {
+                Recipe recipe = intermediate.getProductRecipe()
+                        .filter(r -> !r.getRecipes().isEmpty())
+                        .orElseThrow(() -> new IllegalStateException(
+                                "Produto " + intermediate.getName() + " não possui receita completa."));
+                long unitCents = recipe.divideByYieldInCents(totalCostInCents(recipe));
+                priceTable.put(id, new CurrentPrice(MinorUnits.toMoney(unitCents), UnitMeasurement.UNIT, pricedAt));
+            } catch (IllegalStateException e) {
+                String message = "Ingrediente " + intermediate.getName() + ": " + e.getMessage();
+                failures.put(id, message);
+                throw new IllegalStateException(message);
+            } finally {
+                inProgress.remove(id);
+            }
+        }
+    }
+}
@@ -5,17 +5,18 @@ import br.com.alg.scg.domain.finance.valueobject.ProfitMargin;
 import br.com.alg.scg.domain.product.entity.Product;
 import br.com.alg.scg.domain.product.entity.Recipe;
 import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.service.CurrentPriceCache;
 import br.com.alg.scg.domain.product.valueobject.ProductType;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-
 public class SalePriceCalculatorService {
 
     private final ProductRepository productRepository;
+    private final CurrentPriceCache priceCache;
 
-    public SalePriceCalculatorService(ProductRepository productRepository) {
+    public SalePriceCalculatorService(ProductRepository productRepository, CurrentPriceCache priceCache) {
         this.productRepository = productRepository;
+        this.priceCache = priceCache;
     }
 
     @Transactional(readOnly = true)
@@ -33,10 +34,8 @@ public class SalePriceCalculatorService {
         }
 
         // Como está dentro de @Transactional, a sessão permanece ativa
-        Money unitCost = recipe.calcUnitCost(productRepository);
-
-        BigDecimal marginFactor = BigDecimal.ONE.add(profitMargin.percent());
+        Money unitCost = recipe.calcUnitCost(productRepository, priceCache);
 
-        return unitCost.multiply(marginFactor);
+        return profitMargin.applyTo(unitCost);
     }
 }
@@ -0,0 +1,20 @@
+package br.com.alg.scg.domain.finance.valueobject;
+
+import java.time.Duration;
+
+/**
+ * Resultado de um recusteio do catálogo: quantidade de produtos custeados (e com erro), produtos não gravados
+ * porque o custo foi recalculado por outro recusteio durante a execução, partições executadas em paralelo e
+ * tempo gasto no custeio (em memória) e no total (com leitura e gravação).
+ */
+public record CatalogueRecostReport(int products, int failures, int skipped, int partitions,
+                                    Duration costingTime, Duration totalTime) {
+
+    /**
+     * Produtos custeados por segundo na etapa de custeio
+     */
+    public double productsPerSecond() {
+        long nanos = costingTime.toNanos();
+        return nanos > 0 ? products * 1_000_000_000d / nanos : 0;
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.alg.scg.domain.finance.valueobject;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Custo de um ingrediente no custeio de uma receita e a variação em relação ao custeio anterior
+ * (zero quando o ingrediente é novo na receita ou não houve custeio anterior)
+ */
+@Embeddable
+public record IngredientCost(
+        @JdbcTypeCode(SqlTypes.BINARY)
+        @Column(name = "raw_material_id", nullable = false)
+        UUID rawMaterialId,
+
+        @Column(nullable = false, precision = 19, scale = 2)
+        BigDecimal cost,
+
+        @Column(name = "cost_delta", nullable = false, precision = 19, scale = 2)
+        BigDecimal costDelta) {
+
+    public IngredientCost {
+        Objects.requireNonNull(rawMaterialId, "O ID da matéria-prima não pode ser nulo.");
+        Objects.requireNonNull(cost, "O custo não pode ser nulo.");
+        Objects.requireNonNull(costDelta, "A variação de custo não pode ser nula.");
+    }
+}
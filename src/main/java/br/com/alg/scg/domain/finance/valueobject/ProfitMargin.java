@@ -1,5 +1,6 @@
 package br.com.alg.scg.domain.finance.valueobject;
 
+import br.com.alg.scg.domain.common.valueobject.Money;
 import jakarta.persistence.Embeddable;
 
 import java.math.BigDecimal;
@@ -13,4 +14,11 @@ public record ProfitMargin(BigDecimal percent) {
         }
     }
 
+    /**
+     * Aplica a margem sobre um custo: custo × (1 + margem)
+     */
+    public Money applyTo(Money cost) {
+        return cost.multiply(BigDecimal.ONE.add(percent));
+    }
+
 }
@@ -0,0 +1,27 @@
+package br.com.alg.scg.domain.finance.valueobject;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+
+/**
+ * Resultado do custeio de um produto final: custo total da receita, custo por unidade
+ * e preço de venda (nulo quando o produto ainda não possui margem de lucro).
+ * Quando o cálculo não é possível, os valores ficam zerados e errorMessage explica o motivo.
+ */
+public record RecipeCost(Money totalCost, Money unitCost, Money salePrice, String errorMessage) {
+
+    public static RecipeCost of(Money totalCost, Money unitCost, Money salePrice) {
+        return new RecipeCost(totalCost, unitCost, salePrice, null);
+    }
+
+    public static RecipeCost failure(String errorMessage) {
+        return new RecipeCost(Money.ZERO, Money.ZERO, null, errorMessage);
+    }
+
+    public boolean hasError() {
+        return errorMessage != null;
+    }
+
+    public boolean hasSalePrice() {
+        return salePrice != null;
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.alg.scg.domain.finance.valueobject;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Custeio de um produto final com o custo de cada ingrediente (ID da matéria-prima → custo).
+ * Sem ingredientes quando o custeio falhou (ver {@link RecipeCost#errorMessage()}).
+ */
+public record RecipeCostBreakdown(UUID recipeId, RecipeCost cost, BigDecimal yieldQuantity,
+                                  Map<UUID, Money> ingredientCosts) {
+
+    public RecipeCostBreakdown {
+        ingredientCosts = Map.copyOf(ingredientCosts);
+    }
+}
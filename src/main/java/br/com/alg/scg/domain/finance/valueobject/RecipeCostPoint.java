@@ -0,0 +1,11 @@
+package br.com.alg.scg.domain.finance.valueobject;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ponto da série histórica de custo de uma receita (sem o detalhamento por ingrediente)
+ */
+public record RecipeCostPoint(LocalDateTime computedAt, BigDecimal totalCost, BigDecimal unitCost,
+                              BigDecimal yieldQuantity) {
+}
@@ -0,0 +1,9 @@
+package br.com.alg.scg.domain.finance.valueobject;
+
+import java.util.UUID;
+
+/**
+ * Versão do custo gravado de uma receita, lida sem carregar o snapshot inteiro
+ */
+public record RecipeCostSnapshotVersion(UUID recipeId, Long version) {
+}
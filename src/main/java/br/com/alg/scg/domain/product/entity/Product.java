@@ -2,9 +2,10 @@ package br.com.alg.scg.domain.product.entity;
 
 import br.com.alg.scg.domain.common.valueobject.Money;
 import br.com.alg.scg.domain.common.valueobject.Quantity;
-import br.com.alg.scg.domain.common.valueobject.UnitConverter;
 import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
 import br.com.alg.scg.domain.finance.valueobject.ProfitMargin;
+import br.com.alg.scg.domain.product.valueobject.ConversionProfile;
+import br.com.alg.scg.domain.product.valueobject.CurrentPrice;
 import br.com.alg.scg.domain.product.valueobject.ProductType;
 
 import java.math.BigDecimal;
@@ -13,11 +14,14 @@ import java.util.*;
 
 import com.github.f4b6a3.uuid.UuidCreator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "products")
+// UPDATE apenas com as colunas alteradas
+@DynamicUpdate
 public class Product {
 
     @Id
@@ -35,9 +39,15 @@ public class Product {
     @JoinColumn(name = "recipe_id", referencedColumnName = "id")
     private Recipe recipe;
 
-    @Column(precision = 10, scale = 3)
+    // Mantido só por UPDATE atômico (ProductService.applyStockMovements): gravar a entidade nunca escreve o
+    // estoque, então uma entidade lida antes de vendas concorrentes não desfaz essas vendas
+    @Column(precision = 10, scale = 3, updatable = false)
     private BigDecimal stock;
 
+    // Estoque lido do banco (ou gravado no INSERT); uma alteração feita pelo formulário é a diferença para ele
+    @Transient
+    private BigDecimal loadedStock;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "stock_unit", length = 20)
     private UnitMeasurement stockUnit;
@@ -49,6 +59,23 @@ public class Product {
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private final List<Price> pricesHistory = new ArrayList<>();
 
+    // Preço vigente desnormalizado (registro mais recente de pricesHistory), mantido por addPrice.
+    // Permite ler o preço atual direto da linha do produto, sem carregar o histórico.
+    @Column(name = "current_price_amount", precision = 19, scale = 2)
+    private BigDecimal currentPriceAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "current_price_unit", length = 20)
+    private UnitMeasurement currentPriceUnit;
+
+    @Column(name = "current_price_effective_date")
+    private LocalDateTime currentPriceEffectiveDate;
+
+    // Fatores para converter entre famílias de unidades (peso por unidade, densidade, unidades por pacote).
+    // Nulo quando o produto não tem perfil (todas as colunas nulas).
+    @Embedded
+    private ConversionProfile conversionProfile;
+
     protected Product() { /* Construtor exigido pelo JPA */ }
 
     // Factory method para criar produto a partir de formulário
@@ -73,6 +100,12 @@ public class Product {
         // A unidade deve ser definida na primeira compra
     }
 
+    @PostLoad
+    @PostPersist
+    private void rememberLoadedStock() {
+        this.loadedStock = this.stock;
+    }
+
     // Setters para binding de formulários
     public void setName(String name) {
         this.name = Objects.requireNonNull(name, "Product name cannot be null");
@@ -134,30 +167,43 @@ public class Product {
 
     public void addPrice(Money newPrice) {
         Objects.requireNonNull(newPrice, "O preço não pode ser nulo.");
-        this.pricesHistory.add(new Price(newPrice, LocalDateTime.now(), this));
+        registerPrice(new Price(newPrice, LocalDateTime.now(), this));
     }
 
     public void addPrice(Money newPrice, LocalDateTime effectiveDate) {
         Objects.requireNonNull(newPrice, "O preço não pode ser nulo.");
         Objects.requireNonNull(effectiveDate, "A data efetiva não pode ser nula.");
-        this.pricesHistory.add(new Price(newPrice, effectiveDate, this));
+        registerPrice(new Price(newPrice, effectiveDate, this));
     }
 
     public void addPrice(Money newPrice, UnitMeasurement unitMeasurement) {
         Objects.requireNonNull(newPrice, "O preço não pode ser nulo.");
         Objects.requireNonNull(unitMeasurement, "A unidade de medida não pode ser nula.");
-        this.pricesHistory.add(new Price(newPrice, unitMeasurement, LocalDateTime.now(), this));
+        registerPrice(new Price(newPrice, unitMeasurement, LocalDateTime.now(), this));
+    }
+
+    /**
+     * Adiciona o preço ao histórico e atualiza o preço vigente, a menos que
+     * o novo registro tenha data efetiva anterior à do preço vigente.
+     */
+    private void registerPrice(Price price) {
+        this.pricesHistory.add(price);
+        if (currentPriceEffectiveDate == null || !price.getEffectiveDate().isBefore(currentPriceEffectiveDate)) {
+            this.currentPriceAmount = price.getValue().value();
+            this.currentPriceUnit = price.getUnitMeasurement();
+            this.currentPriceEffectiveDate = price.getEffectiveDate();
+        }
     }
 
     public Optional<Money> getCurrentPrice() {
-        return pricesHistory.stream()
-                .max((p1, p2) -> p1.getEffectiveDate().compareTo(p2.getEffectiveDate()))
-                .map(Price::getValue);
+        return getCurrentPriceDetails().map(CurrentPrice::value);
     }
 
-    public Optional<Price> getCurrentPriceDetails() {
-        return pricesHistory.stream()
-                .max((p1, p2) -> p1.getEffectiveDate().compareTo(p2.getEffectiveDate()));
+    public Optional<CurrentPrice> getCurrentPriceDetails() {
+        if (currentPriceAmount == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new CurrentPrice(new Money(currentPriceAmount), currentPriceUnit, currentPriceEffectiveDate));
     }
 
     public void decreaseStock(BigDecimal quantity) {
@@ -189,6 +235,26 @@ public class Product {
         this.profitMargin = profitMargin;
     }
     
+    /**
+     * Define os fatores de conversão do produto; nulo ou vazio remove o perfil
+     */
+    public void defineConversionProfile(ConversionProfile profile) {
+        this.conversionProfile = profile == null || profile.isEmpty() ? null : profile;
+    }
+
+    /**
+     * Indica se uma quantidade nesta unidade pode ser custeada quando o produto é usado como ingrediente.
+     * Matérias-primas aceitam qualquer unidade; um intermediário é custeado pelo preço de uma unidade do seu
+     * rendimento, então só aceita UNIT ou uma unidade conversível para UNIT pelo perfil de conversão
+     * (ex.: gramas, com o peso de cada unidade do rendimento).
+     */
+    public boolean acceptsIngredientUnit(UnitMeasurement unit) {
+        if (type == ProductType.RAW_MATERIAL) {
+            return true;
+        }
+        return unit == UnitMeasurement.UNIT || getConversionProfile().factor(unit, UnitMeasurement.UNIT) != null;
+    }
+
     public void updateName(String newName) {
         if (newName == null || newName.trim().isEmpty()) {
             throw new IllegalArgumentException("Nome do produto não pode ser vazio");
@@ -208,26 +274,9 @@ public class Product {
             throw new IllegalStateException("Cálculo de custo por quantidade só é aplicável a matérias-primas.");
         }
         
-        Optional<Price> currentPriceDetails = getCurrentPriceDetails();
-        if (currentPriceDetails.isEmpty()) {
-            return Money.ZERO; // Sem preço definido
-        }
-        
-        Price priceInfo = currentPriceDetails.get();
-        Money unitPrice = priceInfo.getValue();
-        UnitMeasurement priceUnit = priceInfo.getUnitMeasurement();
-        
-        // Converter a quantidade da receita para a mesma unidade do preço
-        Quantity convertedQuantity;
-        try {
-            convertedQuantity = UnitConverter.convert(quantity, priceUnit);
-        } catch (IllegalArgumentException e) {
-            // Se não conseguir converter, usar a quantidade original (compatibilidade)
-            convertedQuantity = quantity;
-        }
-        
-        // Custo = preço unitário × quantidade convertida
-        return unitPrice.multiply(convertedQuantity.value());
+        return getCurrentPriceDetails()
+                .map(currentPrice -> currentPrice.costOf(quantity, getConversionProfile()))
+                .orElse(Money.ZERO); // Sem preço definido
     }
 
     public UUID getId() { return id; }
@@ -241,7 +290,22 @@ public class Product {
         return profitMargin;
     }
 
+    public ConversionProfile getConversionProfile() {
+        return conversionProfile != null ? conversionProfile : ConversionProfile.NONE;
+    }
+
     public BigDecimal getStock() { return stock; }
+
+    /**
+     * Diferença entre o estoque atual da entidade e o lido do banco: a alteração feita desde a leitura
+     * (ex.: pelo formulário). Zero se a entidade não veio do banco.
+     */
+    public BigDecimal getStockChange() {
+        if (loadedStock == null || stock == null) {
+            return BigDecimal.ZERO;
+        }
+        return stock.subtract(loadedStock);
+    }
     public UnitMeasurement getStockUnit() { return stockUnit; }
     public List<Price> getPricesHistory() { return List.copyOf(pricesHistory); }
 
@@ -1,9 +1,12 @@
 package br.com.alg.scg.domain.product.entity;
 
+import br.com.alg.scg.domain.common.valueobject.MinorUnits;
 import br.com.alg.scg.domain.common.valueobject.Money;
 import br.com.alg.scg.domain.common.valueobject.Quantity;
 import br.com.alg.scg.domain.common.valueobject.RecipeIngredient;
 import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.service.CurrentPriceCache;
+import br.com.alg.scg.domain.product.valueobject.CurrentPrice;
 import br.com.alg.scg.domain.product.valueobject.ProductType;
 import com.github.f4b6a3.uuid.UuidCreator;
 import jakarta.persistence.*;
@@ -11,10 +14,16 @@ import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "recipes")
@@ -43,28 +52,39 @@ public class Recipe {
         this.yieldQuantity = yieldQuantity != null ? yieldQuantity : BigDecimal.ONE;
     }
 
-    public void addIngredient(Product rawMaterial, Quantity quantity) {
-        if (rawMaterial.getType() != ProductType.RAW_MATERIAL) {
-            throw new IllegalArgumentException("Apenas matérias-primas podem ser usadas como ingredientes.");
+    /**
+     * Adiciona um ingrediente: uma matéria-prima ou um produto intermediário (produto com receita própria,
+     * ex: massa, recheio), custeado pelo custo unitário da sua receita. A quantidade de um intermediário
+     * é expressa em unidades do seu rendimento (ou em unidade conversível pelo perfil de conversão dele);
+     * outras unidades são rejeitadas. Ciclos indiretos são verificados por RecipeGraph ao gravar.
+     */
+    public void addIngredient(Product ingredient, Quantity quantity) {
+        if (ingredient.getType() != ProductType.RAW_MATERIAL && ingredient.getProductRecipe().isEmpty()) {
+            throw new IllegalArgumentException("Apenas matérias-primas ou produtos com receita podem ser usados como ingredientes.");
+        }
+        if (ingredient.getProductRecipe().filter(recipe -> recipe.getId().equals(this.id)).isPresent()) {
+            throw new IllegalArgumentException("Uma receita não pode usar o próprio produto como ingrediente.");
         }
         // Valida se o ingrediente já existe para evitar duplicatas
-        if (ingredients.stream().anyMatch(i -> i.getRawMaterialId().equals(rawMaterial.getId()))) {
+        if (ingredients.stream().anyMatch(i -> i.getRawMaterialId().equals(ingredient.getId()))) {
             throw new IllegalArgumentException("Ingrediente já existe na receita.");
         }
-        this.ingredients.add(new RecipeIngredient(rawMaterial.getId(), quantity, this));
+        requireCostableUnit(ingredient, quantity);
+        this.ingredients.add(new RecipeIngredient(ingredient.getId(), quantity, this));
     }
 
-    public void updateIngredient(UUID rawMaterialId, Quantity newQuantity) {
+    public void updateIngredient(Product ingredient, Quantity newQuantity) {
         RecipeIngredient existingIngredient = ingredients.stream()
-                .filter(i -> i.getRawMaterialId().equals(rawMaterialId))
+                .filter(i -> i.getRawMaterialId().equals(ingredient.getId()))
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Ingrediente não encontrado na receita"));
+        requireCostableUnit(ingredient, newQuantity);
         
         // Remove o ingrediente existente
         ingredients.remove(existingIngredient);
         
         // Adiciona com a nova quantidade
-        this.ingredients.add(new RecipeIngredient(rawMaterialId, newQuantity, this));
+        this.ingredients.add(new RecipeIngredient(ingredient.getId(), newQuantity, this));
     }
 
     public void removeIngredient(UUID rawMaterialId) {
@@ -85,30 +105,93 @@ public class Recipe {
      * Calcula o custo total da receita.
      * Esta é uma operação complexa que depende de dados externos (preços de outros produtos),
      * por isso, recebe o repositório como dependência para buscar as informações.
-     * Isso é um padrão comum em DDD para manter a entidade rica em comportamento.
+     * Todas as matérias-primas são carregadas em uma única consulta antes do cálculo,
+     * e o preço vigente de cada uma é lido da própria linha do produto.
      */
     public Money calcTotalCost(ProductRepository productRepository) {
         if (ingredients.isEmpty()) {
             return Money.ZERO;
         }
+        return calcTotalCost(loadRawMaterials(productRepository));
+    }
+
+    /**
+     * Calcula o custo total da receita lendo os preços vigentes do cache,
+     * sem percorrer o histórico de preços das matérias-primas.
+     */
+    public Money calcTotalCost(ProductRepository productRepository, CurrentPriceCache priceCache) {
+        if (ingredients.isEmpty()) {
+            return Money.ZERO;
+        }
+        Set<UUID> rawMaterialIds = getRawMaterialIds();
+        Map<UUID, Product> rawMaterials = productRepository.findAllById(rawMaterialIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return calcTotalCost(rawMaterials, priceCache.getAll(rawMaterialIds));
+    }
+
+    /**
+     * Calcula o custo total da receita a partir das matérias-primas já carregadas
+     * (indexadas por ID), sem acessar o banco de dados.
+     */
+    public Money calcTotalCost(Map<UUID, Product> rawMaterials) {
+        Map<UUID, CurrentPrice> currentPrices = new HashMap<>();
+        rawMaterials.forEach((id, rawMaterial) ->
+                rawMaterial.getCurrentPriceDetails().ifPresent(price -> currentPrices.put(id, price)));
+        return calcTotalCost(rawMaterials, currentPrices);
+    }
+
+    /**
+     * Calcula o custo total da receita a partir das matérias-primas e dos seus preços vigentes
+     * já carregados (ambos indexados pelo ID da matéria-prima).
+     */
+    public Money calcTotalCost(Map<UUID, Product> rawMaterials, Map<UUID, CurrentPrice> currentPrices) {
+        return MinorUnits.toMoney(calcTotalCostInCents(rawMaterials, currentPrices));
+    }
 
-        Money totalCost = Money.ZERO;
+    /**
+     * Mesmo cálculo de {@link #calcTotalCost(Map, Map)}, em centavos (ponto fixo), para os laços de custeio
+     */
+    public long calcTotalCostInCents(Map<UUID, Product> rawMaterials, Map<UUID, CurrentPrice> currentPrices) {
+        long[] totalCents = {0};
+        forEachIngredientCost(rawMaterials, currentPrices,
+                (rawMaterialId, cents) -> totalCents[0] = MinorUnits.add(totalCents[0], cents));
+        return totalCents[0];
+    }
 
+    /**
+     * Custo de cada ingrediente da receita (ID da matéria-prima → custo da quantidade usada),
+     * na ordem dos ingredientes, a partir das matérias-primas e preços vigentes já carregados.
+     */
+    public Map<UUID, Money> calcIngredientCosts(Map<UUID, Product> rawMaterials, Map<UUID, CurrentPrice> currentPrices) {
+        Map<UUID, Money> ingredientCosts = new LinkedHashMap<>();
+        forEachIngredientCost(rawMaterials, currentPrices,
+                (rawMaterialId, cents) -> ingredientCosts.put(rawMaterialId, MinorUnits.toMoney(cents)));
+        return ingredientCosts;
+    }
+
+    private void forEachIngredientCost(Map<UUID, Product> rawMaterials, Map<UUID, CurrentPrice> currentPrices,
+                                       ObjLongConsumer<UUID> action) {
         for (RecipeIngredient recipeIngredient : ingredients) {
-            Product rawMaterial = productRepository.findById(recipeIngredient.getRawMaterialId())
-                    .orElseThrow(() -> new IllegalStateException("Matéria-prima não encontrada: " + recipeIngredient.getRawMaterialId()));
+            Product rawMaterial = rawMaterials.get(recipeIngredient.getRawMaterialId());
+            if (rawMaterial == null) {
+                throw new IllegalStateException("Matéria-prima não encontrada: " + recipeIngredient.getRawMaterialId());
+            }
 
-            if (rawMaterial.getCurrentPrice().isEmpty()) {
+            CurrentPrice currentPrice = currentPrices.get(rawMaterial.getId());
+            if (currentPrice == null) {
                 throw new IllegalStateException("Matéria-prima sem preço definido: " + rawMaterial.getName() + 
                     ". É necessário registrar uma compra para definir o preço desta matéria-prima.");
             }
 
-            // Usar o novo método que faz conversão automática de unidades
-            Money ingredientCost = rawMaterial.calculateIngredientCost(recipeIngredient.getQuantity());
-            totalCost = totalCost.sum(ingredientCost);
-        }
+            // Um intermediário em unidade sem conversão para UNIT seria custeado como unidades inteiras do rendimento
+            if (!rawMaterial.acceptsIngredientUnit(recipeIngredient.getQuantity().unitMeasurement())) {
+                throw new IllegalStateException(unsupportedUnitMessage(rawMaterial));
+            }
 
-        return totalCost;
+            // Converte a quantidade da receita para a unidade do preço (pelo perfil de conversão, se preciso)
+            action.accept(rawMaterial.getId(),
+                    currentPrice.costInCents(recipeIngredient.getQuantity(), rawMaterial.getConversionProfile()));
+        }
     }
 
     /**
@@ -116,11 +199,55 @@ public class Recipe {
      * Ex: Receita de brownie custa R$ 14,45 e rende 7 unidades = R$ 2,06 por unidade
      */
     public Money calcUnitCost(ProductRepository productRepository) {
-        Money totalCost = calcTotalCost(productRepository);
+        if (ingredients.isEmpty()) {
+            return calcUnitCost(Map.of());
+        }
+        return calcUnitCost(loadRawMaterials(productRepository));
+    }
+
+    /**
+     * Calcula o custo unitário da receita lendo os preços vigentes do cache.
+     */
+    public Money calcUnitCost(ProductRepository productRepository, CurrentPriceCache priceCache) {
+        return divideByYield(calcTotalCost(productRepository, priceCache));
+    }
+
+    /**
+     * Calcula o custo unitário da receita a partir das matérias-primas já carregadas.
+     */
+    public Money calcUnitCost(Map<UUID, Product> rawMaterials) {
+        return divideByYield(calcTotalCost(rawMaterials));
+    }
+
+    /**
+     * Converte um custo total já calculado desta receita em custo por unidade produzida.
+     */
+    public Money divideByYield(Money totalCost) {
+        return MinorUnits.toMoney(divideByYieldInCents(MinorUnits.of(totalCost)));
+    }
+
+    /**
+     * Custo por unidade produzida, em centavos (custo total em centavos ÷ rendimento, HALF_UP)
+     */
+    public long divideByYieldInCents(long totalCents) {
         if (yieldQuantity == null || yieldQuantity.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalStateException("Rendimento da receita deve ser maior que zero");
         }
-        return new Money(totalCost.value().divide(yieldQuantity, 2, RoundingMode.HALF_UP));
+        return MinorUnits.divide(totalCents, yieldQuantity);
+    }
+
+    /**
+     * IDs de todas as matérias-primas usadas nesta receita
+     */
+    public Set<UUID> getRawMaterialIds() {
+        return ingredients.stream()
+                .map(RecipeIngredient::getRawMaterialId)
+                .collect(Collectors.toSet());
+    }
+
+    private Map<UUID, Product> loadRawMaterials(ProductRepository productRepository) {
+        return productRepository.findAllById(getRawMaterialIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
     }
 
     public void setYieldQuantity(BigDecimal yieldQuantity) {
@@ -146,4 +273,14 @@ public class Recipe {
         this.product = product;
     }
 
+    private static void requireCostableUnit(Product ingredient, Quantity quantity) {
+        if (!ingredient.acceptsIngredientUnit(quantity.unitMeasurement())) {
+            throw new IllegalArgumentException(unsupportedUnitMessage(ingredient));
+        }
+    }
+
+    private static String unsupportedUnitMessage(Product intermediate) {
+        return "O intermediário " + intermediate.getName() + " deve ser usado em unidades (un) do seu rendimento, " +
+                "ou ter o peso por unidade definido no perfil de conversão.";
+    }
 }
@@ -0,0 +1,72 @@
+package br.com.alg.scg.domain.product.entity;
+
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+import br.com.alg.scg.domain.product.valueobject.StockMovementSource;
+import com.github.f4b6a3.uuid.UuidCreator;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Linha do livro-razão de estoque: uma variação (positiva ou negativa) do estoque de um produto.
+ * Somente inserida, nunca alterada. A sequência (seq) é atribuída pelo banco na inserção.
+ */
+@Getter
+@Entity
+@Immutable
+@Table(name = "stock_movements")
+public class StockLedgerEntry {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    private UUID id;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(nullable = false, precision = 10, scale = 3)
+    private BigDecimal delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "unit_measurement", length = 20)
+    private UnitMeasurement unitMeasurement;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", nullable = false, length = 30)
+    private StockMovementSource sourceType;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "source_id")
+    private UUID sourceId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Ordem de registro, usada nas janelas de consolidação dos snapshots, atribuída pelo banco.
+    // No MariaDB a coluna vem da migração (AUTO_INCREMENT); a definição abaixo só vale para esquemas
+    // gerados pelo Hibernate (testes em H2)
+    @Column(name = "seq", insertable = false, updatable = false,
+            columnDefinition = "BIGINT GENERATED BY DEFAULT AS IDENTITY")
+    private Long seq;
+
+    protected StockLedgerEntry() { /* Construtor exigido pelo JPA */ }
+
+    public StockLedgerEntry(UUID productId, BigDecimal delta, UnitMeasurement unitMeasurement,
+                            StockMovementSource sourceType, UUID sourceId, LocalDateTime occurredAt) {
+        this.id = UuidCreator.getTimeOrderedEpoch();
+        this.productId = Objects.requireNonNull(productId, "O ID do produto não pode ser nulo.");
+        this.delta = Objects.requireNonNull(delta, "A variação de estoque não pode ser nula.");
+        this.unitMeasurement = unitMeasurement;
+        this.sourceType = Objects.requireNonNull(sourceType, "A origem da movimentação não pode ser nula.");
+        this.sourceId = sourceId;
+        this.occurredAt = Objects.requireNonNull(occurredAt, "A data da movimentação não pode ser nula.");
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.alg.scg.domain.product.entity;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Saldo consolidado do estoque de um produto: todas as movimentações com sequência até
+ * {@code lastMovementSeq} (inclusive), registradas até {@code takenAt}.
+ */
+@Getter
+@Entity
+@Immutable
+@Table(name = "stock_snapshots")
+public class StockSnapshot {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    private UUID id;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(nullable = false, precision = 10, scale = 3)
+    private BigDecimal quantity;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    @Column(name = "last_movement_seq", nullable = false)
+    private long lastMovementSeq;
+
+    protected StockSnapshot() { /* Construtor exigido pelo JPA */ }
+
+    public StockSnapshot(UUID productId, BigDecimal quantity, LocalDateTime takenAt, long lastMovementSeq) {
+        this.id = UuidCreator.getTimeOrderedEpoch();
+        this.productId = Objects.requireNonNull(productId, "O ID do produto não pode ser nulo.");
+        this.quantity = Objects.requireNonNull(quantity, "O saldo não pode ser nulo.");
+        this.takenAt = Objects.requireNonNull(takenAt, "A data do snapshot não pode ser nula.");
+        this.lastMovementSeq = lastMovementSeq;
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.alg.scg.domain.product.event;
+
+import java.util.UUID;
+
+/**
+ * Perfil de conversão de unidades de um produto definido, alterado ou removido
+ */
+public record ConversionProfileChanged(UUID productId) {
+}
@@ -0,0 +1,12 @@
+package br.com.alg.scg.domain.product.event;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+
+import java.util.UUID;
+
+/**
+ * Novo preço registrado para um produto (unidade nula quando o preço não informa unidade)
+ */
+public record PriceChanged(UUID productId, Money price, UnitMeasurement unitMeasurement) {
+}
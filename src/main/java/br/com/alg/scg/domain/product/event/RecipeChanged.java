@@ -0,0 +1,9 @@
+package br.com.alg.scg.domain.product.event;
+
+import java.util.UUID;
+
+/**
+ * Receita de um produto final criada ou alterada (ingredientes, quantidades ou rendimento)
+ */
+public record RecipeChanged(UUID productId, UUID recipeId) {
+}
@@ -0,0 +1,9 @@
+package br.com.alg.scg.domain.product.event;
+
+import java.util.UUID;
+
+/**
+ * Produto final excluído junto com a sua receita
+ */
+public record RecipeRemoved(UUID productId, UUID recipeId) {
+}
@@ -0,0 +1,39 @@
+package br.com.alg.scg.domain.product.repository;
+
+import br.com.alg.scg.domain.product.entity.Price;
+import br.com.alg.scg.domain.product.valueobject.PricePoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PriceRepository extends JpaRepository<Price, UUID> {
+
+    String POINT_SELECT = "SELECT new br.com.alg.scg.domain.product.valueobject.PricePoint(" +
+            "p.product.id, p.value.value, p.unitMeasurement, p.effectiveDate) FROM Price p";
+
+    /**
+     * Preço em vigor em uma data para cada produto informado: o registro com a maior data efetiva
+     * menor ou igual a asOf. Em caso de empate na data, vale o último (ordem por ID, UUIDv7).
+     * Respondida só pelo índice prices(product_id, effective_date, amount, unit_measurement).
+     */
+    @Query(POINT_SELECT + " WHERE p.product.id IN :productIds AND p.effectiveDate = (" +
+            "SELECT MAX(p2.effectiveDate) FROM Price p2 " +
+            "WHERE p2.product.id = p.product.id AND p2.effectiveDate <= :asOf) " +
+            "ORDER BY p.product.id, p.id")
+    List<PricePoint> findPricesAsOf(@Param("productIds") Collection<UUID> productIds,
+                                    @Param("asOf") LocalDateTime asOf);
+
+    /**
+     * Histórico de preços dos produtos informados com data efetiva até a data limite,
+     * ordenado por produto e data efetiva (uma varredura por faixa no mesmo índice)
+     */
+    @Query(POINT_SELECT + " WHERE p.product.id IN :productIds AND p.effectiveDate <= :until " +
+            "ORDER BY p.product.id, p.effectiveDate, p.id")
+    List<PricePoint> findPriceHistoryUntil(@Param("productIds") Collection<UUID> productIds,
+                                           @Param("until") LocalDateTime until);
+}
@@ -1,20 +1,135 @@
 package br.com.alg.scg.domain.product.repository;
 
 import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.valueobject.ProductSummary;
 import br.com.alg.scg.domain.product.valueobject.ProductType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ProductRepository extends JpaRepository<Product, UUID> {
 
-    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.recipe WHERE p.type = :type")
+    String SUMMARY_SELECT = "SELECT new br.com.alg.scg.domain.product.valueobject.ProductSummary(" +
+            "p.id, p.name, p.type, p.stock, p.stockUnit, p.currentPriceAmount, p.currentPriceUnit) FROM Product p";
+
+    /**
+     * Produto com receita e ingredientes carregados em uma única consulta
+     */
+    @EntityGraph(attributePaths = {"recipe", "recipe.ingredients"})
+    Optional<Product> findWithRecipeById(UUID id);
+
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.recipe r LEFT JOIN FETCH r.ingredients")
+    List<Product> findAllWithRecipes();
+
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.recipe r LEFT JOIN FETCH r.ingredients WHERE p.type = :type")
     List<Product> findAllWithRecipesByType(@Param("type") ProductType type);
 
-    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.pricesHistory WHERE p.id = :id")
-    Optional<Product> findByIdWithPrices(@Param("id") UUID id);
+    /**
+     * Produtos (com receita e ingredientes) donos das receitas informadas
+     */
+    @Query("SELECT DISTINCT p FROM Product p JOIN FETCH p.recipe r LEFT JOIN FETCH r.ingredients WHERE r.id IN :recipeIds")
+    List<Product> findAllWithRecipesByRecipeIdIn(@Param("recipeIds") Collection<UUID> recipeIds);
+
+    /**
+     * Produtos (com receita e ingredientes) pelos IDs; usado para percorrer o grafo de receitas nível a nível
+     */
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.recipe r LEFT JOIN FETCH r.ingredients WHERE p.id IN :ids")
+    List<Product> findAllWithRecipesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Índice reverso ingrediente → receita: cada linha é [ingredientId, recipeId, productId],
+     * onde productId é o produto dono da receita (permite subir do intermediário às receitas que o usam).
+     * Apoiado pelo índice recipe_ingredients(raw_material_id, recipe_id).
+     */
+    @Query("SELECT i.rawMaterialId, r.id, p.id FROM Product p JOIN p.recipe r JOIN r.ingredients i")
+    List<Object[]> findAllRecipeDependencies();
+
+    /**
+     * Página de produtos de um tipo cujo nome contém o fragmento (ignorando case), sem consulta de contagem.
+     * A receita (relação 1:1) é carregada na mesma consulta.
+     */
+    @EntityGraph(attributePaths = "recipe")
+    List<Product> findByTypeAndNameContainingIgnoreCase(ProductType type, String name, Pageable pageable);
+
+    long countByTypeAndNameContainingIgnoreCase(ProductType type, String name);
+
+    /**
+     * Produtos de um tipo ordenados por nome (apoiado pelo índice products(type, name)).
+     * A receita (relação 1:1) é carregada na mesma consulta.
+     */
+    @EntityGraph(attributePaths = "recipe")
+    List<Product> findByTypeOrderByName(ProductType type);
+
+    /**
+     * Produtos de um tipo cujo nome contém o fragmento (ignorando case), ordenados por nome.
+     * O índice products(type, name) atende apenas o tipo e a ordenação; o trecho do nome
+     * (LIKE '%x%') é avaliado sobre as linhas do tipo.
+     */
+    @EntityGraph(attributePaths = "recipe")
+    List<Product> findByTypeAndNameContainingIgnoreCaseOrderByName(ProductType type, String name);
+
+    /**
+     * Produtos cujo nome contém o fragmento (ignorando case), ordenados por nome
+     */
+    List<Product> findByNameContainingIgnoreCaseOrderByName(String name);
+
+    /**
+     * Quantidade de produtos de um tipo com estoque abaixo do limite (ex: matérias-primas com estoque baixo)
+     */
+    long countByTypeAndStockLessThan(ProductType type, BigDecimal stock);
+
+    /**
+     * Paginação por cursor (keyset): registros com ID anterior ao cursor, do mais recente ao mais antigo.
+     * Os IDs são UUIDv7, portanto ordenados pelo momento de criação.
+     */
+    List<Product> findByIdLessThanOrderByIdDesc(UUID cursor, Pageable pageable);
+
+    /**
+     * Primeira página da paginação por cursor: registros mais recentes
+     */
+    List<Product> findAllByOrderByIdDesc(Pageable pageable);
+
+    /**
+     * Resumos de produtos (projeção por construtor): apenas colunas da linha de products,
+     * sem receita nem histórico de preços
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.id = :id")
+    Optional<ProductSummary> findSummaryById(@Param("id") UUID id);
+
+    @Query(SUMMARY_SELECT + " ORDER BY p.name")
+    List<ProductSummary> findAllSummaries();
+
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductSummary> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY p.name")
+    List<ProductSummary> findSummariesByNameContaining(@Param("name") String name);
+
+    /**
+     * Saída de estoque atômica: só decrementa se houver saldo suficiente.
+     * Retorna 0 quando o produto não existe, não é do tipo informado ou o estoque é insuficiente.
+     * Não atualiza instâncias já carregadas no contexto de persistência: releia-as (refresh) se forem usadas depois.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity " +
+            "WHERE p.id = :id AND p.type = :type AND p.stock >= :quantity")
+    int decreaseStockIfAvailable(@Param("id") UUID id, @Param("quantity") BigDecimal quantity,
+                                 @Param("type") ProductType type);
+
+    /**
+     * Entrada de estoque atômica (sem ler-modificar-gravar a entidade)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity WHERE p.id = :id AND p.type = :type")
+    int increaseStock(@Param("id") UUID id, @Param("quantity") BigDecimal quantity, @Param("type") ProductType type);
 }
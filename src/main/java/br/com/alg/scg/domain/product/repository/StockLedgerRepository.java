@@ -0,0 +1,46 @@
+package br.com.alg.scg.domain.product.repository;
+
+import br.com.alg.scg.domain.product.entity.StockLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface StockLedgerRepository extends JpaRepository<StockLedgerEntry, UUID> {
+
+    /**
+     * Soma das movimentações do produto posteriores à sequência informada e ocorridas até o instante to.
+     * Coberta pelo índice (product_id, seq, occurred_at, delta).
+     */
+    @Query("SELECT COALESCE(SUM(m.delta), 0) FROM StockLedgerEntry m " +
+            "WHERE m.productId = :productId AND m.seq > :afterSeq AND m.occurredAt <= :to")
+    BigDecimal sumDeltas(@Param("productId") UUID productId,
+                         @Param("afterSeq") long afterSeq,
+                         @Param("to") LocalDateTime to);
+
+    /**
+     * Soma das movimentações por produto no intervalo de sequência (afterSeq, upToSeq], apenas produtos
+     * com movimentação. Cada linha: [productId, soma].
+     */
+    @Query("SELECT m.productId, SUM(m.delta) FROM StockLedgerEntry m " +
+            "WHERE m.seq > :afterSeq AND m.seq <= :upToSeq " +
+            "GROUP BY m.productId")
+    List<Object[]> sumDeltasByProduct(@Param("afterSeq") long afterSeq, @Param("upToSeq") long upToSeq);
+
+    /**
+     * Maior sequência entre as movimentações posteriores a afterSeq registradas até o instante informado
+     * (faixa no índice único de seq)
+     */
+    @Query("SELECT MAX(m.seq) FROM StockLedgerEntry m WHERE m.seq > :afterSeq AND m.occurredAt <= :until")
+    Optional<Long> findLastSeq(@Param("afterSeq") long afterSeq, @Param("until") LocalDateTime until);
+
+    /**
+     * Movimentações do produto em ordem cronológica (auditoria)
+     */
+    List<StockLedgerEntry> findByProductIdOrderByOccurredAtAsc(UUID productId);
+}
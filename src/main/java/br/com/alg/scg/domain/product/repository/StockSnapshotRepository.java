@@ -0,0 +1,33 @@
+package br.com.alg.scg.domain.product.repository;
+
+import br.com.alg.scg.domain.product.entity.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, UUID> {
+
+    /**
+     * Snapshot mais recente do produto tirado até o instante informado (índice único product_id, taken_at)
+     */
+    Optional<StockSnapshot> findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(UUID productId, LocalDateTime at);
+
+    /**
+     * Última movimentação (seq) consolidada em snapshot (de qualquer produto)
+     */
+    @Query("SELECT MAX(s.lastMovementSeq) FROM StockSnapshot s")
+    Optional<Long> findLastMovementSeq();
+
+    /**
+     * Snapshot mais recente de cada um dos produtos informados
+     */
+    @Query("SELECT s FROM StockSnapshot s WHERE s.productId IN :productIds AND s.takenAt = " +
+            "(SELECT MAX(s2.takenAt) FROM StockSnapshot s2 WHERE s2.productId = s.productId)")
+    List<StockSnapshot> findLatestByProductIdIn(@Param("productIds") Collection<UUID> productIds);
+}
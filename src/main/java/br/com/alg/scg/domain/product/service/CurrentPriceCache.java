@@ -0,0 +1,159 @@
+package br.com.alg.scg.domain.product.service;
+
+import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.valueobject.CurrentPrice;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cache em memória do preço vigente de cada produto, indexado pelo ID do produto.
+ * Na ausência, o preço é lido das colunas de preço vigente da própria linha do produto;
+ * após o primeiro acesso, a leitura custa O(1), sem nenhuma consulta ao banco.
+ * <p>
+ * O tamanho é limitado; ao atingir o limite, o produto acessado há mais tempo é descartado (LRU).
+ * Qualquer alteração de preço deve chamar {@link #update(Product)}: o preço confirmado é gravado no cache
+ * após o commit, e uma leitura concorrente feita antes do commit (data efetiva mais antiga que a do preço
+ * em cache) não o sobrescreve. A comparação usa a própria entrada do cache, sem estado fora do limite do LRU.
+ */
+public class CurrentPriceCache {
+
+    private final ProductRepository productRepository;
+    private final Map<UUID, CurrentPrice> entries;
+
+    public CurrentPriceCache(ProductRepository productRepository, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Tamanho máximo do cache deve ser positivo");
+        }
+        this.productRepository = productRepository;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CurrentPrice> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Preço vigente do produto, carregado do banco apenas quando ausente do cache
+     */
+    public Optional<CurrentPrice> get(UUID productId) {
+        CurrentPrice cached = lookup(productId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<CurrentPrice> loaded = productRepository.findById(productId)
+                .flatMap(Product::getCurrentPriceDetails);
+        loaded.ifPresent(price -> store(productId, price));
+        return loaded;
+    }
+
+    /**
+     * Preços vigentes de vários produtos. Os ausentes do cache são carregados em uma única consulta.
+     * Produtos sem preço registrado não aparecem no mapa retornado.
+     */
+    public Map<UUID, CurrentPrice> getAll(Collection<UUID> productIds) {
+        Map<UUID, CurrentPrice> result = new HashMap<>();
+        Set<UUID> missing = new HashSet<>();
+        for (UUID productId : productIds) {
+            CurrentPrice cached = lookup(productId);
+            if (cached != null) {
+                result.put(productId, cached);
+            } else {
+                missing.add(productId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (Product product : productRepository.findAllById(missing)) {
+                product.getCurrentPriceDetails().ifPresent(price -> {
+                    result.put(product.getId(), price);
+                    store(product.getId(), price);
+                });
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Registra a alteração de preço do produto feita na transação atual. O preço sai do cache imediatamente
+     * e, após o commit, o novo preço vigente é gravado nele (write-through); em caso de rollback, o produto
+     * apenas sai do cache. Sem transação ativa, o novo preço é gravado na hora.
+     */
+    public void update(Product product) {
+        UUID productId = product.getId();
+        Optional<CurrentPrice> committed = product.getCurrentPriceDetails();
+        remove(productId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed.ifPresent(price -> store(productId, price));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed.ifPresent(price -> store(productId, price));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    remove(productId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Remove o preço do produto do cache. Se houver transação ativa, remove novamente
+     * ao final dela, para descartar leituras feitas antes do commit.
+     */
+    public void evict(UUID productId) {
+        remove(productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(productId);
+                }
+            });
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized CurrentPrice lookup(UUID productId) {
+        return entries.get(productId);
+    }
+
+    /**
+     * Grava o preço, a menos que o cache já tenha um preço mais recente do produto (leitura feita antes
+     * do commit de uma alteração, concluída depois que o preço confirmado foi gravado)
+     */
+    private synchronized void store(UUID productId, CurrentPrice price) {
+        CurrentPrice cached = entries.get(productId);
+        if (cached == null || !price.effectiveDate().isBefore(cached.effectiveDate())) {
+            entries.put(productId, price);
+        }
+    }
+
+    private synchronized void remove(UUID productId) {
+        entries.remove(productId);
+    }
+}
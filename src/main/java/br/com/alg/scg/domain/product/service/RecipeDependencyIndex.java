@@ -0,0 +1,123 @@
+package br.com.alg.scg.domain.product.service;
+
+import br.com.alg.scg.domain.product.repository.ProductRepository;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Índice reverso em memória: ingrediente → receitas que o utilizam.
+ * Carregado de recipe_ingredients no primeiro acesso (uma consulta) e mantido a cada
+ * alteração de receita por {@link #update(UUID, UUID, Collection)}; permite saber, sem consultar o banco,
+ * quais receitas precisam ser recusteadas quando o preço de uma matéria-prima muda.
+ * <p>
+ * Como um ingrediente pode ser um produto intermediário, o índice também guarda o produto dono de
+ * cada receita: as consultas sobem pelo grafo e incluem as receitas que usam os intermediários afetados.
+ */
+public class RecipeDependencyIndex {
+
+    private final ProductRepository productRepository;
+
+    // Protegidos por "this"
+    private Map<UUID, Set<UUID>> recipesByIngredient;
+    private final Map<UUID, Set<UUID>> ingredientsByRecipe = new HashMap<>();
+    private final Map<UUID, UUID> productByRecipe = new HashMap<>();
+
+    public RecipeDependencyIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * IDs das receitas que usam o ingrediente, direta ou indiretamente (vazio se nenhuma)
+     */
+    public synchronized Set<UUID> recipesUsing(UUID ingredientId) {
+        return recipesUsingAny(Set.of(ingredientId));
+    }
+
+    /**
+     * IDs das receitas que usam, direta ou indiretamente, qualquer um dos ingredientes
+     */
+    public synchronized Set<UUID> recipesUsingAny(Collection<UUID> ingredientIds) {
+        ensureLoaded();
+        Set<UUID> recipeIds = new HashSet<>();
+        Deque<UUID> pending = new ArrayDeque<>(ingredientIds);
+        while (!pending.isEmpty()) {
+            for (UUID recipeId : recipesByIngredient.getOrDefault(pending.pop(), Set.of())) {
+                UUID productId = productByRecipe.get(recipeId);
+                if (recipeIds.add(recipeId) && productId != null) {
+                    pending.push(productId);
+                }
+            }
+        }
+        return recipeIds;
+    }
+
+    /**
+     * Substitui os ingredientes conhecidos de uma receita (após criá-la ou alterá-la)
+     */
+    public synchronized void update(UUID productId, UUID recipeId, Collection<UUID> ingredientIds) {
+        ensureLoaded();
+        unlink(recipeId);
+        Set<UUID> ingredients = new HashSet<>(ingredientIds);
+        ingredientsByRecipe.put(recipeId, ingredients);
+        productByRecipe.put(recipeId, productId);
+        for (UUID ingredientId : ingredients) {
+            recipesByIngredient.computeIfAbsent(ingredientId, id -> new HashSet<>()).add(recipeId);
+        }
+    }
+
+    /**
+     * Remove uma receita excluída do índice
+     */
+    public synchronized void remove(UUID recipeId) {
+        ensureLoaded();
+        unlink(recipeId);
+        productByRecipe.remove(recipeId);
+    }
+
+    /**
+     * Descarta o índice; será recarregado do banco no próximo acesso
+     */
+    public synchronized void clear() {
+        recipesByIngredient = null;
+        ingredientsByRecipe.clear();
+        productByRecipe.clear();
+    }
+
+    private void ensureLoaded() {
+        if (recipesByIngredient != null) {
+            return;
+        }
+        recipesByIngredient = new HashMap<>();
+        for (Object[] row : productRepository.findAllRecipeDependencies()) {
+            UUID ingredientId = (UUID) row[0];
+            UUID recipeId = (UUID) row[1];
+            UUID productId = (UUID) row[2];
+            recipesByIngredient.computeIfAbsent(ingredientId, id -> new HashSet<>()).add(recipeId);
+            ingredientsByRecipe.computeIfAbsent(recipeId, id -> new HashSet<>()).add(ingredientId);
+            productByRecipe.put(recipeId, productId);
+        }
+    }
+
+    private void unlink(UUID recipeId) {
+        Set<UUID> previous = ingredientsByRecipe.remove(recipeId);
+        if (previous == null) {
+            return;
+        }
+        for (UUID ingredientId : previous) {
+            Set<UUID> recipes = recipesByIngredient.get(ingredientId);
+            if (recipes != null) {
+                recipes.remove(recipeId);
+                if (recipes.isEmpty()) {
+                    recipesByIngredient.remove(ingredientId);
+                }
+            }
+        }
+    }
+}
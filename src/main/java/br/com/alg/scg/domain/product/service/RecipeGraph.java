@@ -0,0 +1,92 @@
+package br.com.alg.scg.domain.product.service;
+
+import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.entity.Recipe;
+import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.valueobject.ProductType;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Grafo de dependências entre receitas: um ingrediente pode ser uma matéria-prima ou um produto
+ * intermediário (produto com receita própria, ex: massa, recheio, ganache), que por sua vez tem ingredientes.
+ * O grafo é carregado nível a nível (uma consulta por nível) e não pode conter ciclos.
+ */
+public class RecipeGraph {
+
+    private final ProductRepository productRepository;
+
+    public RecipeGraph(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Todos os ingredientes usados, direta ou indiretamente, pelas receitas informadas:
+     * matérias-primas e intermediários (com receita e ingredientes carregados), indexados por ID.
+     */
+    public Map<UUID, Product> loadIngredients(Collection<Recipe> recipes) {
+        Map<UUID, Product> ingredients = new HashMap<>();
+        Set<UUID> pending = new HashSet<>();
+        recipes.forEach(recipe -> pending.addAll(recipe.getRawMaterialIds()));
+
+        while (!pending.isEmpty()) {
+            List<Product> level = productRepository.findAllWithRecipesByIdIn(pending);
+            level.forEach(product -> ingredients.put(product.getId(), product));
+
+            pending.clear();
+            for (Product product : level) {
+                for (UUID ingredientId : ingredientIdsOf(product)) {
+                    if (!ingredients.containsKey(ingredientId)) {
+                        pending.add(ingredientId);
+                    }
+                }
+            }
+        }
+        return ingredients;
+    }
+
+    /**
+     * Garante que a receita do produto (no estado em memória) não depende, direta ou indiretamente,
+     * do próprio produto.
+     *
+     * @throws IllegalArgumentException se a receita formar um ciclo
+     */
+    public void validateNoCycle(Product product) {
+        if (product.getId() == null || product.getProductRecipe().isEmpty()) {
+            return;
+        }
+
+        Set<UUID> visited = new HashSet<>();
+        Set<UUID> pending = new HashSet<>(ingredientIdsOf(product));
+        while (!pending.isEmpty()) {
+            if (pending.contains(product.getId())) {
+                throw new IllegalArgumentException("A receita de " + product.getName() +
+                        " não pode usar, direta ou indiretamente, o próprio produto como ingrediente.");
+            }
+            visited.addAll(pending);
+
+            List<Product> level = productRepository.findAllWithRecipesByIdIn(pending);
+            pending = new HashSet<>();
+            for (Product ingredient : level) {
+                for (UUID ingredientId : ingredientIdsOf(ingredient)) {
+                    if (!visited.contains(ingredientId)) {
+                        pending.add(ingredientId);
+                    }
+                }
+            }
+        }
+    }
+
+    private Set<UUID> ingredientIdsOf(Product product) {
+        if (product.getType() == ProductType.RAW_MATERIAL) {
+            return Set.of();
+        }
+        return product.getProductRecipe().map(Recipe::getRawMaterialIds).orElse(Set.of());
+    }
+}
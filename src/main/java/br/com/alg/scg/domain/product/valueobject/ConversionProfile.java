@@ -0,0 +1,103 @@
+package br.com.alg.scg.domain.product.valueobject;
+
+import br.com.alg.scg.domain.common.valueobject.UnitConversions;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Perfil de conversão de um produto: permite converter entre famílias de unidades que a tabela padrão
+ * do {@link br.com.alg.scg.domain.common.valueobject.UnitConverter} não relaciona (ex.: ovos comprados
+ * por kg e usados por unidade, creme de leite comprado por L e usado em g).
+ * Cada fator é opcional; sem ele as conversões que dependem dele continuam indisponíveis.
+ * Gravado na própria linha do produto, chega junto com a entidade, sem consulta extra no custeio.
+ *
+ * @param gramsPerUnit    peso de uma unidade (UNIT), em gramas
+ * @param mlPerGram       volume de um grama, em mililitros (inverso da densidade em g/ml)
+ * @param unitsPerPackage unidades (UNIT) em um pacote (PAC)
+ */
+@Embeddable
+public record ConversionProfile(
+        @Column(name = "grams_per_unit", precision = 12, scale = 4)
+        BigDecimal gramsPerUnit,
+
+        @Column(name = "ml_per_gram", precision = 12, scale = 6)
+        BigDecimal mlPerGram,
+
+        @Column(name = "units_per_package", precision = 12, scale = 3)
+        BigDecimal unitsPerPackage) implements UnitConversions {
+
+    public static final ConversionProfile NONE = new ConversionProfile(null, null, null);
+
+    private static final BigDecimal THOUSAND = BigDecimal.valueOf(1000);
+
+    public ConversionProfile {
+        requirePositive(gramsPerUnit, "Peso por unidade deve ser positivo.");
+        requirePositive(mlPerGram, "Volume por grama deve ser positivo.");
+        requirePositive(unitsPerPackage, "Unidades por pacote deve ser positivo.");
+    }
+
+    public boolean isEmpty() {
+        return gramsPerUnit == null && mlPerGram == null && unitsPerPackage == null;
+    }
+
+    /**
+     * Fator de conversão entre quaisquer duas unidades, passando por unidades (UNIT ↔ PAC)
+     * ou, se não for possível, por gramas; null se faltar algum fator do perfil
+     */
+    @Override
+    public BigDecimal factor(UnitMeasurement fromUnit, UnitMeasurement toUnit) {
+        BigDecimal from = unitsIn(fromUnit);
+        BigDecimal to = unitsIn(toUnit);
+        if (from != null && to != null) {
+            return from.divide(to, MathContext.DECIMAL64);
+        }
+
+        // Em gramas: numerador / denominador, para que o volume (1 / ml por grama) custe uma única divisão
+        BigDecimal fromGrams = gramsNumerator(fromUnit);
+        BigDecimal toGrams = gramsNumerator(toUnit);
+        BigDecimal fromDivisor = gramsDenominator(fromUnit);
+        BigDecimal toDivisor = gramsDenominator(toUnit);
+        if (fromGrams == null || toGrams == null || fromDivisor == null || toDivisor == null) {
+            return null;
+        }
+        return fromGrams.multiply(toDivisor).divide(fromDivisor.multiply(toGrams), MathContext.DECIMAL64);
+    }
+
+    // Quantas unidades (UNIT) há em uma unidade de medida de contagem
+    private BigDecimal unitsIn(UnitMeasurement unit) {
+        return switch (unit) {
+            case UNIT -> BigDecimal.ONE;
+            case PAC -> unitsPerPackage;
+            default -> null;
+        };
+    }
+
+    // Gramas em uma unidade de medida = numerador / denominador
+    private BigDecimal gramsNumerator(UnitMeasurement unit) {
+        return switch (unit) {
+            case GRAMA, MILILITRO -> BigDecimal.ONE;
+            case KILOGRAM, LITRO -> THOUSAND;
+            case UNIT -> gramsPerUnit;
+            case PAC -> gramsPerUnit != null && unitsPerPackage != null
+                    ? gramsPerUnit.multiply(unitsPerPackage)
+                    : null;
+        };
+    }
+
+    private BigDecimal gramsDenominator(UnitMeasurement unit) {
+        return switch (unit) {
+            case MILILITRO, LITRO -> mlPerGram;
+            default -> BigDecimal.ONE;
+        };
+    }
+
+    private static void requirePositive(BigDecimal value, String message) {
+        if (value != null && value.signum() <= 0) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
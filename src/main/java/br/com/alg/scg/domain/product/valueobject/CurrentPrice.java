@@ -0,0 +1,51 @@
+package br.com.alg.scg.domain.product.valueobject;
+
+import br.com.alg.scg.domain.common.valueobject.MinorUnits;
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.common.valueobject.Quantity;
+import br.com.alg.scg.domain.common.valueobject.UnitConversions;
+import br.com.alg.scg.domain.common.valueobject.UnitConverter;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Preço vigente de um produto: o registro mais recente do histórico de preços.
+ * Imutável, pode ser mantido em cache e compartilhado entre threads.
+ */
+public record CurrentPrice(Money value, UnitMeasurement unitMeasurement, LocalDateTime effectiveDate) {
+
+    public CurrentPrice {
+        Objects.requireNonNull(value, "O preço não pode ser nulo.");
+        Objects.requireNonNull(unitMeasurement, "A unidade de medida não pode ser nula.");
+        Objects.requireNonNull(effectiveDate, "A data efetiva não pode ser nula.");
+    }
+
+    /**
+     * Custo de uma quantidade a este preço, convertendo a quantidade para a unidade do preço.
+     * Se as unidades forem incompatíveis, usa a quantidade original (compatibilidade); uma quantidade
+     * que arredonda a zero na unidade do preço custa zero.
+     */
+    public Money costOf(Quantity quantity) {
+        return costOf(quantity, UnitConversions.NONE);
+    }
+
+    /**
+     * Como {@link #costOf(Quantity)}, usando também as conversões do produto (ex.: UNIT → kg pelo peso
+     * de cada unidade) quando a tabela padrão não converte a quantidade para a unidade do preço
+     */
+    public Money costOf(Quantity quantity, UnitConversions productConversions) {
+        return MinorUnits.toMoney(costInCents(quantity, productConversions));
+    }
+
+    /**
+     * Mesmo cálculo de {@link #costOf(Quantity, UnitConversions)}, em centavos (ponto fixo), para os laços de custeio
+     */
+    public long costInCents(Quantity quantity, UnitConversions productConversions) {
+        BigDecimal convertedValue = UnitConverter.tryConvertValue(quantity, unitMeasurement, productConversions)
+                .orElse(quantity.value());
+        return MinorUnits.multiply(MinorUnits.of(value), convertedValue);
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.alg.scg.domain.product.valueobject;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Registro do histórico de preços de um produto (projeção de prices, sem carregar a entidade)
+ */
+public record PricePoint(UUID productId, BigDecimal amount, UnitMeasurement unitMeasurement,
+                         LocalDateTime effectiveDate) {
+
+    public CurrentPrice toPrice() {
+        return new CurrentPrice(new Money(amount), unitMeasurement, effectiveDate);
+    }
+}
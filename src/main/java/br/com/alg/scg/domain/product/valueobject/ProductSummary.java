@@ -0,0 +1,27 @@
+package br.com.alg.scg.domain.product.valueobject;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Visão de leitura de um produto para listagens: apenas as colunas da própria linha de products,
+ * sem receita nem histórico de preços. Preenchida por consulta JPQL com construtor.
+ */
+public record ProductSummary(
+        UUID id,
+        String name,
+        ProductType type,
+        BigDecimal stock,
+        UnitMeasurement stockUnit,
+        BigDecimal currentPriceAmount,
+        UnitMeasurement currentPriceUnit
+) {
+
+    public Optional<Money> currentPrice() {
+        return currentPriceAmount == null ? Optional.empty() : Optional.of(new Money(currentPriceAmount));
+    }
+}
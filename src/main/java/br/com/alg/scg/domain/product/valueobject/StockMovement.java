@@ -0,0 +1,62 @@
+package br.com.alg.scg.domain.product.valueobject;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Movimentação de estoque de um produto, aplicada em lote por {@code ProductService.applyStockMovements}
+ * e registrada no livro-razão de estoque com sua origem (venda, compra, estorno...).
+ * Entradas (compras) podem trazer a unidade e o custo unitário, registrados como novo preço do produto.
+ */
+public record StockMovement(UUID productId, Direction direction, BigDecimal quantity,
+                            UnitMeasurement unitMeasurement, Money unitCost,
+                            StockMovementSource source, UUID sourceId) {
+
+    public enum Direction { IN, OUT }
+
+    public StockMovement {
+        Objects.requireNonNull(productId, "O ID do produto não pode ser nulo.");
+        Objects.requireNonNull(direction, "A direção da movimentação não pode ser nula.");
+        Objects.requireNonNull(source, "A origem da movimentação não pode ser nula.");
+        if (quantity == null || quantity.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser positiva");
+        }
+        if (unitCost != null && unitMeasurement == null) {
+            throw new IllegalArgumentException("O custo unitário exige a unidade de medida.");
+        }
+    }
+
+    /**
+     * Saída de estoque (ex: venda, estorno de compra)
+     */
+    public static StockMovement out(UUID productId, BigDecimal quantity, StockMovementSource source, UUID sourceId) {
+        return new StockMovement(productId, Direction.OUT, quantity, null, null, source, sourceId);
+    }
+
+    /**
+     * Entrada de estoque sem registro de preço (ex: estorno de venda)
+     */
+    public static StockMovement in(UUID productId, BigDecimal quantity, StockMovementSource source, UUID sourceId) {
+        return new StockMovement(productId, Direction.IN, quantity, null, null, source, sourceId);
+    }
+
+    /**
+     * Entrada de estoque por compra: define a unidade do estoque, se ainda não definida,
+     * e registra o custo unitário no histórico de preços
+     */
+    public static StockMovement purchase(UUID productId, BigDecimal quantity, UnitMeasurement unitMeasurement,
+                                         Money unitCost, UUID purchaseId) {
+        return new StockMovement(productId, Direction.IN, quantity,
+                Objects.requireNonNull(unitMeasurement, "A unidade de medida não pode ser nula."),
+                Objects.requireNonNull(unitCost, "O custo unitário não pode ser nulo."),
+                StockMovementSource.PURCHASE, purchaseId);
+    }
+
+    public boolean hasPrice() {
+        return unitCost != null;
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.alg.scg.domain.product.valueobject;
+
+/**
+ * Origem de uma movimentação de estoque registrada no livro-razão (stock_movements)
+ */
+public enum StockMovementSource {
+
+    PURCHASE, SALE, PURCHASE_REVERSAL, SALE_REVERSAL, INITIAL, ADJUSTMENT
+
+}
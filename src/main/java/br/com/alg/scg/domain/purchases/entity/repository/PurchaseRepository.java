@@ -1,12 +1,18 @@
 package br.com.alg.scg.domain.purchases.entity.repository;
 
+import br.com.alg.scg.domain.common.valueobject.DailyTotal;
 import br.com.alg.scg.domain.purchases.entity.Purchase;
 import br.com.alg.scg.domain.purchases.entity.Supplier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -37,4 +43,67 @@ public interface PurchaseRepository extends JpaRepository<Purchase, UUID> {
            "LEFT JOIN FETCH i.product " +
            "ORDER BY p.date DESC")
     List<Purchase> findAllWithRelations();
+    
+    /**
+     * Página de IDs de compras (ordenação e paginação aplicadas pelo Pageable).
+     * Paginar o fetch join diretamente faria o Hibernate paginar em memória,
+     * por isso a página é resolvida primeiro sobre os IDs.
+     */
+    @Query(value = "SELECT p.id FROM Purchase p",
+           countQuery = "SELECT COUNT(p) FROM Purchase p")
+    Page<UUID> findPageIds(Pageable pageable);
+    
+    /**
+     * Página de IDs de compras sem a consulta de contagem (para grids com carregamento sob demanda)
+     */
+    @Query("SELECT p.id FROM Purchase p")
+    List<UUID> findIdList(Pageable pageable);
+    
+    /**
+     * Paginação por cursor (keyset): IDs anteriores ao cursor, do mais recente ao mais antigo.
+     * Os IDs são UUIDv7, portanto ordenados pelo momento de criação.
+     */
+    @Query("SELECT p.id FROM Purchase p WHERE p.id < :cursor ORDER BY p.id DESC")
+    List<UUID> findIdsBefore(@Param("cursor") UUID cursor, Pageable pageable);
+    
+    /**
+     * Primeira página da paginação por cursor: IDs mais recentes
+     */
+    @Query("SELECT p.id FROM Purchase p ORDER BY p.id DESC")
+    List<UUID> findLatestIds(Pageable pageable);
+    
+    /**
+     * Busca compras pelos IDs informados com todas as relações carregadas (fetch join)
+     */
+    @Query("SELECT DISTINCT p FROM Purchase p " +
+           "LEFT JOIN FETCH p.supplier " +
+           "LEFT JOIN FETCH p.items i " +
+           "LEFT JOIN FETCH i.product " +
+           "WHERE p.id IN :ids")
+    List<Purchase> findAllWithRelationsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Soma de total_cost_amount no intervalo [start, endExclusive), em uma única consulta
+     * (varredura por faixa no índice purchases(date, total_cost_amount))
+     */
+    @Query("SELECT COALESCE(SUM(p.totalCost.value), 0) FROM Purchase p " +
+           "WHERE p.date >= :start AND p.date < :endExclusive")
+    BigDecimal sumTotalCostBetween(@Param("start") LocalDateTime start,
+                                   @Param("endExclusive") LocalDateTime endExclusive);
+
+    /**
+     * Quantidade de compras no intervalo [start, endExclusive)
+     */
+    @Query("SELECT COUNT(p) FROM Purchase p WHERE p.date >= :start AND p.date < :endExclusive")
+    long countBetween(@Param("start") LocalDateTime start, @Param("endExclusive") LocalDateTime endExclusive);
+
+    /**
+     * Quantidade e soma das compras por dia no intervalo [start, endExclusive)
+     */
+    @Query("SELECT new br.com.alg.scg.domain.common.valueobject.DailyTotal(" +
+           "CAST(p.date AS LocalDate), COUNT(p), SUM(p.totalCost.value)) FROM Purchase p " +
+           "WHERE p.date >= :start AND p.date < :endExclusive " +
+           "GROUP BY CAST(p.date AS LocalDate) ORDER BY CAST(p.date AS LocalDate)")
+    List<DailyTotal> sumByDayBetween(@Param("start") LocalDateTime start,
+                                     @Param("endExclusive") LocalDateTime endExclusive);
 }
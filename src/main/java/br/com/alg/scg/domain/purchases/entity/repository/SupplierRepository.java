@@ -1,6 +1,7 @@
 package br.com.alg.scg.domain.purchases.entity.repository;
 
 import br.com.alg.scg.domain.purchases.entity.Supplier;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -33,4 +34,15 @@ public interface SupplierRepository extends JpaRepository<Supplier, UUID> {
      * Verifica se existe fornecedor com o nome especificado
      */
     boolean existsByNameIgnoreCase(String name);
+
+    /**
+     * Paginação por cursor (keyset): registros com ID anterior ao cursor, do mais recente ao mais antigo.
+     * Os IDs são UUIDv7, portanto ordenados pelo momento de criação.
+     */
+    List<Supplier> findByIdLessThanOrderByIdDesc(UUID cursor, Pageable pageable);
+
+    /**
+     * Primeira página da paginação por cursor: registros mais recentes
+     */
+    List<Supplier> findAllByOrderByIdDesc(Pageable pageable);
 }
@@ -0,0 +1,24 @@
+package br.com.alg.scg.domain.purchases.event;
+
+import br.com.alg.scg.domain.common.event.AggregateEvent;
+import br.com.alg.scg.domain.common.valueobject.Money;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Compra excluída (valores que ela tinha no momento da exclusão)
+ */
+public record PurchaseDeleted(UUID purchaseId, LocalDateTime date,
+                              Money totalCost) implements AggregateEvent {
+
+    @Override
+    public String aggregateType() {
+        return "PURCHASE";
+    }
+
+    @Override
+    public UUID aggregateId() {
+        return purchaseId;
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.alg.scg.domain.purchases.event;
+
+import br.com.alg.scg.domain.common.event.AggregateEvent;
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.common.valueobject.Quantity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Item removido de uma compra existente
+ */
+public record PurchaseItemRemoved(UUID purchaseId, LocalDateTime date, UUID productId,
+                                  Quantity quantity, Money subtotal) implements AggregateEvent {
+
+    @Override
+    public String aggregateType() {
+        return "PURCHASE";
+    }
+
+    @Override
+    public UUID aggregateId() {
+        return purchaseId;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.alg.scg.domain.sales.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais de vendas de um dia (tabela de resumo pré-agregada).
+ * Mantida por UPSERT incremental em {@code SalesSummaryService}; a entidade é apenas para leitura.
+ */
+@Getter
+@Entity
+@Table(name = "daily_sales_summary")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DailySalesSummary {
+
+    @Id
+    @Column(name = "sale_date")
+    private LocalDate saleDate;
+
+    @Column(name = "sale_count", nullable = false)
+    private int saleCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "items_sold", nullable = false)
+    private long itemsSold;
+}
@@ -49,6 +49,18 @@ public class Sale {
     }
 
     public void addItem(Product product, int quantity) {
+        // Regra de negócio: O preço do item é "congelado" no momento da venda.
+        Money priceAtSaleTime  = product.getCurrentPrice()
+                .orElseThrow(() -> new IllegalStateException("Produto " + product.getName() + " não possui preço para venda."));
+
+        addItem(product, quantity, priceAtSaleTime);
+    }
+
+    /**
+     * Adiciona um item com o preço vigente já resolvido pelo chamador (ex: lido do cache de preços)
+     */
+    public void addItem(Product product, int quantity, Money priceAtSaleTime) {
+        Objects.requireNonNull(priceAtSaleTime, "O preço do item não pode ser nulo.");
         if (quantity <= 0) {
             throw new IllegalArgumentException("A quantidade deve ser maior que zero.");
         }
@@ -57,10 +69,6 @@ public class Sale {
             throw new IllegalArgumentException("Somente produto final pode ser vendido");
         }
 
-        // Regra de negócio: O preço do item é "congelado" no momento da venda.
-        Money priceAtSaleTime  = product.getCurrentPrice()
-                .orElseThrow(() -> new IllegalStateException("Produto " + product.getName() + " não possui preço para venda."));
-
         var novoItem = new SaleItem(this, product, quantity, priceAtSaleTime );
         this.items.add(novoItem);
 
@@ -2,6 +2,7 @@ package br.com.alg.scg.domain.sales.entity.repository;
 
 import br.com.alg.scg.domain.sales.entity.Client;
 import br.com.alg.scg.domain.sales.entity.ClientStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -38,8 +39,29 @@ public interface ClientRepository extends JpaRepository<Client, UUID> {
      */
     List<Client> findByNameContainingIgnoreCase(String name);
     
+    /**
+     * Página de clientes cujo nome contém o fragmento (ignorando case), sem consulta de contagem
+     */
+    List<Client> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    
+    /**
+     * Conta clientes cujo nome contém o fragmento (ignorando case)
+     */
+    long countByNameContainingIgnoreCase(String name);
+    
     /**
      * Verifica se existe cliente com o nome especificado
      */
     boolean existsByNameIgnoreCase(String name);
+
+    /**
+     * Paginação por cursor (keyset): registros com ID anterior ao cursor, do mais recente ao mais antigo.
+     * Os IDs são UUIDv7, portanto ordenados pelo momento de criação.
+     */
+    List<Client> findByIdLessThanOrderByIdDesc(UUID cursor, Pageable pageable);
+
+    /**
+     * Primeira página da paginação por cursor: registros mais recentes
+     */
+    List<Client> findAllByOrderByIdDesc(Pageable pageable);
 }
@@ -0,0 +1,47 @@
+package br.com.alg.scg.domain.sales.entity.repository;
+
+import br.com.alg.scg.domain.sales.entity.DailyProductSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, DailyProductSales.Key> {
+
+    /**
+     * Soma (ou subtrai, com valores negativos) os totais do produto no dia em um único UPSERT atômico.
+     * O ID do produto é passado em bytes (coluna BINARY(16)).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_product_sales (sale_date, product_id, quantity, revenue) " +
+            "VALUES (:saleDate, :productId, :quantity, :revenue) " +
+            "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue)",
+            nativeQuery = true)
+    void addToDay(@Param("saleDate") LocalDate saleDate,
+                  @Param("productId") byte[] productId,
+                  @Param("quantity") long quantity,
+                  @Param("revenue") BigDecimal revenue);
+
+    List<DailyProductSales> findBySaleDateBetween(LocalDate start, LocalDate end);
+
+    @Modifying
+    @Query("DELETE FROM DailyProductSales d WHERE d.saleDate BETWEEN :start AND :end")
+    int deleteRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /**
+     * Reconstrói os dias do intervalo [start, endExclusive) a partir de sales/sale_items
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_product_sales (sale_date, product_id, quantity, revenue) " +
+            "SELECT DATE(s.sale_date), si.product_id, SUM(si.quantity), SUM(si.subtotal) " +
+            "FROM sale_items si JOIN sales s ON s.id = si.sale_id " +
+            "WHERE s.sale_date >= :start AND s.sale_date < :endExclusive " +
+            "GROUP BY DATE(s.sale_date), si.product_id",
+            nativeQuery = true)
+    int rebuildRange(@Param("start") LocalDateTime start, @Param("endExclusive") LocalDateTime endExclusive);
+}
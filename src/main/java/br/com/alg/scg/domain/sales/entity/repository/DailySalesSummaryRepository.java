@@ -0,0 +1,54 @@
+package br.com.alg.scg.domain.sales.entity.repository;
+
+import br.com.alg.scg.domain.sales.entity.DailySalesSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DailySalesSummaryRepository extends JpaRepository<DailySalesSummary, LocalDate> {
+
+    /**
+     * Soma (ou subtrai, com valores negativos) os totais do dia em um único UPSERT atômico
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales_summary (sale_date, sale_count, revenue, items_sold) " +
+            "VALUES (:saleDate, :saleCount, :revenue, :itemsSold) " +
+            "ON DUPLICATE KEY UPDATE sale_count = sale_count + VALUES(sale_count), " +
+            "revenue = revenue + VALUES(revenue), items_sold = items_sold + VALUES(items_sold)",
+            nativeQuery = true)
+    void addToDay(@Param("saleDate") LocalDate saleDate,
+                  @Param("saleCount") int saleCount,
+                  @Param("revenue") BigDecimal revenue,
+                  @Param("itemsSold") long itemsSold);
+
+    List<DailySalesSummary> findBySaleDateBetweenOrderBySaleDate(LocalDate start, LocalDate end);
+
+    @Query("SELECT COALESCE(SUM(d.revenue), 0) FROM DailySalesSummary d WHERE d.saleDate BETWEEN :start AND :end")
+    BigDecimal sumRevenue(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT COALESCE(SUM(d.saleCount), 0) FROM DailySalesSummary d WHERE d.saleDate BETWEEN :start AND :end")
+    long sumSaleCount(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Modifying
+    @Query("DELETE FROM DailySalesSummary d WHERE d.saleDate BETWEEN :start AND :end")
+    int deleteRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /**
+     * Reconstrói os dias do intervalo [start, endExclusive) a partir de sales/sale_items
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales_summary (sale_date, sale_count, revenue, items_sold) " +
+            "SELECT DATE(s.sale_date), COUNT(*), SUM(s.total_value), COALESCE(SUM(i.items), 0) " +
+            "FROM sales s " +
+            "LEFT JOIN (SELECT sale_id, SUM(quantity) AS items FROM sale_items GROUP BY sale_id) i ON i.sale_id = s.id " +
+            "WHERE s.sale_date >= :start AND s.sale_date < :endExclusive " +
+            "GROUP BY DATE(s.sale_date)",
+            nativeQuery = true)
+    int rebuildRange(@Param("start") LocalDateTime start, @Param("endExclusive") LocalDateTime endExclusive);
+}
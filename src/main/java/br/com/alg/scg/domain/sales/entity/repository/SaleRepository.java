@@ -1,11 +1,19 @@
 package br.com.alg.scg.domain.sales.entity.repository;
 
+import br.com.alg.scg.domain.common.valueobject.DailyTotal;
 import br.com.alg.scg.domain.sales.entity.Client;
 import br.com.alg.scg.domain.sales.entity.Sale;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface SaleRepository extends JpaRepository<Sale, UUID> {
@@ -15,11 +23,6 @@ public interface SaleRepository extends JpaRepository<Sale, UUID> {
      */
     List<Sale> findByClient(Client client);
     
-    /**
-     * Busca vendas por período
-     */
-    List<Sale> findBySaleDateBetween(LocalDate startDate, LocalDate endDate);
-    
     /**
      * Busca vendas por data específica
      */
@@ -29,4 +32,97 @@ public interface SaleRepository extends JpaRepository<Sale, UUID> {
      * Busca vendas ordenadas por data (mais recentes primeiro)
      */
     List<Sale> findAllByOrderBySaleDateDesc();
+    
+    /**
+     * Busca todas as vendas com cliente, itens e produtos carregados (fetch join)
+     * Evita uma consulta por venda e por item ao montar listas e DTOs
+     */
+    @Query("SELECT DISTINCT s FROM Sale s " +
+           "LEFT JOIN FETCH s.client " +
+           "LEFT JOIN FETCH s.items i " +
+           "LEFT JOIN FETCH i.product " +
+           "ORDER BY s.saleDate DESC")
+    List<Sale> findAllWithRelations();
+    
+    /**
+     * Busca as vendas de um cliente com itens e produtos carregados (fetch join)
+     */
+    @Query("SELECT DISTINCT s FROM Sale s " +
+           "LEFT JOIN FETCH s.client " +
+           "LEFT JOIN FETCH s.items i " +
+           "LEFT JOIN FETCH i.product " +
+           "WHERE s.client = :client " +
+           "ORDER BY s.saleDate DESC")
+    List<Sale> findByClientWithRelations(@Param("client") Client client);
+    
+    /**
+     * Busca as vendas de um período com cliente, itens e produtos carregados (fetch join)
+     */
+    @Query("SELECT DISTINCT s FROM Sale s " +
+           "LEFT JOIN FETCH s.client " +
+           "LEFT JOIN FETCH s.items i " +
+           "LEFT JOIN FETCH i.product " +
+           "WHERE s.saleDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY s.saleDate DESC")
+    List<Sale> findBySaleDateBetweenWithRelations(@Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Busca uma venda com cliente, itens e produtos carregados (fetch join)
+     */
+    @Query("SELECT s FROM Sale s " +
+           "LEFT JOIN FETCH s.client " +
+           "LEFT JOIN FETCH s.items i " +
+           "LEFT JOIN FETCH i.product " +
+           "WHERE s.id = :id")
+    Optional<Sale> findByIdWithRelations(@Param("id") UUID id);
+    
+    /**
+     * Página de IDs de vendas (ordenação e paginação aplicadas pelo Pageable).
+     * Paginar o fetch join diretamente faria o Hibernate paginar em memória,
+     * por isso a página é resolvida primeiro sobre os IDs.
+     */
+    @Query(value = "SELECT s.id FROM Sale s",
+           countQuery = "SELECT COUNT(s) FROM Sale s")
+    Page<UUID> findPageIds(Pageable pageable);
+    
+    /**
+     * Página de IDs de vendas sem a consulta de contagem (para grids com carregamento sob demanda)
+     */
+    @Query("SELECT s.id FROM Sale s")
+    List<UUID> findIdList(Pageable pageable);
+    
+    /**
+     * Paginação por cursor (keyset): IDs anteriores ao cursor, do mais recente ao mais antigo.
+     * Os IDs são UUIDv7, portanto ordenados pelo momento de criação.
+     */
+    @Query("SELECT s.id FROM Sale s WHERE s.id < :cursor ORDER BY s.id DESC")
+    List<UUID> findIdsBefore(@Param("cursor") UUID cursor, Pageable pageable);
+    
+    /**
+     * Primeira página da paginação por cursor: IDs mais recentes
+     */
+    @Query("SELECT s.id FROM Sale s ORDER BY s.id DESC")
+    List<UUID> findLatestIds(Pageable pageable);
+    
+    /**
+     * Busca vendas pelos IDs informados com todas as relações carregadas (fetch join)
+     */
+    @Query("SELECT DISTINCT s FROM Sale s " +
+           "LEFT JOIN FETCH s.client " +
+           "LEFT JOIN FETCH s.items i " +
+           "LEFT JOIN FETCH i.product " +
+           "WHERE s.id IN :ids")
+    List<Sale> findAllWithRelationsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Quantidade e soma das vendas por dia no intervalo [start, endExclusive)
+     * (varredura por faixa no índice sales(sale_date, total_value))
+     */
+    @Query("SELECT new br.com.alg.scg.domain.common.valueobject.DailyTotal(" +
+           "CAST(s.saleDate AS LocalDate), COUNT(s), SUM(s.totalValue.value)) FROM Sale s " +
+           "WHERE s.saleDate >= :start AND s.saleDate < :endExclusive " +
+           "GROUP BY CAST(s.saleDate AS LocalDate) ORDER BY CAST(s.saleDate AS LocalDate)")
+    List<DailyTotal> sumByDayBetween(@Param("start") LocalDateTime start,
+                                     @Param("endExclusive") LocalDateTime endExclusive);
 }
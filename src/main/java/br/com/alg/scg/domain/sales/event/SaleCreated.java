@@ -0,0 +1,33 @@
+package br.com.alg.scg.domain.sales.event;
+
+import br.com.alg.scg.domain.common.event.AggregateEvent;
+import br.com.alg.scg.domain.common.valueobject.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Venda registrada (com os itens que já tinha no momento da criação)
+ */
+public record SaleCreated(UUID saleId, LocalDateTime saleDate,
+                          Money totalValue, List<SaleLine> items) implements AggregateEvent {
+
+    public SaleCreated {
+        items = List.copyOf(items);
+    }
+
+    public long itemsSold() {
+        return items.stream().mapToLong(SaleLine::quantity).sum();
+    }
+
+    @Override
+    public String aggregateType() {
+        return "SALE";
+    }
+
+    @Override
+    public UUID aggregateId() {
+        return saleId;
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.alg.scg.domain.sales.event;
+
+import br.com.alg.scg.domain.common.event.AggregateEvent;
+import br.com.alg.scg.domain.common.valueobject.Money;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Item removido de uma venda existente
+ */
+public record SaleItemRemoved(UUID saleId, LocalDateTime saleDate, UUID productId,
+                              int quantity, Money subtotal) implements AggregateEvent {
+
+    @Override
+    public String aggregateType() {
+        return "SALE";
+    }
+
+    @Override
+    public UUID aggregateId() {
+        return saleId;
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.alg.scg.domain.sales.event;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+
+import java.util.UUID;
+
+/**
+ * Item de venda como transportado pelos eventos (sem referência à entidade)
+ */
+public record SaleLine(UUID productId, int quantity, Money subtotal) {
+}
@@ -5,6 +5,8 @@ import br.com.alg.scg.domain.sales.entity.Client;
 import br.com.alg.scg.infra.api.dto.DTOMapper;
 import br.com.alg.scg.infra.api.dto.client.ClientDTO;
 import br.com.alg.scg.infra.api.dto.client.CreateClientDTO;
+import br.com.alg.scg.infra.api.dto.common.CursorPageDTO;
+import br.com.alg.scg.infra.api.dto.common.PageDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,7 +15,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -65,20 +71,38 @@ public class ClientController {
     
     @GetMapping
     @Operation(
-        summary = "Listar todos os clientes",
-        description = "Retorna uma lista com todos os clientes cadastrados"
+        summary = "Listar clientes",
+        description = "Retorna uma página de clientes cadastrados (parâmetros page, size e sort). Ordenação aceita: id, name, status, registrationDate"
     )
     @ApiResponse(
         responseCode = "200", 
         description = "Lista de clientes retornada com sucesso",
         content = @Content(schema = @Schema(implementation = ClientDTO.class))
     )
-    public ResponseEntity<List<ClientDTO>> getAllClients() {
-        List<Client> clients = clientService.findAll();
-        List<ClientDTO> clientDTOs = clients.stream()
-                .map(mapper::toDTO)
-                .toList();
-        return ResponseEntity.ok(clientDTOs);
+    public ResponseEntity<PageDTO<ClientDTO>> getAllClients(
+            @ParameterObject
+            @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
+        return ResponseEntity.ok(PageDTO.of(clientService.findAll(pageable), mapper::toDTO));
+    }
+    
+    @GetMapping("/seek")
+    @Operation(
+        summary = "Listar clientes por cursor",
+        description = "Paginação por cursor (keyset) sobre os IDs, do mais recente ao mais antigo. " +
+                      "Mantém o tempo de resposta constante mesmo em páginas profundas"
+    )
+    @ApiResponse(
+        responseCode = "200", 
+        description = "Página de clientes retornada com sucesso",
+        content = @Content(schema = @Schema(implementation = CursorPageDTO.class))
+    )
+    public ResponseEntity<CursorPageDTO<ClientDTO>> getClientsAfterCursor(
+            @Parameter(description = "Cursor retornado pela página anterior (nextCursor); omitir na primeira página")
+            @RequestParam(required = false) UUID after,
+            @Parameter(description = "Tamanho da página (1 a 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        List<Client> clients = clientService.findPageAfter(after, size);
+        return ResponseEntity.ok(CursorPageDTO.of(clients, size, Client::getId, mapper::toDTO));
     }
     
     @GetMapping("/{id}")
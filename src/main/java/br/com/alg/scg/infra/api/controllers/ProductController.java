@@ -1,10 +1,15 @@
 package br.com.alg.scg.infra.api.controllers;
 
 import br.com.alg.scg.application.service.ProductService;
+import br.com.alg.scg.application.service.RecipeCostService;
 import br.com.alg.scg.domain.product.entity.Product;
 import br.com.alg.scg.infra.api.dto.DTOMapper;
+import br.com.alg.scg.infra.api.dto.common.CursorPageDTO;
+import br.com.alg.scg.infra.api.dto.common.PageDTO;
+import br.com.alg.scg.infra.api.dto.product.ConversionProfileDTO;
 import br.com.alg.scg.infra.api.dto.product.CreateProductDTO;
 import br.com.alg.scg.infra.api.dto.product.ProductDTO;
+import br.com.alg.scg.infra.api.dto.product.RecipeCostPointDTO;
 import br.com.alg.scg.infra.api.dto.product.UpdateProductNameDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,7 +19,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,11 +37,13 @@ import java.util.UUID;
 public class ProductController {
     
     private final ProductService productService;
+    private final RecipeCostService recipeCostService;
     private final DTOMapper mapper;
     
     @Autowired
-    public ProductController(ProductService productService, DTOMapper mapper) {
+    public ProductController(ProductService productService, RecipeCostService recipeCostService, DTOMapper mapper) {
         this.productService = productService;
+        this.recipeCostService = recipeCostService;
         this.mapper = mapper;
     }
     
@@ -66,20 +77,38 @@ public class ProductController {
     
     @GetMapping
     @Operation(
-        summary = "Listar todos os produtos",
-        description = "Retorna uma lista com todos os produtos cadastrados"
+        summary = "Listar produtos",
+        description = "Retorna uma página de produtos cadastrados (parâmetros page, size e sort). Ordenação aceita: id, name, type, stock"
     )
     @ApiResponse(
         responseCode = "200", 
         description = "Lista de produtos retornada com sucesso",
         content = @Content(schema = @Schema(implementation = ProductDTO.class))
     )
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        List<Product> products = productService.findAll();
-        List<ProductDTO> productDTOs = products.stream()
-                .map(mapper::toDTO)
-                .toList();
-        return ResponseEntity.ok(productDTOs);
+    public ResponseEntity<PageDTO<ProductDTO>> getAllProducts(
+            @ParameterObject
+            @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
+        return ResponseEntity.ok(PageDTO.of(productService.findSummaries(pageable), mapper::toDTO));
+    }
+    
+    @GetMapping("/seek")
+    @Operation(
+        summary = "Listar produtos por cursor",
+        description = "Paginação por cursor (keyset) sobre os IDs, do mais recente ao mais antigo. " +
+                      "Mantém o tempo de resposta constante mesmo em páginas profundas"
+    )
+    @ApiResponse(
+        responseCode = "200", 
+        description = "Página de produtos retornada com sucesso",
+        content = @Content(schema = @Schema(implementation = CursorPageDTO.class))
+    )
+    public ResponseEntity<CursorPageDTO<ProductDTO>> getProductsAfterCursor(
+            @Parameter(description = "Cursor retornado pela página anterior (nextCursor); omitir na primeira página")
+            @RequestParam(required = false) UUID after,
+            @Parameter(description = "Tamanho da página (1 a 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        List<Product> products = productService.findPageAfter(after, size);
+        return ResponseEntity.ok(CursorPageDTO.of(products, size, Product::getId, mapper::toDTO));
     }
     
     @GetMapping("/{id}")
@@ -102,11 +131,41 @@ public class ProductController {
     public ResponseEntity<ProductDTO> getProductById(
             @Parameter(description = "ID único do produto", required = true, example = "123e4567-e89b-12d3-a456-426614174000")
             @PathVariable UUID id) {
-        return productService.findById(id)
-                .map(product -> ResponseEntity.ok(mapper.toDTO(product)))
+        return productService.findSummaryById(id)
+                .map(summary -> ResponseEntity.ok(mapper.toDTO(summary)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping("/{id}/cost-history")
+    @Operation(
+        summary = "Histórico de custo do produto",
+        description = "Retorna os custos calculados da receita do produto nos últimos meses, em ordem cronológica. Produtos sem receita retornam lista vazia."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Histórico retornado com sucesso"
+        ),
+        @ApiResponse(
+            responseCode = "404", 
+            description = "Produto não encontrado",
+            content = @Content
+        )
+    })
+    public ResponseEntity<List<RecipeCostPointDTO>> getCostHistory(
+            @Parameter(description = "ID único do produto", required = true, example = "123e4567-e89b-12d3-a456-426614174000")
+            @PathVariable UUID id,
+            @Parameter(description = "Quantidade de meses a partir de hoje", example = "12")
+            @RequestParam(defaultValue = "12") int months) {
+        if (!productService.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        List<RecipeCostPointDTO> history = recipeCostService.findCostHistory(id, months).stream()
+                .map(mapper::toDTO)
+                .toList();
+        return ResponseEntity.ok(history);
+    }
+    
     @PatchMapping("/{id}/name")
     @Operation(
         summary = "Atualizar nome do produto",
@@ -144,6 +203,45 @@ public class ProductController {
         return ResponseEntity.ok(mapper.toDTO(updatedProduct));
     }
     
+    @PutMapping("/{id}/conversion-profile")
+    @Operation(
+        summary = "Definir perfil de conversão do produto",
+        description = "Define peso por unidade, volume por grama e unidades por pacote, usados para custear quantidades " +
+                      "em unidades diferentes da unidade do preço (ex.: ovos por unidade com preço por kg). " +
+                      "Campos nulos removem o respectivo fator; as receitas que usam o produto são recusteadas."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Perfil de conversão atualizado com sucesso",
+            content = @Content(schema = @Schema(implementation = ConversionProfileDTO.class))
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Fator de conversão inválido",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404", 
+            description = "Produto não encontrado",
+            content = @Content
+        )
+    })
+    public ResponseEntity<ConversionProfileDTO> updateConversionProfile(
+            @Parameter(description = "ID único do produto", required = true, example = "123e4567-e89b-12d3-a456-426614174000")
+            @PathVariable UUID id,
+            @Parameter(description = "Fatores de conversão do produto", required = true)
+            @Valid @RequestBody ConversionProfileDTO profileDTO) {
+        
+        if (!productService.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        Product updatedProduct = productService.defineConversionProfile(id, mapper.toEntity(profileDTO));
+        
+        return ResponseEntity.ok(mapper.toDTO(updatedProduct.getConversionProfile()));
+    }
+    
     @DeleteMapping("/{id}")
     @Operation(
         summary = "Excluir produto",
@@ -10,6 +10,8 @@ import br.com.alg.scg.domain.product.entity.Product;
 import br.com.alg.scg.domain.purchases.entity.Purchase;
 import br.com.alg.scg.domain.purchases.entity.Supplier;
 import br.com.alg.scg.infra.api.dto.DTOMapper;
+import br.com.alg.scg.infra.api.dto.common.CursorPageDTO;
+import br.com.alg.scg.infra.api.dto.common.PageDTO;
 import br.com.alg.scg.infra.api.dto.purchase.AddPurchaseItemDTO;
 import br.com.alg.scg.infra.api.dto.purchase.CreatePurchaseDTO;
 import br.com.alg.scg.infra.api.dto.purchase.PurchaseDTO;
@@ -22,7 +24,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -88,20 +94,38 @@ public class PurchaseController {
     
     @GetMapping
     @Operation(
-        summary = "Listar todas as compras",
-        description = "Retorna uma lista com todas as compras realizadas"
+        summary = "Listar compras",
+        description = "Retorna uma página de compras realizadas (parâmetros page, size e sort). Ordenação aceita: id, date"
     )
     @ApiResponse(
         responseCode = "200", 
         description = "Lista de compras retornada com sucesso",
         content = @Content(schema = @Schema(implementation = PurchaseDTO.class))
     )
-    public ResponseEntity<List<PurchaseDTO>> getAllPurchases() {
-        List<Purchase> purchases = purchaseService.findAll();
-        List<PurchaseDTO> purchaseDTOs = purchases.stream()
-                .map(mapper::toDTO)
-                .toList();
-        return ResponseEntity.ok(purchaseDTOs);
+    public ResponseEntity<PageDTO<PurchaseDTO>> getAllPurchases(
+            @ParameterObject
+            @PageableDefault(size = 20, sort = "date", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(PageDTO.of(purchaseService.findAll(pageable), mapper::toDTO));
+    }
+    
+    @GetMapping("/seek")
+    @Operation(
+        summary = "Listar compras por cursor",
+        description = "Paginação por cursor (keyset) sobre os IDs, do mais recente ao mais antigo. " +
+                      "Mantém o tempo de resposta constante mesmo em páginas profundas"
+    )
+    @ApiResponse(
+        responseCode = "200", 
+        description = "Página de compras retornada com sucesso",
+        content = @Content(schema = @Schema(implementation = CursorPageDTO.class))
+    )
+    public ResponseEntity<CursorPageDTO<PurchaseDTO>> getPurchasesAfterCursor(
+            @Parameter(description = "Cursor retornado pela página anterior (nextCursor); omitir na primeira página")
+            @RequestParam(required = false) UUID after,
+            @Parameter(description = "Tamanho da página (1 a 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        List<Purchase> purchases = purchaseService.findPageAfter(after, size);
+        return ResponseEntity.ok(CursorPageDTO.of(purchases, size, Purchase::getId, mapper::toDTO));
     }
     
     @GetMapping("/{id}")
@@ -7,6 +7,8 @@ import br.com.alg.scg.domain.product.entity.Product;
 import br.com.alg.scg.domain.sales.entity.Client;
 import br.com.alg.scg.domain.sales.entity.Sale;
 import br.com.alg.scg.infra.api.dto.DTOMapper;
+import br.com.alg.scg.infra.api.dto.common.CursorPageDTO;
+import br.com.alg.scg.infra.api.dto.common.PageDTO;
 import br.com.alg.scg.infra.api.dto.sale.AddSaleItemDTO;
 import br.com.alg.scg.infra.api.dto.sale.CreateSaleDTO;
 import br.com.alg.scg.infra.api.dto.sale.SaleDTO;
@@ -18,7 +20,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -77,20 +83,38 @@ public class SaleController {
     
     @GetMapping
     @Operation(
-        summary = "Listar todas as vendas",
-        description = "Retorna uma lista com todas as vendas realizadas"
+        summary = "Listar vendas",
+        description = "Retorna uma página de vendas realizadas (parâmetros page, size e sort). Ordenação aceita: id, saleDate"
     )
     @ApiResponse(
         responseCode = "200", 
         description = "Lista de vendas retornada com sucesso",
         content = @Content(schema = @Schema(implementation = SaleDTO.class))
     )
-    public ResponseEntity<List<SaleDTO>> getAllSales() {
-        List<Sale> sales = saleService.findAll();
-        List<SaleDTO> saleDTOs = sales.stream()
-                .map(mapper::toDTO)
-                .toList();
-        return ResponseEntity.ok(saleDTOs);
+    public ResponseEntity<PageDTO<SaleDTO>> getAllSales(
+            @ParameterObject
+            @PageableDefault(size = 20, sort = "saleDate", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(PageDTO.of(saleService.findAll(pageable), mapper::toDTO));
+    }
+    
+    @GetMapping("/seek")
+    @Operation(
+        summary = "Listar vendas por cursor",
+        description = "Paginação por cursor (keyset) sobre os IDs, do mais recente ao mais antigo. " +
+                      "Mantém o tempo de resposta constante mesmo em páginas profundas"
+    )
+    @ApiResponse(
+        responseCode = "200", 
+        description = "Página de vendas retornada com sucesso",
+        content = @Content(schema = @Schema(implementation = CursorPageDTO.class))
+    )
+    public ResponseEntity<CursorPageDTO<SaleDTO>> getSalesAfterCursor(
+            @Parameter(description = "Cursor retornado pela página anterior (nextCursor); omitir na primeira página")
+            @RequestParam(required = false) UUID after,
+            @Parameter(description = "Tamanho da página (1 a 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        List<Sale> sales = saleService.findPageAfter(after, size);
+        return ResponseEntity.ok(CursorPageDTO.of(sales, size, Sale::getId, mapper::toDTO));
     }
     
     @GetMapping("/{id}")
@@ -3,6 +3,8 @@ package br.com.alg.scg.infra.api.controllers;
 import br.com.alg.scg.application.service.SupplierService;
 import br.com.alg.scg.domain.purchases.entity.Supplier;
 import br.com.alg.scg.infra.api.dto.DTOMapper;
+import br.com.alg.scg.infra.api.dto.common.CursorPageDTO;
+import br.com.alg.scg.infra.api.dto.common.PageDTO;
 import br.com.alg.scg.infra.api.dto.supplier.CreateSupplierDTO;
 import br.com.alg.scg.infra.api.dto.supplier.SupplierDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,7 +15,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -65,20 +71,38 @@ public class SupplierController {
     
     @GetMapping
     @Operation(
-        summary = "Listar todos os fornecedores",
-        description = "Retorna uma lista com todos os fornecedores cadastrados"
+        summary = "Listar fornecedores",
+        description = "Retorna uma página de fornecedores cadastrados (parâmetros page, size e sort). Ordenação aceita: id, name, document"
     )
     @ApiResponse(
         responseCode = "200", 
         description = "Lista de fornecedores retornada com sucesso",
         content = @Content(schema = @Schema(implementation = SupplierDTO.class))
     )
-    public ResponseEntity<List<SupplierDTO>> getAllSuppliers() {
-        List<Supplier> suppliers = supplierService.findAll();
-        List<SupplierDTO> supplierDTOs = suppliers.stream()
-                .map(mapper::toDTO)
-                .toList();
-        return ResponseEntity.ok(supplierDTOs);
+    public ResponseEntity<PageDTO<SupplierDTO>> getAllSuppliers(
+            @ParameterObject
+            @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
+        return ResponseEntity.ok(PageDTO.of(supplierService.findAll(pageable), mapper::toDTO));
+    }
+    
+    @GetMapping("/seek")
+    @Operation(
+        summary = "Listar fornecedores por cursor",
+        description = "Paginação por cursor (keyset) sobre os IDs, do mais recente ao mais antigo. " +
+                      "Mantém o tempo de resposta constante mesmo em páginas profundas"
+    )
+    @ApiResponse(
+        responseCode = "200", 
+        description = "Página de fornecedores retornada com sucesso",
+        content = @Content(schema = @Schema(implementation = CursorPageDTO.class))
+    )
+    public ResponseEntity<CursorPageDTO<SupplierDTO>> getSuppliersAfterCursor(
+            @Parameter(description = "Cursor retornado pela página anterior (nextCursor); omitir na primeira página")
+            @RequestParam(required = false) UUID after,
+            @Parameter(description = "Tamanho da página (1 a 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        List<Supplier> suppliers = supplierService.findPageAfter(after, size);
+        return ResponseEntity.ok(CursorPageDTO.of(suppliers, size, Supplier::getId, mapper::toDTO));
     }
     
     @GetMapping("/{id}")
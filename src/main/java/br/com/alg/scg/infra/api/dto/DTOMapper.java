@@ -2,7 +2,10 @@ package br.com.alg.scg.infra.api.dto;
 
 import br.com.alg.scg.domain.common.valueobject.Address;
 import br.com.alg.scg.domain.common.valueobject.Contact;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCostPoint;
 import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.valueobject.ConversionProfile;
+import br.com.alg.scg.domain.product.valueobject.ProductSummary;
 import br.com.alg.scg.domain.purchases.entity.Purchase;
 import br.com.alg.scg.domain.purchases.entity.PurchaseItem;
 import br.com.alg.scg.domain.purchases.entity.Supplier;
@@ -12,7 +15,9 @@ import br.com.alg.scg.domain.sales.entity.SaleItem;
 import br.com.alg.scg.infra.api.dto.client.ClientDTO;
 import br.com.alg.scg.infra.api.dto.common.AddressDTO;
 import br.com.alg.scg.infra.api.dto.common.ContactDTO;
+import br.com.alg.scg.infra.api.dto.product.ConversionProfileDTO;
 import br.com.alg.scg.infra.api.dto.product.ProductDTO;
+import br.com.alg.scg.infra.api.dto.product.RecipeCostPointDTO;
 import br.com.alg.scg.infra.api.dto.purchase.PurchaseDTO;
 import br.com.alg.scg.infra.api.dto.purchase.PurchaseItemDTO;
 import br.com.alg.scg.infra.api.dto.sale.SaleDTO;
@@ -37,6 +42,36 @@ public class DTOMapper {
         );
     }
     
+    public ProductDTO toDTO(ProductSummary summary) {
+        return new ProductDTO(
+                summary.id(),
+                summary.name(),
+                summary.type(),
+                summary.stock()
+        );
+    }
+    
+    public ConversionProfileDTO toDTO(ConversionProfile profile) {
+        return new ConversionProfileDTO(
+                profile.gramsPerUnit(),
+                profile.mlPerGram(),
+                profile.unitsPerPackage()
+        );
+    }
+    
+    public ConversionProfile toEntity(ConversionProfileDTO dto) {
+        return new ConversionProfile(dto.gramsPerUnit(), dto.mlPerGram(), dto.unitsPerPackage());
+    }
+    
+    public RecipeCostPointDTO toDTO(RecipeCostPoint point) {
+        return new RecipeCostPointDTO(
+                point.computedAt(),
+                point.totalCost(),
+                point.unitCost(),
+                point.yieldQuantity()
+        );
+    }
+    
     // ==================== CLIENT MAPPINGS ====================
     
     public ClientDTO toDTO(Client client) {
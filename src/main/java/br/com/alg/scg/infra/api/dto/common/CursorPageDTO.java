@@ -0,0 +1,38 @@
+package br.com.alg.scg.infra.api.dto.common;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Página de resultados de uma listagem por cursor (keyset), do registro mais recente para o mais antigo.
+ * O cursor é o ID (UUIDv7, ordenado por tempo) do último registro retornado;
+ * para buscar a próxima página, envie-o no parâmetro "after".
+ */
+public record CursorPageDTO<T>(
+        @JsonProperty("content")
+        List<T> content,
+
+        @JsonProperty("nextCursor")
+        UUID nextCursor,
+
+        @JsonProperty("hasNext")
+        boolean hasNext
+) {
+
+    /**
+     * @param items    registros buscados, ordenados por ID decrescente; um registro além
+     *                 do tamanho de página indica que existe próxima página
+     * @param size     tamanho de página solicitado
+     * @param idGetter extrai o ID (cursor) de cada registro
+     */
+    public static <E, T> CursorPageDTO<T> of(List<E> items, int size, Function<E, UUID> idGetter,
+                                             Function<E, T> mapper) {
+        boolean hasNext = items.size() > size;
+        List<E> page = hasNext ? items.subList(0, size) : items;
+        UUID nextCursor = hasNext ? idGetter.apply(page.get(page.size() - 1)) : null;
+        return new CursorPageDTO<>(page.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.alg.scg.infra.api.dto.common;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados de uma listagem paginada (page/size/sort)
+ */
+public record PageDTO<T>(
+        @JsonProperty("content")
+        List<T> content,
+
+        @JsonProperty("page")
+        int page,
+
+        @JsonProperty("size")
+        int size,
+
+        @JsonProperty("totalElements")
+        long totalElements,
+
+        @JsonProperty("totalPages")
+        int totalPages,
+
+        @JsonProperty("last")
+        boolean last
+) {
+
+    public static <E, T> PageDTO<T> of(Page<E> page, Function<E, T> mapper) {
+        return new PageDTO<>(
+            page.getContent().stream().map(mapper).toList(),
+            page.getNumber(),
+            page.getSize(),
+            page.getTotalElements(),
+            page.getTotalPages(),
+            page.isLast()
+        );
+    }
+}
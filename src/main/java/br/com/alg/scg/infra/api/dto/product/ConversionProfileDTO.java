@@ -0,0 +1,20 @@
+package br.com.alg.scg.infra.api.dto.product;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.DecimalMin;
+
+import java.math.BigDecimal;
+
+public record ConversionProfileDTO(
+        @JsonProperty("grams_per_unit")
+        @DecimalMin(value = "0.0", inclusive = false, message = "Peso por unidade deve ser positivo")
+        BigDecimal gramsPerUnit,
+
+        @JsonProperty("ml_per_gram")
+        @DecimalMin(value = "0.0", inclusive = false, message = "Volume por grama deve ser positivo")
+        BigDecimal mlPerGram,
+
+        @JsonProperty("units_per_package")
+        @DecimalMin(value = "0.0", inclusive = false, message = "Unidades por pacote deve ser positivo")
+        BigDecimal unitsPerPackage
+) {}
@@ -0,0 +1,20 @@
+package br.com.alg.scg.infra.api.dto.product;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record RecipeCostPointDTO(
+        @JsonProperty("computedAt")
+        LocalDateTime computedAt,
+
+        @JsonProperty("totalCost")
+        BigDecimal totalCost,
+
+        @JsonProperty("unitCost")
+        BigDecimal unitCost,
+
+        @JsonProperty("yieldQuantity")
+        BigDecimal yieldQuantity
+) {}
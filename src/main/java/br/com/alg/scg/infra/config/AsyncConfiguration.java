@@ -0,0 +1,89 @@
+package br.com.alg.scg.infra.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor limitado para as reações aos eventos de domínio (caches, métricas),
+ * executadas após o commit fora da thread da requisição.
+ * Com a fila cheia, a própria thread que publicou executa a tarefa (contrapressão em vez de descarte).
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfiguration implements AsyncConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfiguration.class);
+
+    private final int coreSize;
+    private final int maxSize;
+    private final int queueCapacity;
+
+    public AsyncConfiguration(@Value("${scg.events.executor.core-size:2}") int coreSize,
+                              @Value("${scg.events.executor.max-size:4}") int maxSize,
+                              @Value("${scg.events.executor.queue-capacity:500}") int queueCapacity) {
+        this.coreSize = coreSize;
+        this.maxSize = maxSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Executor padrão dos métodos {@code @Async}
+     */
+    @Bean
+    public ThreadPoolTaskExecutor domainEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("domain-event-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Thread única que entrega as métricas do dashboard às telas abertas ({@code ui.access}), para que
+     * a notificação nunca rode na thread de quem gravou a venda ou compra. Cada entrega leva a fotografia
+     * mais recente, então há no máximo uma entrega pendente e a fila não cresce.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardPushExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("dashboard-push-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(16);
+        return executor;
+    }
+
+    /**
+     * Pool do recusteio do catálogo: tarefa limitada por CPU, por padrão uma thread por núcleo
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool recipeCostingPool(@Value("${scg.recipe-cost.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return domainEventExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) ->
+                logger.error("Falha ao processar evento de domínio em {}", method.toGenericString(), ex);
+    }
+}
@@ -1,7 +1,13 @@
 package br.com.alg.scg.infra.config;
 
+import br.com.alg.scg.domain.finance.service.RecipeCostingEngine;
 import br.com.alg.scg.domain.finance.service.SalePriceCalculatorService;
+import br.com.alg.scg.domain.product.repository.PriceRepository;
 import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.service.CurrentPriceCache;
+import br.com.alg.scg.domain.product.service.RecipeDependencyIndex;
+import br.com.alg.scg.domain.product.service.RecipeGraph;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,7 +15,32 @@ import org.springframework.context.annotation.Configuration;
 public class ServiceConfiguration {
 
     @Bean
-    public SalePriceCalculatorService salePriceCalculatorService(ProductRepository productRepository) {
-        return new SalePriceCalculatorService(productRepository);
+    public CurrentPriceCache currentPriceCache(ProductRepository productRepository,
+                                               @Value("${scg.price-cache.max-size:1000}") int maxSize) {
+        return new CurrentPriceCache(productRepository, maxSize);
     }
-}
\ No newline at end of file
+
+    @Bean
+    public SalePriceCalculatorService salePriceCalculatorService(ProductRepository productRepository,
+                                                                 CurrentPriceCache currentPriceCache) {
+        return new SalePriceCalculatorService(productRepository, currentPriceCache);
+    }
+
+    @Bean
+    public RecipeCostingEngine recipeCostingEngine(ProductRepository productRepository,
+                                                   PriceRepository priceRepository,
+                                                   CurrentPriceCache currentPriceCache,
+                                                   RecipeGraph recipeGraph) {
+        return new RecipeCostingEngine(productRepository, priceRepository, currentPriceCache, recipeGraph);
+    }
+
+    @Bean
+    public RecipeGraph recipeGraph(ProductRepository productRepository) {
+        return new RecipeGraph(productRepository);
+    }
+
+    @Bean
+    public RecipeDependencyIndex recipeDependencyIndex(ProductRepository productRepository) {
+        return new RecipeDependencyIndex(productRepository);
+    }
+}
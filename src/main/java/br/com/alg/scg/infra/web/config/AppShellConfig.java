@@ -2,11 +2,14 @@ package br.com.alg.scg.infra.web.config;
 
 import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
 
 /**
  * Configuração global da aplicação Vaadin
  * O tema Lumo é usado por padrão, então não precisa ser especificado
+ * Server push habilitado para atualizar o dashboard em tempo real
  */
+@Push
 @CssImport("./styles/shared-styles.css")
 public class AppShellConfig implements AppShellConfigurator {
     
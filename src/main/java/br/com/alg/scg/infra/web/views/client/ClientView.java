@@ -22,6 +22,7 @@ import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -83,12 +84,12 @@ public class ClientView extends Main {
         grid.addClassName("client-grid");
         grid.setSizeFull();
         
-        grid.addColumn(Client::getName).setHeader("Nome").setSortable(true);
-        grid.addColumn(client -> client.getContact().email()).setHeader("Email").setSortable(true);
+        grid.addColumn(Client::getName).setHeader("Nome").setSortProperty("name");
+        grid.addColumn(client -> client.getContact().email()).setHeader("Email").setSortProperty("contact.email");
         grid.addColumn(client -> client.getContact().phone()).setHeader("Telefone");
         grid.addColumn(new ComponentRenderer<>(this::createStatusBadge)).setHeader("Status");
         grid.addColumn(client -> client.getRegistrationDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")))
-             .setHeader("Cadastro").setSortable(true);
+             .setHeader("Cadastro").setSortProperty("registrationDate");
         
         grid.getColumns().forEach(col -> col.setAutoWidth(true));
         
@@ -194,12 +195,10 @@ public class ClientView extends Main {
     }
 
     private void updateList() {
+        // Carregamento sob demanda; por enquanto, o filtro busca apenas por nome
         String filter = filterText.getValue().trim();
-        if (filter.isEmpty()) {
-            grid.setItems(clientService.findAll());
-        } else {
-            // Por enquanto, buscar apenas por nome
-            grid.setItems(clientService.findByNameContaining(filter));
-        }
+        grid.setItems(
+                query -> clientService.findPage(filter, VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> (int) clientService.count(filter));
     }
 }
\ No newline at end of file
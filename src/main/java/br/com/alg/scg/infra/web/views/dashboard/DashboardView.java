@@ -1,11 +1,12 @@
 package br.com.alg.scg.infra.web.views.dashboard;
 
-import br.com.alg.scg.application.service.ClientService;
-import br.com.alg.scg.application.service.ProductService;
-import br.com.alg.scg.application.service.PurchaseService;
-import br.com.alg.scg.application.service.SaleService;
+import br.com.alg.scg.application.service.DashboardMetrics;
+import br.com.alg.scg.application.service.DashboardMetricsService;
 import br.com.alg.scg.infra.web.layout.MainLayout;
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.H2;
@@ -22,26 +23,38 @@ import com.vaadin.flow.router.RouteAlias;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.format.DateTimeFormatter;
+
 /**
- * Dashboard principal da aplicação (versão melhorada)
+ * Dashboard principal da aplicação.
+ * As métricas vêm dos contadores em memória do {@link DashboardMetricsService} e são empurradas
+ * para a tela (server push) a cada venda ou compra, sem consultas ao banco por tela aberta.
  */
 @PageTitle("Dashboard")
 @Route(value = "dashboard", layout = MainLayout.class)
 @RouteAlias(value = "", layout = MainLayout.class)
 public class DashboardView extends Main {
 
-    private final ProductService productService;
-    private final ClientService clientService;
-    private final SaleService saleService;
-    private final PurchaseService purchaseService;
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("dd/MM");
+    private static final DateTimeFormatter UPDATED_AT_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    private final DashboardMetricsService metricsService;
+
+    private final H2 salesTodayValue = new H2();
+    private final H2 revenue7DaysValue = new H2();
+    private final H2 revenue30DaysValue = new H2();
+    private final H2 purchases30DaysValue = new H2();
+    private final H2 lowStockValue = new H2();
+    private final HorizontalLayout revenueChart = new HorizontalLayout();
+    private final Span updatedAtSpan = new Span();
+
+    private Runnable unsubscribe;
 
     @Autowired
-    public DashboardView(ProductService productService, ClientService clientService,
-                         SaleService saleService, PurchaseService purchaseService) {
-        this.productService = productService;
-        this.clientService = clientService;
-        this.saleService = saleService;
-        this.purchaseService = purchaseService;
+    public DashboardView(DashboardMetricsService metricsService) {
+        this.metricsService = metricsService;
 
         addClassName("dashboard-view");
         // Adiciona padding ao redor de todo o conteúdo do dashboard
@@ -50,6 +63,26 @@ public class DashboardView extends Main {
         // Não há mais necessidade de um cabeçalho H2 separado, o MainLayout já cuida do título da página.
         add(createStatsBoard());
         add(createChartsSection());
+
+        showMetrics(metricsService.current());
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        UI ui = attachEvent.getUI();
+        // Cada nova fotografia é aplicada na sessão da tela e enviada ao navegador via @Push
+        unsubscribe = metricsService.subscribe(metrics -> ui.access(() -> showMetrics(metrics)));
+        showMetrics(metricsService.current());
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        if (unsubscribe != null) {
+            unsubscribe.run();
+            unsubscribe = null;
+        }
+        super.onDetach(detachEvent);
     }
 
     // Em br/com/alg/scg/infra/web/views/dashboard/DashboardView.java
@@ -61,22 +94,22 @@ public class DashboardView extends Main {
         statsLayout.setSpacing(true); // Manter isso é uma boa prática
 
         // Criamos os cards primeiro
-        Component productsCard = createStatCard("Produtos", String.valueOf(productService.count()), VaadinIcon.PACKAGE, "primary");
-        Component clientsCard = createStatCard("Clientes", String.valueOf(clientService.count()), VaadinIcon.USERS, "success");
-        Component salesCard = createStatCard("Vendas", String.valueOf(saleService.count()), VaadinIcon.CART, "contrast");
-        Component purchasesCard = createStatCard("Compras", String.valueOf(purchaseService.count()), VaadinIcon.TRUCK, "error");
+        Component salesCard = createStatCard("Vendas hoje", salesTodayValue, VaadinIcon.CART, "contrast");
+        Component revenue7Card = createStatCard("Faturamento 7 dias", revenue7DaysValue, VaadinIcon.MONEY, "success");
+        Component revenue30Card = createStatCard("Faturamento 30 dias", revenue30DaysValue, VaadinIcon.CHART, "primary");
+        Component purchasesCard = createStatCard("Compras 30 dias", purchases30DaysValue, VaadinIcon.TRUCK, "error");
+        Component lowStockCard = createStatCard("Matérias-primas com estoque baixo", lowStockValue, VaadinIcon.WARNING, "error");
 
         // Adicionamos os cards ao layout
-        statsLayout.add(productsCard, clientsCard, salesCard, purchasesCard);
+        statsLayout.add(salesCard, revenue7Card, revenue30Card, purchasesCard, lowStockCard);
 
-        // **AQUI ESTÁ A CORREÇÃO MÁGICA**
         // Dizemos para cada card crescer igualmente para preencher o espaço.
-        statsLayout.setFlexGrow(1, productsCard, clientsCard, salesCard, purchasesCard);
+        statsLayout.setFlexGrow(1, salesCard, revenue7Card, revenue30Card, purchasesCard, lowStockCard);
 
         return statsLayout;
     }
 
-    private Component createStatCard(String title, String value, VaadinIcon icon, String colorTheme) {
+    private Component createStatCard(String title, H2 valueH2, VaadinIcon icon, String colorTheme) {
         // Usamos um HorizontalLayout para o card, alinhando o ícone à esquerda e o texto à direita
         HorizontalLayout card = new HorizontalLayout();
         card.addClassName("stat-card");
@@ -92,7 +125,6 @@ public class DashboardView extends Main {
         iconWrapper.addClassName("bg-" + colorTheme + "-light"); // Estiliza o fundo do wrapper
 
         // Layout vertical para o número e o título
-        H2 valueH2 = new H2(value);
         valueH2.addClassNames(LumoUtility.FontSize.XXXLARGE, LumoUtility.Margin.NONE);
 
         Span titleSpan = new Span(title);
@@ -110,30 +142,70 @@ public class DashboardView extends Main {
         VerticalLayout chartsSection = new VerticalLayout();
         chartsSection.addClassName("charts-section");
 
-        H3 chartsHeader = new H3("Resumo Rápido");
+        H3 chartsHeader = new H3("Faturamento dos últimos 7 dias");
         chartsHeader.addClassNames(LumoUtility.Margin.Top.XLARGE, LumoUtility.Margin.Bottom.MEDIUM);
 
-        // Placeholder para futuros gráficos com um visual mais elaborado
-        VerticalLayout placeholder = new VerticalLayout();
-        placeholder.addClassNames(
+        revenueChart.addClassNames(
                 LumoUtility.Background.CONTRAST_5,
                 LumoUtility.BorderRadius.LARGE,
-                LumoUtility.Padding.XLARGE,
-                LumoUtility.AlignItems.CENTER,
-                LumoUtility.JustifyContent.CENTER
+                LumoUtility.Padding.XLARGE
         );
-        placeholder.setMinHeight("350px");
+        revenueChart.setWidthFull();
+        revenueChart.setHeight("350px");
+        revenueChart.setAlignItems(FlexComponent.Alignment.END);
 
-        Icon chartIcon = VaadinIcon.CHART_LINE.create();
-        chartIcon.setSize("80px");
-        chartIcon.addClassName(LumoUtility.TextColor.PRIMARY);
+        updatedAtSpan.addClassNames(LumoUtility.FontSize.XSMALL, LumoUtility.TextColor.SECONDARY);
 
-        Span placeholderText = new Span("Gráficos de desempenho de vendas e custos aparecerão aqui.");
-        placeholderText.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.Margin.Top.MEDIUM);
+        chartsSection.add(chartsHeader, revenueChart, updatedAtSpan);
+        return chartsSection;
+    }
 
-        placeholder.add(chartIcon, placeholderText);
+    private void showMetrics(DashboardMetrics metrics) {
+        salesTodayValue.setText(String.valueOf(metrics.salesToday()));
+        revenue7DaysValue.setText(metrics.revenueLast7Days().toString());
+        revenue30DaysValue.setText(metrics.revenueLast30Days().toString());
+        purchases30DaysValue.setText(metrics.purchaseSpendLast30Days().toString());
+        lowStockValue.setText(String.valueOf(metrics.lowStockRawMaterials()));
+        updatedAtSpan.setText("Atualizado em " + metrics.updatedAt().format(UPDATED_AT_FORMATTER));
+        showRevenueChart(metrics);
+    }
 
-        chartsSection.add(chartsHeader, placeholder);
-        return chartsSection;
+    /**
+     * Barras simples (altura proporcional ao maior faturamento do período)
+     */
+    private void showRevenueChart(DashboardMetrics metrics) {
+        revenueChart.removeAll();
+
+        BigDecimal max = metrics.revenueByDay().stream()
+                .map(day -> day.revenue().value())
+                .max(BigDecimal::compareTo)
+                .orElse(BigDecimal.ZERO);
+
+        for (DashboardMetrics.DayRevenue day : metrics.revenueByDay()) {
+            int percent = max.signum() == 0 ? 0
+                    : day.revenue().value().multiply(BigDecimal.valueOf(100)).divide(max, 0, RoundingMode.HALF_UP).intValue();
+
+            Div bar = new Div();
+            bar.addClassNames(LumoUtility.Background.PRIMARY, LumoUtility.BorderRadius.SMALL);
+            bar.setWidthFull();
+            bar.setHeight(Math.max(percent, 1) + "%");
+            bar.getElement().setAttribute("title", day.revenue().toString());
+
+            Span value = new Span(day.revenue().toString());
+            value.addClassNames(LumoUtility.FontSize.XSMALL, LumoUtility.TextColor.SECONDARY);
+
+            Span label = new Span(day.day().format(DAY_FORMATTER));
+            label.addClassNames(LumoUtility.FontSize.SMALL);
+
+            VerticalLayout column = new VerticalLayout(value, bar, label);
+            column.setPadding(false);
+            column.setSpacing(false);
+            column.setHeightFull();
+            column.setJustifyContentMode(FlexComponent.JustifyContentMode.END);
+            column.setAlignItems(FlexComponent.Alignment.CENTER);
+
+            revenueChart.add(column);
+            revenueChart.setFlexGrow(1, column);
+        }
     }
-}
\ No newline at end of file
+}
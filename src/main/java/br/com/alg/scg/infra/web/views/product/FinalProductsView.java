@@ -1,6 +1,8 @@
 package br.com.alg.scg.infra.web.views.product;
 
 import br.com.alg.scg.application.service.ProductService;
+import br.com.alg.scg.application.service.RecipeCostService;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCost;
 import br.com.alg.scg.domain.product.entity.Product;
 import br.com.alg.scg.domain.product.valueobject.ProductType;
 import br.com.alg.scg.infra.web.layout.MainLayout;
@@ -24,6 +26,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Route(value = "/final-products", layout = MainLayout.class)
 @PageTitle("Produtos Finais")
@@ -32,14 +36,19 @@ import java.util.List;
 public class FinalProductsView extends VerticalLayout {
 
     private final ProductService productService;
+    private final RecipeCostService recipeCostService;
     
     private Grid<Product> grid;
     private TextField searchField;
     private ProductForm productForm;
 
+    // Custos gravados (recipe_cost_snapshot) dos produtos exibidos na grade
+    private Map<UUID, RecipeCost> recipeCosts = Map.of();
+
     @Autowired
-    public FinalProductsView(ProductService productService) {
+    public FinalProductsView(ProductService productService, RecipeCostService recipeCostService) {
         this.productService = productService;
+        this.recipeCostService = recipeCostService;
         initializeComponents();
         setupLayout();
         loadData();
@@ -110,18 +119,15 @@ public class FinalProductsView extends VerticalLayout {
     }
 
     private void loadData() {
-        List<Product> finalProducts = productService.findAll().stream()
-                .filter(product -> product.getType() == ProductType.FINAL_PRODUCT)
-                .toList();
+        List<Product> finalProducts = productService.findByType(ProductType.FINAL_PRODUCT);
+        recipeCosts = recipeCostService.findCosts(finalProducts);
         grid.setItems(finalProducts);
     }
 
     private void filterGrid() {
-        String searchTerm = searchField.getValue().toLowerCase();
-        List<Product> filteredProducts = productService.findAll().stream()
-                .filter(product -> product.getType() == ProductType.FINAL_PRODUCT)
-                .filter(product -> product.getName().toLowerCase().contains(searchTerm))
-                .toList();
+        List<Product> filteredProducts = productService.findByTypeAndNameContaining(
+                ProductType.FINAL_PRODUCT, searchField.getValue());
+        recipeCosts = recipeCostService.findCosts(filteredProducts);
         grid.setItems(filteredProducts);
     }
 
@@ -167,20 +173,17 @@ public class FinalProductsView extends VerticalLayout {
     }
 
     private String formatUnitCost(Product product) {
-        try {
-            return product.getProductRecipe()
-                    .map(recipe -> {
-                        try {
-                            return "R$ " + recipe.calcUnitCost(productService.getProductRepository())
-                                    .value().stripTrailingZeros().toPlainString();
-                        } catch (Exception e) {
-                            return "Erro: " + e.getMessage();
-                        }
-                    })
-                    .orElse("Sem receita");
-        } catch (Exception e) {
+        if (product.getProductRecipe().isEmpty()) {
+            return "Sem receita";
+        }
+        RecipeCost cost = recipeCosts.get(product.getId());
+        if (cost == null) {
             return "Erro no cálculo";
         }
+        if (cost.hasError()) {
+            return "Erro: " + cost.errorMessage();
+        }
+        return "R$ " + cost.unitCost().value().stripTrailingZeros().toPlainString();
     }
 
     private String formatCurrentPrice(Product product) {
@@ -1,12 +1,16 @@
 package br.com.alg.scg.infra.web.views.product;
 
 import br.com.alg.scg.application.service.ProductService;
+import br.com.alg.scg.application.service.RecipeCostService;
 import br.com.alg.scg.domain.common.valueobject.Money;
 import br.com.alg.scg.domain.common.valueobject.RecipeIngredient;
-import br.com.alg.scg.domain.finance.service.SalePriceCalculatorService;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
 import br.com.alg.scg.domain.finance.valueobject.ProfitMargin;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCost;
 import br.com.alg.scg.domain.product.entity.Product;
 import br.com.alg.scg.domain.product.entity.Recipe;
+import br.com.alg.scg.domain.product.valueobject.CurrentPrice;
+import br.com.alg.scg.domain.product.valueobject.ProductSummary;
 import br.com.alg.scg.domain.product.valueobject.ProductType;
 import br.com.alg.scg.infra.web.layout.MainLayout;
 import br.com.alg.scg.infra.web.views.components.ComponentUtil;
@@ -36,8 +40,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -48,18 +54,22 @@ import java.util.UUID;
 public class PriceFormationView extends VerticalLayout {
 
     private final ProductService productService;
-    private final SalePriceCalculatorService priceCalculatorService;
+    private final RecipeCostService recipeCostService;
     
     private Grid<Product> productGrid;
     private TextField searchField;
     private Div productDetailsPanel;
     private Product selectedProduct;
 
+    // Produtos finais e seus custos, lidos de recipe_cost_snapshot a cada carga da tela
+    private List<Product> finalProducts = List.of();
+    private Map<UUID, RecipeCost> recipeCosts = Map.of();
+
     @Autowired
     public PriceFormationView(ProductService productService, 
-                              SalePriceCalculatorService priceCalculatorService) {
+                              RecipeCostService recipeCostService) {
         this.productService = productService;
-        this.priceCalculatorService = priceCalculatorService;
+        this.recipeCostService = recipeCostService;
         
         initializeComponents();
         setupLayout();
@@ -177,13 +187,14 @@ public class PriceFormationView extends VerticalLayout {
     }
 
     private void loadData() {
-        List<Product> finalProducts = productService.findAllFinalProductsWithDependencies();
-        productGrid.setItems(finalProducts);
+        finalProducts = productService.findAllFinalProductsWithDependencies();
+        recipeCosts = recipeCostService.findCosts(finalProducts);
+        filterProductGrid();
     }
 
     private void filterProductGrid() {
         String searchTerm = searchField.getValue().toLowerCase();
-        List<Product> filteredProducts = productService.findAllFinalProductsWithDependencies().stream()
+        List<Product> filteredProducts = finalProducts.stream()
                 .filter(product -> product.getName().toLowerCase().contains(searchTerm))
                 .toList();
         productGrid.setItems(filteredProducts);
@@ -325,7 +336,24 @@ public class PriceFormationView extends VerticalLayout {
                             String quantity = ingredient.getQuantity().value().stripTrailingZeros().toPlainString() + 
                                             " " + ingredient.getQuantity().unitMeasurement().getUnit();
                             
-                            if (rawMaterial.getCurrentPrice().isEmpty() || rawMaterial.getCurrentPrice().get().equals(Money.ZERO)) {
+                            if (rawMaterial.getType() != ProductType.RAW_MATERIAL) {
+                                // Intermediário: custo unitário da sua própria receita
+                                RecipeCost intermediateCost = costOf(rawMaterial);
+                                if (intermediateCost.hasError()) {
+                                    return new CostAnalysisDisplay(ingredientName, quantity, "❌ SEM CUSTO", "R$ 0,00");
+                                }
+                                // Mesma regra da receita: intermediário só é custeado em unidades do rendimento
+                                if (!rawMaterial.acceptsIngredientUnit(ingredient.getQuantity().unitMeasurement())) {
+                                    return new CostAnalysisDisplay(ingredientName, quantity, "❌ UNIDADE INVÁLIDA", "R$ 0,00");
+                                }
+                                // Mesmo cálculo do custeio: preço por unidade de rendimento, convertido pelo perfil do produto
+                                CurrentPrice unitPrice = new CurrentPrice(intermediateCost.unitCost(), UnitMeasurement.UNIT,
+                                        LocalDateTime.now());
+                                Money ingredientCost = unitPrice.costOf(ingredient.getQuantity(),
+                                        rawMaterial.getConversionProfile());
+                                return new CostAnalysisDisplay(ingredientName, quantity,
+                                        formatMoney(intermediateCost.unitCost()), formatMoney(ingredientCost));
+                            } else if (rawMaterial.getCurrentPrice().isEmpty() || rawMaterial.getCurrentPrice().get().equals(Money.ZERO)) {
                                 return new CostAnalysisDisplay(ingredientName, quantity, "❌ SEM PREÇO", "R$ 0,00");
                             } else {
                                 String unitCost = formatMoney(rawMaterial.getCurrentPrice().get());
@@ -353,7 +381,7 @@ public class PriceFormationView extends VerticalLayout {
                 
                 // Unit cost
                 if (recipe.getYieldQuantity().compareTo(BigDecimal.ZERO) > 0) {
-                    Money unitCost = productService.calculateRecipeUnitCost(recipe);
+                    Money unitCost = requireCost(product).unitCost();
                     Paragraph unitCostInfo = new Paragraph("📦 Custo por Unidade: " + formatMoney(unitCost));
                     unitCostInfo.getStyle().set("font-weight", "bold");
                     unitCostInfo.getStyle().set("font-size", "1.1em");
@@ -414,7 +442,7 @@ public class PriceFormationView extends VerticalLayout {
                 pricingList.add(new PricingInfoDisplay("📈 Margem de Lucro", marginPercent));
                 
                 // Unit cost
-                Money unitCost = productService.calculateRecipeUnitCost(product.getProductRecipe().get());
+                Money unitCost = requireCost(product).unitCost();
                 pricingList.add(new PricingInfoDisplay("📦 Custo por Unidade", formatMoney(unitCost)));
                 
                 // Sale price
@@ -464,7 +492,7 @@ public class PriceFormationView extends VerticalLayout {
         // Current cost display
         try {
             Money productionCost = calculateProductionCost(product);
-            Money unitCost = productService.calculateRecipeUnitCost(product.getProductRecipe().get());
+            Money unitCost = requireCost(product).unitCost();
             
             Paragraph costInfo = new Paragraph("💰 Custo de Produção: " + formatMoney(productionCost));
             Paragraph unitCostInfo = new Paragraph("📦 Custo por Unidade: " + formatMoney(unitCost));
@@ -550,8 +578,7 @@ public class PriceFormationView extends VerticalLayout {
             BigDecimal marginDecimal = marginPercent.divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
             ProfitMargin tempMargin = new ProfitMargin(marginDecimal);
             
-            Money productionCost = calculateProductionCost(product);
-            Money unitCost = productService.calculateRecipeUnitCost(product.getProductRecipe().get());
+            Money unitCost = requireCost(product).unitCost();
             BigDecimal marginFactor = BigDecimal.ONE.add(marginDecimal);
             Money salePrice = unitCost.multiply(marginFactor);
             Money profit = salePrice.minus(unitCost);
@@ -579,46 +606,31 @@ public class PriceFormationView extends VerticalLayout {
         return recipe.isPresent() && !recipe.get().getRecipes().isEmpty();
     }
 
-    private Money calculateProductionCost(Product product) {
-        try {
-            if (!hasRecipe(product)) {
-                return Money.ZERO;
-            }
-            Recipe recipe = product.getProductRecipe().get();
-            return productService.calculateRecipeTotalCost(recipe);
-        } catch (Exception e) {
-            return Money.ZERO;
+    private RecipeCost costOf(Product product) {
+        RecipeCost cost = recipeCosts.get(product.getId());
+        return cost != null ? cost : RecipeCost.failure("Custo não calculado para " + product.getName());
+    }
+
+    private RecipeCost requireCost(Product product) {
+        RecipeCost cost = costOf(product);
+        if (cost.hasError()) {
+            throw new IllegalStateException(cost.errorMessage());
         }
+        return cost;
+    }
+
+    private Money calculateProductionCost(Product product) {
+        return costOf(product).totalCost();
     }
 
     private Money calculateSalePrice(Product product) {
-        try {
-            if (product.getProfitMargin() == null) {
-                System.err.println("DEBUG: Produto " + product.getName() + " não tem margem de lucro definida");
-                return Money.ZERO;
-            }
-            if (!hasRecipe(product)) {
-                System.err.println("DEBUG: Produto " + product.getName() + " não tem receita");
-                return Money.ZERO;
-            }
-            
-            // Debug detalhado
-            System.err.println("DEBUG: Calculando preço para " + product.getName());
-            System.err.println("DEBUG: Margem de lucro: " + product.getProfitMargin().percent());
-            System.err.println("DEBUG: Rendimento da receita: " + product.getProductRecipe().get().getYieldQuantity());
-            
-            return priceCalculatorService.salePriceCalcule(product);
-        } catch (Exception e) {
-            // Log da exceção para debug
-            System.err.println("Erro ao calcular preço de venda para produto " + product.getName() + ": " + e.getMessage());
-            e.printStackTrace();
-            return Money.ZERO;
-        }
+        RecipeCost cost = costOf(product);
+        return cost.hasSalePrice() ? cost.salePrice() : Money.ZERO;
     }
 
     private String getRawMaterialName(UUID rawMaterialId) {
-        return productService.findById(rawMaterialId)
-                .map(Product::getName)
+        return productService.findSummaryById(rawMaterialId)
+                .map(ProductSummary::name)
                 .orElse("Produto não encontrado");
     }
 
@@ -2,6 +2,7 @@ package br.com.alg.scg.infra.web.views.product;
 
 import br.com.alg.scg.application.service.ProductService;
 import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.valueobject.ProductSummary;
 import br.com.alg.scg.domain.product.valueobject.ProductType;
 import br.com.alg.scg.infra.web.layout.MainLayout;
 import com.vaadin.flow.component.Component;
@@ -36,7 +37,7 @@ import static br.com.alg.scg.infra.web.views.components.ComponentUtil.createConf
 public class ProductView extends Main {
 
     private final ProductService productService;
-    private Grid<Product> grid = new Grid<>(Product.class, false);
+    private Grid<ProductSummary> grid = new Grid<>(ProductSummary.class, false);
     private TextField filterText = new TextField();
     private ProductForm form;
 
@@ -82,12 +83,12 @@ public class ProductView extends Main {
         grid.addClassName("product-grid");
         grid.setSizeFull();
         
-        grid.addColumn(Product::getName).setHeader("Nome").setSortable(true);
-        grid.addColumn(product -> product.getType() == ProductType.RAW_MATERIAL ? "Matéria-Prima" : "Produto Final")
+        grid.addColumn(ProductSummary::name).setHeader("Nome").setSortable(true);
+        grid.addColumn(product -> product.type() == ProductType.RAW_MATERIAL ? "Matéria-Prima" : "Produto Final")
              .setHeader("Tipo").setSortable(true);
-        grid.addColumn(product -> formatStock(product.getStock()))
+        grid.addColumn(product -> formatStock(product.stock()))
              .setHeader("Estoque").setSortable(true);
-        grid.addColumn(product -> product.getCurrentPrice()
+        grid.addColumn(product -> product.currentPrice()
                 .map(price -> "R$ " + price.value())
                 .orElse("Sem preço"))
              .setHeader("Preço Atual");
@@ -97,6 +98,20 @@ public class ProductView extends Main {
         grid.asSingleSelect().addValueChangeListener(event -> editProduct(event.getValue()));
     }
 
+    /**
+     * Carrega o produto completo apenas ao abrir o formulário de edição
+     */
+    private void editProduct(ProductSummary summary) {
+        if (summary == null) {
+            editProduct((Product) null);
+            return;
+        }
+        productService.findById(summary.id()).ifPresentOrElse(this::editProduct, () -> {
+            Notification.show("Produto não encontrado");
+            updateList();
+        });
+    }
+
     private String formatStock(BigDecimal stock) {
         if (stock == null) return "0";
         return stock.stripTrailingZeros().toPlainString();
@@ -177,15 +192,10 @@ public class ProductView extends Main {
     private void addProduct() {
         grid.asSingleSelect().clear();
         // Abrir form para criar novo produto (null = novo produto)
-        editProduct(null);
+        editProduct((Product) null);
     }
 
     private void updateList() {
-        String filter = filterText.getValue().trim();
-        if (filter.isEmpty()) {
-            grid.setItems(productService.findAll());
-        } else {
-            grid.setItems(productService.findByNameContainingIgnoreCase(filter));
-        }
+        grid.setItems(productService.findSummaries(filterText.getValue()));
     }
 }
\ No newline at end of file
@@ -20,11 +20,11 @@ import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.spring.annotation.SpringComponent;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import com.vaadin.flow.spring.annotation.UIScope;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 @Route(value = "/raw-materials", layout = MainLayout.class)
 @PageTitle("Matérias-Primas")
@@ -75,9 +75,9 @@ public class RawMaterialsView extends VerticalLayout {
     }
 
     private void setupGrid() {
-        grid.addColumn(Product::getName).setHeader("Nome").setSortable(true);
-        grid.addColumn(product -> formatStock(product)).setHeader("Estoque").setSortable(true);
-        grid.addColumn(product -> formatCurrentPrice(product)).setHeader("Preço Atual").setSortable(true);
+        grid.addColumn(Product::getName).setHeader("Nome").setSortProperty("name");
+        grid.addColumn(product -> formatStock(product)).setHeader("Estoque").setSortProperty("stock");
+        grid.addColumn(product -> formatCurrentPrice(product)).setHeader("Preço Atual").setSortProperty("currentPriceAmount");
 
         grid.addThemeVariants(GridVariant.LUMO_NO_BORDER, GridVariant.LUMO_ROW_STRIPES);
         
@@ -116,19 +116,16 @@ public class RawMaterialsView extends VerticalLayout {
     }
 
     private void loadData() {
-        List<Product> rawMaterials = productService.findAll().stream()
-                .filter(product -> product.getType() == ProductType.RAW_MATERIAL)
-                .toList();
-        grid.setItems(rawMaterials);
+        filterGrid();
     }
 
     private void filterGrid() {
-        String searchTerm = searchField.getValue().toLowerCase();
-        List<Product> filteredProducts = productService.findAll().stream()
-                .filter(product -> product.getType() == ProductType.RAW_MATERIAL)
-                .filter(product -> product.getName().toLowerCase().contains(searchTerm))
-                .toList();
-        grid.setItems(filteredProducts);
+        // Carregamento sob demanda: apenas a página visível é buscada no banco
+        String searchTerm = searchField.getValue();
+        grid.setItems(
+                query -> productService.findPageByType(ProductType.RAW_MATERIAL, searchTerm,
+                        VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> (int) productService.countByType(ProductType.RAW_MATERIAL, searchTerm));
     }
 
     private void openProductForm(Product product) {
@@ -6,6 +6,7 @@ import br.com.alg.scg.domain.common.valueobject.RecipeIngredient;
 import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
 import br.com.alg.scg.domain.product.entity.Product;
 import br.com.alg.scg.domain.product.entity.Recipe;
+import br.com.alg.scg.domain.product.valueobject.ProductSummary;
 import br.com.alg.scg.domain.product.valueobject.ProductType;
 import br.com.alg.scg.infra.web.layout.MainLayout;
 import br.com.alg.scg.infra.web.views.components.ComponentUtil;
@@ -27,10 +28,13 @@ import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.spring.annotation.SpringComponent;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import com.vaadin.flow.spring.annotation.UIScope;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -74,11 +78,11 @@ public class RecipesView extends VerticalLayout {
     }
 
     private void setupProductGrid() {
-        productGrid.addColumn(Product::getName).setHeader("Produto Final").setSortable(true);
+        productGrid.addColumn(Product::getName).setHeader("Produto Final").setSortProperty("name");
         productGrid.addColumn(product -> product.getProductRecipe().isPresent() ? "✅ Tem receita" : "❌ Sem receita")
-            .setHeader("Status").setSortable(true);
-        productGrid.addColumn(product -> getIngredientCount(product)).setHeader("Ingredientes").setSortable(true);
-        productGrid.addColumn(product -> getYieldQuantity(product)).setHeader("Rendimento").setSortable(true);
+            .setHeader("Status");
+        productGrid.addColumn(product -> getIngredientCount(product)).setHeader("Ingredientes");
+        productGrid.addColumn(product -> getYieldQuantity(product)).setHeader("Rendimento");
 
         productGrid.addThemeVariants(GridVariant.LUMO_NO_BORDER, GridVariant.LUMO_ROW_STRIPES);
         productGrid.setHeight("300px");
@@ -163,19 +167,16 @@ public class RecipesView extends VerticalLayout {
     }
 
     private void loadData() {
-        List<Product> finalProducts = productService.findAll().stream()
-                .filter(product -> product.getType() == ProductType.FINAL_PRODUCT)
-                .toList();
-        productGrid.setItems(finalProducts);
+        filterProductGrid();
     }
 
     private void filterProductGrid() {
-        String searchTerm = searchField.getValue().toLowerCase();
-        List<Product> filteredProducts = productService.findAll().stream()
-                .filter(product -> product.getType() == ProductType.FINAL_PRODUCT)
-                .filter(product -> product.getName().toLowerCase().contains(searchTerm))
-                .toList();
-        productGrid.setItems(filteredProducts);
+        // Carregamento sob demanda: apenas a página visível é buscada no banco
+        String searchTerm = searchField.getValue();
+        productGrid.setItems(
+                query -> productService.findPageByType(ProductType.FINAL_PRODUCT, searchTerm,
+                        VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> (int) productService.countByType(ProductType.FINAL_PRODUCT, searchTerm));
     }
 
     private void loadRecipeIngredients() {
@@ -200,11 +201,13 @@ public class RecipesView extends VerticalLayout {
 
         VerticalLayout layout = new VerticalLayout();
 
-        // Raw material selection
-        ComboBox<Product> rawMaterialCombo = new ComboBox<>("Matéria-Prima");
-        List<Product> rawMaterials = productService.findAll().stream()
-                .filter(product -> product.getType() == ProductType.RAW_MATERIAL)
-                .toList();
+        // Ingredient selection: raw materials and intermediates (other products with a recipe)
+        ComboBox<Product> rawMaterialCombo = new ComboBox<>("Ingrediente");
+        List<Product> rawMaterials = new ArrayList<>(productService.findByType(ProductType.RAW_MATERIAL));
+        productService.findByType(ProductType.FINAL_PRODUCT).stream()
+                .filter(product -> product.getProductRecipe().isPresent())
+                .filter(product -> !product.getId().equals(selectedProduct.getId()))
+                .forEach(rawMaterials::add);
         rawMaterialCombo.setItems(rawMaterials);
         rawMaterialCombo.setItemLabelGenerator(Product::getName);
         rawMaterialCombo.setRequired(true);
@@ -219,6 +222,12 @@ public class RecipesView extends VerticalLayout {
         unitCombo.setItemLabelGenerator(unit -> unit.getUnit());
         unitCombo.setRequired(true);
 
+        // Intermediates are costed per yield unit: only offer units that can be converted to it
+        rawMaterialCombo.addValueChangeListener(e -> {
+            unitCombo.clear();
+            unitCombo.setItems(e.getValue() != null ? costableUnits(e.getValue()) : List.of(UnitMeasurement.values()));
+        });
+
         layout.add(rawMaterialCombo, quantityField, unitCombo);
 
         // Buttons
@@ -267,7 +276,7 @@ public class RecipesView extends VerticalLayout {
                 confirmDialog.addConfirmListener(e -> {
                     try {
                         Quantity ingredientQuantity = new Quantity(quantity, unit);
-                        recipe.updateIngredient(rawMaterial.getId(), ingredientQuantity);
+                        recipe.updateIngredient(rawMaterial, ingredientQuantity);
                         
                         // Set recipe to product if it's new
                         if (selectedProduct.getProductRecipe().isEmpty()) {
@@ -335,9 +344,11 @@ public class RecipesView extends VerticalLayout {
 
         // Unit selection
         ComboBox<UnitMeasurement> unitCombo = new ComboBox<>("Unidade");
-        unitCombo.setItems(UnitMeasurement.values());
+        unitCombo.setItems(costableUnits(rawMaterial));
         unitCombo.setItemLabelGenerator(unit -> unit.getUnit());
-        unitCombo.setValue(ingredient.getQuantity().unitMeasurement());
+        if (rawMaterial.acceptsIngredientUnit(ingredient.getQuantity().unitMeasurement())) {
+            unitCombo.setValue(ingredient.getQuantity().unitMeasurement());
+        }
         unitCombo.setRequired(true);
 
         layout.add(quantityField, unitCombo);
@@ -348,7 +359,7 @@ public class RecipesView extends VerticalLayout {
             if (quantityField.getValue() != null && 
                 unitCombo.getValue() != null) {
                 
-                updateIngredientInRecipe(ingredient.getRawMaterialId(), 
+                updateIngredientInRecipe(rawMaterial, 
                                        quantityField.getValue(), 
                                        unitCombo.getValue());
                 dialog.close();
@@ -367,7 +378,7 @@ public class RecipesView extends VerticalLayout {
         dialog.open();
     }
 
-    private void updateIngredientInRecipe(UUID rawMaterialId, BigDecimal quantity, UnitMeasurement unit) {
+    private void updateIngredientInRecipe(Product rawMaterial, BigDecimal quantity, UnitMeasurement unit) {
         try {
             Recipe recipe = selectedProduct.getProductRecipe().orElse(null);
             if (recipe == null) {
@@ -377,7 +388,7 @@ public class RecipesView extends VerticalLayout {
             
             // Update ingredient
             Quantity newQuantity = new Quantity(quantity, unit);
-            recipe.updateIngredient(rawMaterialId, newQuantity);
+            recipe.updateIngredient(rawMaterial, newQuantity);
             
             // Save product
             productService.save(selectedProduct);
@@ -393,6 +404,12 @@ public class RecipesView extends VerticalLayout {
         }
     }
 
+    private List<UnitMeasurement> costableUnits(Product ingredient) {
+        return Arrays.stream(UnitMeasurement.values())
+                .filter(ingredient::acceptsIngredientUnit)
+                .toList();
+    }
+
     private void removeIngredient(RecipeIngredient ingredient) {
         try {
             Recipe recipe = selectedProduct.getProductRecipe().orElse(null);
@@ -419,8 +436,8 @@ public class RecipesView extends VerticalLayout {
     }
 
     private String getRawMaterialName(UUID rawMaterialId) {
-        return productService.findById(rawMaterialId)
-                .map(Product::getName)
+        return productService.findSummaryById(rawMaterialId)
+                .map(ProductSummary::name)
                 .orElse("Produto não encontrado");
     }
 
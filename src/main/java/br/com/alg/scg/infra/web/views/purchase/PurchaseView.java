@@ -16,6 +16,7 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -61,12 +62,12 @@ public class PurchaseView extends Main {
         grid.addClassName("purchase-grid");
         grid.setSizeFull();
         
-        grid.addColumn(purchase -> purchase.getSupplier().getName()).setHeader("Fornecedor").setSortable(true);
+        grid.addColumn(purchase -> purchase.getSupplier().getName()).setHeader("Fornecedor").setSortProperty("supplier.name");
         grid.addColumn(purchase -> purchase.getDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")))
-             .setHeader("Data/Hora").setSortable(true);
+             .setHeader("Data/Hora").setSortProperty("date");
         grid.addColumn(purchase -> purchase.getItems().size()).setHeader("Qtd Itens");
         grid.addColumn(purchase -> "R$ " + purchase.getTotalCost().value())
-             .setHeader("Total").setSortable(true);
+             .setHeader("Total").setSortProperty("totalCost.value");
         
         // Configurar detalhes expandíveis dos itens
         grid.setItemDetailsRenderer(createItemDetailsRenderer());
@@ -138,6 +139,9 @@ public class PurchaseView extends Main {
     }
 
     private void updateList() {
-        grid.setItems(purchaseService.findAll());
+        // Carregamento sob demanda: apenas a página visível é buscada no banco
+        grid.setItems(
+                query -> purchaseService.findPage(VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> (int) purchaseService.count());
     }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import com.vaadin.flow.component.html.Main;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -55,17 +56,20 @@ public class SaleView extends Main {
         grid.addClassName("sale-grid");
         grid.setSizeFull();
         
-        grid.addColumn(sale -> sale.getClient().getName()).setHeader("Cliente").setSortable(true);
+        grid.addColumn(sale -> sale.getClient().getName()).setHeader("Cliente").setSortProperty("client.name");
         grid.addColumn(sale -> sale.getSaleDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")))
-             .setHeader("Data/Hora").setSortable(true);
+             .setHeader("Data/Hora").setSortProperty("saleDate");
         grid.addColumn(sale -> sale.getItems().size()).setHeader("Qtd Itens");
         grid.addColumn(sale -> "R$ " + sale.getTotalValue().value())
-             .setHeader("Total").setSortable(true);
+             .setHeader("Total").setSortProperty("totalValue.value");
         
         grid.getColumns().forEach(col -> col.setAutoWidth(true));
     }
 
     private void updateList() {
-        grid.setItems(saleService.findAll());
+        // Carregamento sob demanda: apenas a página visível é buscada no banco
+        grid.setItems(
+                query -> saleService.findPage(VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> (int) saleService.count());
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package db.migration;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Snapshot inicial do livro-razão de estoque: o saldo atual de cada produto ainda sem snapshot é a base
+ * (as movimentações anteriores ao livro-razão não foram registradas).
+ * Em Java para que taken_at venha do relógio da aplicação, o mesmo de occurred_at das movimentações e
+ * das consultas de saldo, e não do relógio do banco (NOW()), que pode estar em outro fuso; e para que os
+ * IDs sejam UUIDv7, como os demais da tabela (UUID() do banco gera UUIDv1).
+ */
+public class V202508152201__Seed_Stock_Snapshots extends BaseJavaMigration {
+
+    private static final String PRODUCTS_WITHOUT_SNAPSHOT_SQL =
+            "SELECT p.id, COALESCE(p.stock, 0) FROM products p " +
+            "WHERE NOT EXISTS (SELECT 1 FROM stock_snapshots s WHERE s.product_id = p.id)";
+
+    private static final String LAST_SEQ_SQL = "SELECT COALESCE(MAX(seq), 0) FROM stock_movements";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_snapshots (id, product_id, quantity, taken_at, last_movement_seq) VALUES (?, ?, ?, ?, ?)";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        Timestamp takenAt = Timestamp.valueOf(LocalDateTime.now());
+
+        long lastSeq;
+        try (PreparedStatement query = connection.prepareStatement(LAST_SEQ_SQL);
+             ResultSet rows = query.executeQuery()) {
+            rows.next();
+            lastSeq = rows.getLong(1);
+        }
+
+        try (PreparedStatement query = connection.prepareStatement(PRODUCTS_WITHOUT_SNAPSHOT_SQL);
+             ResultSet products = query.executeQuery();
+             PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            while (products.next()) {
+                insert.setBytes(1, toBytes(UuidCreator.getTimeOrderedEpoch()));
+                insert.setBytes(2, products.getBytes(1));
+                insert.setBigDecimal(3, products.getBigDecimal(2));
+                insert.setTimestamp(4, takenAt);
+                insert.setLong(5, lastSeq);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,23 @@
+-- Adiciona à tabela products o preço vigente desnormalizado (último registro de prices).
+-- Permite ler o preço atual direto da linha do produto, sem carregar o histórico de preços.
+-- As colunas são mantidas pela aplicação a cada novo preço registrado (Product.addPrice).
+
+ALTER TABLE products
+    ADD COLUMN current_price_amount DECIMAL(19, 2) NULL COMMENT 'Valor do preço vigente (último registro de prices).',
+    ADD COLUMN current_price_unit VARCHAR(20) NULL COMMENT 'Unidade de medida do preço vigente (KILOGRAM, GRAMA, UNIT, etc.).',
+    ADD COLUMN current_price_effective_date DATETIME NULL COMMENT 'Data efetiva do preço vigente.';
+
+-- Backfill: copia para cada produto o registro de preço com a maior data efetiva
+UPDATE products p
+    JOIN (
+        SELECT product_id, amount, unit_measurement, effective_date
+        FROM (
+            SELECT product_id, amount, unit_measurement, effective_date,
+                   ROW_NUMBER() OVER (PARTITION BY product_id ORDER BY effective_date DESC, id DESC) AS rn
+            FROM prices
+        ) ranked
+        WHERE rn = 1
+    ) latest ON latest.product_id = p.id
+SET p.current_price_amount = latest.amount,
+    p.current_price_unit = latest.unit_measurement,
+    p.current_price_effective_date = latest.effective_date;
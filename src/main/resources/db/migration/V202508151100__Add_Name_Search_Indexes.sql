@@ -0,0 +1,9 @@
+-- Índices de apoio às buscas por tipo e nome feitas no banco (telas de listagem e caixas de busca).
+-- products(type, name): filtra pelo tipo (matéria-prima / produto final) e já entrega as linhas ordenadas por nome.
+-- clients(name) e suppliers(name): buscas por nome e ordenação das listagens.
+
+CREATE INDEX IDX_product_type_name ON products (type, name) COMMENT 'Busca de produtos por tipo, ordenada por nome.';
+
+CREATE INDEX IDX_client_name ON clients (name) COMMENT 'Busca e ordenação de clientes por nome.';
+
+CREATE INDEX IDX_supplier_name ON suppliers (name) COMMENT 'Busca e ordenação de fornecedores por nome.';
@@ -0,0 +1,35 @@
+-- Livro-razão de estoque (append-only) e snapshots periódicos do saldo por produto.
+-- Cada entrada/saída de estoque gera uma linha em stock_movements; products.stock continua sendo
+-- o saldo corrente (protegido pelo UPDATE condicional contra venda sem estoque).
+-- O saldo em um instante T = último snapshot com taken_at <= T + soma das movimentações em (taken_at, T].
+
+-- Tabela de movimentações de estoque (stock_movements)
+-- product_id referencia products logicamente (sem FK, para não impedir a exclusão de produtos).
+CREATE TABLE stock_movements (
+    id BINARY(16) NOT NULL,
+    product_id BINARY(16) NOT NULL COMMENT 'Produto movimentado.',
+    delta DECIMAL(10, 3) NOT NULL COMMENT 'Variação do estoque: positiva para entradas, negativa para saídas.',
+    unit_measurement VARCHAR(20) NULL COMMENT 'Unidade da movimentação, quando conhecida (compras).',
+    source_type VARCHAR(30) NOT NULL COMMENT 'Origem: PURCHASE, SALE, PURCHASE_REVERSAL, SALE_REVERSAL, INITIAL, ADJUSTMENT.',
+    source_id BINARY(16) NULL COMMENT 'ID da venda/compra de origem, quando houver.',
+    occurred_at DATETIME(6) NOT NULL COMMENT 'Momento da movimentação.',
+    PRIMARY KEY (id),
+    INDEX IDX_stock_movement_product_time (product_id, occurred_at, delta)
+) ENGINE=InnoDB;
+
+-- Tabela de snapshots de estoque (stock_snapshots)
+-- Cada snapshot consolida todas as movimentações do produto até taken_at (inclusive).
+CREATE TABLE stock_snapshots (
+    id BINARY(16) NOT NULL,
+    product_id BINARY(16) NOT NULL COMMENT 'Produto consolidado.',
+    quantity DECIMAL(10, 3) NOT NULL COMMENT 'Saldo de estoque em taken_at.',
+    taken_at DATETIME(6) NOT NULL COMMENT 'Instante até o qual as movimentações foram consolidadas.',
+    PRIMARY KEY (id),
+    UNIQUE KEY UK_stock_snapshot_product_time (product_id, taken_at)
+) ENGINE=InnoDB;
+
+-- Snapshot inicial: o saldo atual de cada produto é a base do livro-razão
+-- (as movimentações anteriores a esta migração não foram registradas)
+INSERT INTO stock_snapshots (id, product_id, quantity, taken_at)
+SELECT UNHEX(REPLACE(UUID(), '-', '')), p.id, COALESCE(p.stock, 0), NOW(6)
+FROM products p;
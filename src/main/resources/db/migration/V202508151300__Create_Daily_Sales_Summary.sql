@@ -0,0 +1,34 @@
+-- Resumo diário de vendas pré-agregado, mantido incrementalmente pela aplicação (SalesSummaryService)
+-- a cada venda criada, alterada ou excluída. Consultas por período leem no máximo uma linha por dia.
+-- Pode ser reconstruído a partir de sales/sale_items (SalesSummaryService.rebuild).
+
+-- Totais do dia (daily_sales_summary)
+CREATE TABLE daily_sales_summary (
+    sale_date DATE NOT NULL COMMENT 'Dia das vendas.',
+    sale_count INT NOT NULL DEFAULT 0 COMMENT 'Quantidade de vendas do dia.',
+    revenue DECIMAL(19, 2) NOT NULL DEFAULT 0 COMMENT 'Faturamento do dia (soma de sales.total_value).',
+    items_sold BIGINT NOT NULL DEFAULT 0 COMMENT 'Unidades vendidas no dia (soma de sale_items.quantity).',
+    PRIMARY KEY (sale_date)
+) ENGINE=InnoDB;
+
+-- Totais do dia por produto (daily_product_sales)
+CREATE TABLE daily_product_sales (
+    sale_date DATE NOT NULL COMMENT 'Dia das vendas.',
+    product_id BINARY(16) NOT NULL COMMENT 'Produto vendido (referência lógica a products).',
+    quantity BIGINT NOT NULL DEFAULT 0 COMMENT 'Unidades vendidas do produto no dia.',
+    revenue DECIMAL(19, 2) NOT NULL DEFAULT 0 COMMENT 'Faturamento do produto no dia (soma de sale_items.subtotal).',
+    PRIMARY KEY (sale_date, product_id)
+) ENGINE=InnoDB;
+
+-- Carga inicial a partir das vendas existentes
+INSERT INTO daily_sales_summary (sale_date, sale_count, revenue, items_sold)
+SELECT DATE(s.sale_date), COUNT(*), SUM(s.total_value), COALESCE(SUM(i.items), 0)
+FROM sales s
+    LEFT JOIN (SELECT sale_id, SUM(quantity) AS items FROM sale_items GROUP BY sale_id) i ON i.sale_id = s.id
+GROUP BY DATE(s.sale_date);
+
+INSERT INTO daily_product_sales (sale_date, product_id, quantity, revenue)
+SELECT DATE(s.sale_date), si.product_id, SUM(si.quantity), SUM(si.subtotal)
+FROM sale_items si
+    JOIN sales s ON s.id = si.sale_id
+GROUP BY DATE(s.sale_date), si.product_id;
@@ -0,0 +1,6 @@
+-- Índices para consultas por período (totais, contagens e agrupamentos por dia).
+-- Incluem a coluna de valor para que SUM/COUNT sejam respondidos só pelo índice (varredura por faixa de datas).
+
+CREATE INDEX IDX_sale_date_total ON sales (sale_date, total_value) COMMENT 'Consultas de vendas por período.';
+
+CREATE INDEX IDX_purchase_date_total ON purchases (date, total_cost_amount) COMMENT 'Consultas de compras por período.';
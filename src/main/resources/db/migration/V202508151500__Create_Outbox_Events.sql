@@ -0,0 +1,19 @@
+-- Outbox transacional: eventos de venda e compra gravados na mesma transação da alteração
+-- e entregues aos handlers por um poller (OutboxService), que trava cada evento com
+-- SELECT ... FOR UPDATE SKIP LOCKED para que vários nós dividam o trabalho.
+-- SKIP LOCKED exige MariaDB 10.6 ou superior.
+
+CREATE TABLE outbox_events (
+    id BINARY(16) NOT NULL COMMENT 'UUIDv7: a ordem dos IDs é a ordem de gravação.',
+    aggregate_type VARCHAR(50) NOT NULL COMMENT 'Tipo do agregado (SALE, PURCHASE).',
+    aggregate_id BINARY(16) NOT NULL COMMENT 'ID do agregado; eventos do mesmo agregado são entregues em ordem.',
+    event_type VARCHAR(200) NOT NULL COMMENT 'Classe do evento.',
+    payload LONGTEXT NOT NULL COMMENT 'Evento serializado em JSON.',
+    created_at DATETIME(6) NOT NULL COMMENT 'Data de gravação do evento.',
+    processed_at DATETIME(6) NULL COMMENT 'Data da entrega; nulo enquanto pendente.',
+    attempts INT NOT NULL DEFAULT 0 COMMENT 'Entregas que falharam.',
+    last_error VARCHAR(1000) NULL COMMENT 'Erro da última entrega com falha.',
+    PRIMARY KEY (id),
+    INDEX IDX_outbox_pending (processed_at, id),
+    INDEX IDX_outbox_aggregate_pending (aggregate_id, processed_at, id)
+) ENGINE=InnoDB;
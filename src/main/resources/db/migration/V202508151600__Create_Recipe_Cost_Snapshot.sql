@@ -0,0 +1,29 @@
+-- Índice reverso matéria-prima → receita: quais receitas usam uma matéria-prima
+-- (carregado em memória pela aplicação e usado para recustear só as receitas afetadas)
+CREATE INDEX IDX_recipe_ingredient_raw_material ON recipe_ingredients (raw_material_id, recipe_id);
+
+-- Último custo calculado de cada receita (RecipeCostService), recalculado somente quando
+-- muda o preço de uma das suas matérias-primas ou a própria receita
+CREATE TABLE recipe_cost_snapshot (
+    recipe_id BINARY(16) NOT NULL COMMENT 'Receita custeada.',
+    product_id BINARY(16) NOT NULL COMMENT 'Produto final dono da receita.',
+    total_cost DECIMAL(19, 2) NOT NULL COMMENT 'Custo total da receita.',
+    unit_cost DECIMAL(19, 2) NOT NULL COMMENT 'Custo por unidade produzida (custo total ÷ rendimento).',
+    yield_quantity DECIMAL(10, 3) NOT NULL COMMENT 'Rendimento da receita no momento do cálculo.',
+    total_cost_delta DECIMAL(19, 2) NOT NULL DEFAULT 0 COMMENT 'Variação do custo total em relação ao cálculo anterior.',
+    error_message VARCHAR(500) NULL COMMENT 'Motivo quando a receita não pôde ser custeada (custos zerados).',
+    computed_at DATETIME(6) NOT NULL COMMENT 'Data do cálculo.',
+    PRIMARY KEY (recipe_id),
+    UNIQUE INDEX UK_recipe_cost_snapshot_product (product_id),
+    CONSTRAINT FK_recipe_cost_snapshot_recipe FOREIGN KEY (recipe_id) REFERENCES recipes (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+-- Custo de cada ingrediente no último cálculo da receita
+CREATE TABLE recipe_cost_snapshot_ingredients (
+    recipe_id BINARY(16) NOT NULL COMMENT 'Receita custeada (recipe_cost_snapshot).',
+    raw_material_id BINARY(16) NOT NULL COMMENT 'Matéria-prima do ingrediente.',
+    cost DECIMAL(19, 2) NOT NULL COMMENT 'Custo da quantidade do ingrediente usada na receita.',
+    cost_delta DECIMAL(19, 2) NOT NULL DEFAULT 0 COMMENT 'Variação do custo do ingrediente em relação ao cálculo anterior.',
+    INDEX IDX_recipe_cost_snapshot_ingredients_recipe (recipe_id),
+    CONSTRAINT FK_recipe_cost_snapshot_ingredients FOREIGN KEY (recipe_id) REFERENCES recipe_cost_snapshot (recipe_id) ON DELETE CASCADE
+) ENGINE=InnoDB;
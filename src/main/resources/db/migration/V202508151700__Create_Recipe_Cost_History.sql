@@ -0,0 +1,25 @@
+-- Histórico de custos das receitas: cada recálculo de recipe_cost_snapshot é acrescentado aqui
+-- (somente INSERT). Séries por produto ("custo nos últimos N meses") são leituras por faixa
+-- no índice (recipe_id, computed_at), sem reprocessar o histórico de preços dos ingredientes.
+-- O histórico começa a partir desta versão; custeios anteriores não eram gravados.
+CREATE TABLE recipe_cost_history (
+    id BINARY(16) NOT NULL COMMENT 'UUIDv7 do registro.',
+    recipe_id BINARY(16) NOT NULL COMMENT 'Receita custeada (referência lógica a recipes; o histórico sobrevive à receita).',
+    product_id BINARY(16) NOT NULL COMMENT 'Produto final dono da receita.',
+    total_cost DECIMAL(19, 2) NOT NULL COMMENT 'Custo total da receita.',
+    unit_cost DECIMAL(19, 2) NOT NULL COMMENT 'Custo por unidade produzida.',
+    yield_quantity DECIMAL(10, 3) NOT NULL COMMENT 'Rendimento da receita no momento do cálculo.',
+    computed_at DATETIME(6) NOT NULL COMMENT 'Data do cálculo.',
+    PRIMARY KEY (id),
+    INDEX IDX_recipe_cost_history_recipe_date (recipe_id, computed_at)
+) ENGINE=InnoDB;
+
+-- Custo de cada ingrediente em cada cálculo
+CREATE TABLE recipe_cost_history_ingredients (
+    history_id BINARY(16) NOT NULL COMMENT 'Registro do histórico (recipe_cost_history).',
+    raw_material_id BINARY(16) NOT NULL COMMENT 'Matéria-prima do ingrediente.',
+    cost DECIMAL(19, 2) NOT NULL COMMENT 'Custo da quantidade do ingrediente usada na receita.',
+    cost_delta DECIMAL(19, 2) NOT NULL DEFAULT 0 COMMENT 'Variação do custo do ingrediente em relação ao cálculo anterior.',
+    INDEX IDX_recipe_cost_history_ingredients_history (history_id),
+    CONSTRAINT FK_recipe_cost_history_ingredients FOREIGN KEY (history_id) REFERENCES recipe_cost_history (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
@@ -0,0 +1,6 @@
+-- Índice de cobertura para o custeio em data passada: preço em vigor de cada matéria-prima em uma data
+-- (maior effective_date <= data) e histórico de preços até uma data, por faixa de product_id/effective_date.
+-- Inclui valor e unidade para que as consultas sejam respondidas só pelo índice, sem ler a tabela.
+
+CREATE INDEX IDX_price_product_effective ON prices (product_id, effective_date, amount, unit_measurement)
+    COMMENT 'Preço em vigor de um produto em uma data (custeio histórico).';
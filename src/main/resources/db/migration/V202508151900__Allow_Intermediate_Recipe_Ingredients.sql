@@ -0,0 +1,5 @@
+-- Receitas em vários níveis: um ingrediente pode ser uma matéria-prima ou um produto intermediário
+-- (produto com receita própria, ex: massa, recheio). Nenhuma mudança de estrutura; apenas a documentação da coluna.
+
+ALTER TABLE recipe_ingredients MODIFY COLUMN raw_material_id BINARY(16) NOT NULL
+    COMMENT 'FK para o ingrediente (um produto): matéria-prima ou produto intermediário com receita própria.';
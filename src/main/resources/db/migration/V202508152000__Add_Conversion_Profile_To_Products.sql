@@ -0,0 +1,8 @@
+-- Perfil de conversão de unidades por produto: permite custear quantidades de uma família de unidades
+-- (unidade, pacote, volume) contra preços em outra (ex.: ovos usados por unidade e comprados por kg).
+-- Colunas opcionais, lidas junto com a linha do produto (Product.conversionProfile).
+
+ALTER TABLE products
+    ADD COLUMN grams_per_unit DECIMAL(12, 4) NULL COMMENT 'Peso de uma unidade (UNIT) do produto, em gramas.',
+    ADD COLUMN ml_per_gram DECIMAL(12, 6) NULL COMMENT 'Volume de um grama do produto, em mililitros (inverso da densidade).',
+    ADD COLUMN units_per_package DECIMAL(12, 3) NULL COMMENT 'Quantidade de unidades (UNIT) em um pacote (PAC).';
@@ -0,0 +1,5 @@
+-- Versão do custo gravado (RecipeCostSnapshot.version): os recusteios assíncronos de uma mesma receita
+-- podem ser confirmados fora de ordem; com a versão, o mais antigo falha e é refeito sobre os dados atuais.
+
+ALTER TABLE recipe_cost_snapshot
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0 COMMENT 'Versão para controle de concorrência otimista.';
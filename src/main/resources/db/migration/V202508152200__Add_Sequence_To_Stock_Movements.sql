@@ -0,0 +1,16 @@
+-- Sequência das movimentações de estoque, atribuída pelo banco na inserção. As movimentações são inseridas
+-- imediatamente antes do commit (StockLedgerService), então a sequência acompanha a ordem de confirmação;
+-- cada snapshot guarda a última sequência consolidada, e as janelas de consolidação passam a ser
+-- intervalos de sequência em vez de intervalos de occurred_at (que perdiam transações confirmadas com atraso).
+
+ALTER TABLE stock_movements
+    ADD COLUMN seq BIGINT NOT NULL AUTO_INCREMENT COMMENT 'Ordem de registro da movimentação (consolidação em snapshots).',
+    ADD UNIQUE INDEX UK_stock_movement_seq (seq),
+    ADD INDEX IDX_stock_movement_product_seq (product_id, seq, occurred_at, delta);
+
+ALTER TABLE stock_snapshots
+    ADD COLUMN last_movement_seq BIGINT NOT NULL DEFAULT 0 COMMENT 'Última movimentação (seq) consolidada no snapshot.';
+
+-- Snapshots já consolidados cobriam todas as movimentações até taken_at
+UPDATE stock_snapshots s
+SET s.last_movement_seq = COALESCE((SELECT MAX(m.seq) FROM stock_movements m WHERE m.occurred_at <= s.taken_at), 0);
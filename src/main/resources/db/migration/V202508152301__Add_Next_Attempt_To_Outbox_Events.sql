@@ -0,0 +1,5 @@
+-- Espera entre as tentativas de um evento com falha: o poller só o seleciona de novo a partir de
+-- next_attempt_at, em vez de repeti-lo imediatamente a cada varredura.
+
+ALTER TABLE outbox_events
+    ADD COLUMN next_attempt_at DATETIME(6) NULL COMMENT 'Próxima tentativa após uma falha; nulo se não houver espera.' AFTER last_error;
@@ -0,0 +1,187 @@
+package br.com.alg.scg.application.service;
+
+import br.com.alg.scg.domain.common.entity.OutboxEvent;
+import br.com.alg.scg.domain.common.event.AggregateEvent;
+import br.com.alg.scg.domain.common.event.OutboxDelivery;
+import br.com.alg.scg.domain.common.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxServiceTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(5);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<UUID, OutboxEvent> events = new HashMap<>();
+    private final List<TestEvent> delivered = new ArrayList<>();
+    private final Set<TestEvent> failing = new HashSet<>();
+
+    private OutboxEventRepository outboxRepository;
+    private OutboxService outboxService;
+
+    private final UUID aggregateA = UUID.randomUUID();
+    private final UUID aggregateB = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(OutboxEventRepository.class);
+        when(outboxRepository.claimPending(any())).thenAnswer(invocation ->
+                Optional.ofNullable(events.get(toUuid(invocation.getArgument(0))))
+                        .filter(event -> !event.isProcessed()));
+        when(outboxRepository.findById(any())).thenAnswer(invocation ->
+                Optional.ofNullable(events.get(invocation.<UUID>getArgument(0))));
+
+        // Handler: falha para os eventos marcados, registra a ordem de entrega dos demais
+        outboxService = new OutboxService(outboxRepository, published -> {
+            TestEvent event = (TestEvent) ((OutboxDelivery<?>) published).event();
+            if (failing.contains(event)) {
+                throw new IllegalStateException("Falha no handler do evento " + event.sequence());
+            }
+            delivered.add(event);
+        }, objectMapper, mock(PlatformTransactionManager.class),
+                true, 100, MAX_ATTEMPTS, RETRY_BACKOFF, Duration.ofMinutes(10), Duration.ofDays(7));
+    }
+
+    // ==================== ORDERING TESTS ====================
+
+    @Test
+    void drain_severalEventsPerAggregate_shouldDeliverInOrderOfEachAggregate() {
+        OutboxEvent a1 = store(new TestEvent(aggregateA, 1));
+        OutboxEvent a2 = store(new TestEvent(aggregateA, 2));
+        OutboxEvent b1 = store(new TestEvent(aggregateB, 1));
+        // Lotes como a consulta os devolve: o pendente mais antigo de cada agregado
+        when(outboxRepository.findNextPendingIds(anyInt(), any(), anyInt()))
+                .thenReturn(List.of(toBytes(a1), toBytes(b1)), List.of(toBytes(a2)), List.of());
+
+        outboxService.drain();
+
+        assertEquals(List.of(new TestEvent(aggregateA, 1), new TestEvent(aggregateB, 1), new TestEvent(aggregateA, 2)),
+                delivered);
+        assertTrue(a1.isProcessed());
+        assertTrue(a2.isProcessed());
+        assertTrue(b1.isProcessed());
+    }
+
+    // ==================== RETRY TESTS ====================
+
+    @Test
+    void drain_handlerFails_shouldScheduleRetryInsteadOfRetryingImmediately() {
+        TestEvent event = new TestEvent(aggregateA, 1);
+        OutboxEvent stored = store(event);
+        failing.add(event);
+        when(outboxRepository.findNextPendingIds(anyInt(), any(), anyInt()))
+                .thenReturn(List.of(toBytes(stored)), List.of(toBytes(stored)), List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        outboxService.drain();
+
+        // Nenhum evento entregue: o laço termina sem selecionar o evento de novo
+        verify(outboxRepository, times(1)).findNextPendingIds(anyInt(), any(), anyInt());
+        assertFalse(stored.isProcessed());
+        assertEquals(1, stored.getAttempts());
+        assertTrue(stored.getLastError().contains("Falha no handler do evento 1"));
+        assertFalse(stored.getNextAttemptAt().isBefore(before.plus(RETRY_BACKOFF)));
+    }
+
+    @Test
+    void drain_repeatedFailures_shouldDoubleBackoff() {
+        TestEvent event = new TestEvent(aggregateA, 1);
+        OutboxEvent stored = store(event);
+        stored.registerFailure("falha anterior", LocalDateTime.now());
+        failing.add(event);
+        when(outboxRepository.findNextPendingIds(anyInt(), any(), anyInt())).thenReturn(List.of(toBytes(stored)));
+        LocalDateTime before = LocalDateTime.now();
+
+        outboxService.drain();
+
+        assertEquals(2, stored.getAttempts());
+        assertFalse(stored.getNextAttemptAt().isBefore(before.plus(RETRY_BACKOFF.multipliedBy(2))));
+    }
+
+    @Test
+    void drain_lastAttemptFails_shouldMarkEventAsFailed() {
+        TestEvent event = new TestEvent(aggregateA, 1);
+        OutboxEvent stored = store(event);
+        for (int i = 1; i < MAX_ATTEMPTS; i++) {
+            stored.registerFailure("falha anterior", LocalDateTime.now());
+        }
+        failing.add(event);
+        when(outboxRepository.findNextPendingIds(anyInt(), any(), anyInt())).thenReturn(List.of(toBytes(stored)));
+
+        outboxService.drain();
+
+        assertFalse(stored.isProcessed());
+        assertEquals(MAX_ATTEMPTS, stored.getAttempts());
+        assertNull(stored.getNextAttemptAt());
+    }
+
+    @Test
+    void drain_retryAfterFailureSucceeds_shouldMarkProcessed() {
+        TestEvent event = new TestEvent(aggregateA, 1);
+        OutboxEvent stored = store(event);
+        stored.registerFailure("falha anterior", LocalDateTime.now());
+        when(outboxRepository.findNextPendingIds(anyInt(), any(), anyInt()))
+                .thenReturn(List.of(toBytes(stored)), List.of());
+
+        outboxService.drain();
+
+        assertTrue(stored.isProcessed());
+        assertEquals(List.of(event), delivered);
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private OutboxEvent store(TestEvent event) {
+        try {
+            OutboxEvent stored = new OutboxEvent(event.aggregateType(), event.aggregateId(),
+                    TestEvent.class.getName(), objectMapper.writeValueAsString(event));
+            events.put(stored.getId(), stored);
+            return stored;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] toBytes(OutboxEvent event) {
+        return ByteBuffer.allocate(16)
+                .putLong(event.getId().getMostSignificantBits())
+                .putLong(event.getId().getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID toUuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    record TestEvent(UUID aggregateId, int sequence) implements AggregateEvent {
+
+        @Override
+        public String aggregateType() {
+            return "TEST";
+        }
+    }
+}
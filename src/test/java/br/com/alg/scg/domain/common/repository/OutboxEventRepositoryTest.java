@@ -0,0 +1,81 @@
+package br.com.alg.scg.domain.common.repository;
+
+import br.com.alg.scg.domain.common.entity.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class OutboxEventRepositoryTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    private final UUID aggregateA = UUID.randomUUID();
+    private final UUID aggregateB = UUID.randomUUID();
+
+    @Test
+    void findNextPendingIds_severalEventsPerAggregate_shouldReturnOldestPendingOfEach() {
+        OutboxEvent a1 = save(aggregateA);
+        OutboxEvent a2 = save(aggregateA);
+        OutboxEvent b1 = save(aggregateB);
+
+        assertEquals(List.of(a1.getId(), b1.getId()), nextPendingIds(LocalDateTime.now()));
+
+        a1.markProcessed(LocalDateTime.now());
+        outboxRepository.flush();
+
+        assertEquals(List.of(a2.getId(), b1.getId()), nextPendingIds(LocalDateTime.now()));
+    }
+
+    @Test
+    void findNextPendingIds_failedEventWaitingForRetry_shouldHoldBackItsAggregate() {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent a1 = save(aggregateA);
+        save(aggregateA);
+        OutboxEvent b1 = save(aggregateB);
+        a1.registerFailure("falha", now.plusMinutes(1));
+        outboxRepository.flush();
+
+        assertEquals(List.of(b1.getId()), nextPendingIds(now));
+        assertEquals(List.of(a1.getId(), b1.getId()), nextPendingIds(now.plusMinutes(1)));
+    }
+
+    @Test
+    void findNextPendingIds_attemptsExhausted_shouldNotReturnEventNorItsSuccessors() {
+        OutboxEvent a1 = save(aggregateA);
+        save(aggregateA);
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            a1.registerFailure("falha", null);
+        }
+        outboxRepository.flush();
+
+        assertTrue(nextPendingIds(LocalDateTime.now()).isEmpty());
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private OutboxEvent save(UUID aggregateId) {
+        return outboxRepository.saveAndFlush(new OutboxEvent("TEST", aggregateId, "TestEvent", "{}"));
+    }
+
+    private List<UUID> nextPendingIds(LocalDateTime now) {
+        return outboxRepository.findNextPendingIds(MAX_ATTEMPTS, now, 100).stream()
+                .map(bytes -> {
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                    return new UUID(buffer.getLong(), buffer.getLong());
+                })
+                .toList();
+    }
+}
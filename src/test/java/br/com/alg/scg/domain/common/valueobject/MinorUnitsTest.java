@@ -0,0 +1,113 @@
+package br.com.alg.scg.domain.common.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinorUnitsTest {
+
+    private static final long SEED = 20250816L;
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    void multiply_randomValues_shouldMatchMoneyMultiply() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Money money = randomMoney(random);
+            BigDecimal factor = randomFactor(random);
+
+            long cents = MinorUnits.multiply(MinorUnits.of(money), factor);
+
+            assertEquals(0, money.multiply(factor).value().compareTo(MinorUnits.toBigDecimal(cents)),
+                    () -> money + " x " + factor);
+        }
+    }
+
+    @Test
+    void divide_randomValues_shouldMatchBigDecimalHalfUp() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Money money = randomMoney(random);
+            BigDecimal divisor = randomFactor(random).add(new BigDecimal("0.001"));
+
+            long cents = MinorUnits.divide(MinorUnits.of(money), divisor);
+
+            BigDecimal expected = money.value().divide(divisor, 2, RoundingMode.HALF_UP);
+            assertEquals(0, expected.compareTo(MinorUnits.toBigDecimal(cents)), () -> money + " / " + divisor);
+        }
+    }
+
+    @Test
+    void add_randomValues_shouldMatchMoneySum() {
+        Random random = new Random(SEED);
+        Money expected = Money.ZERO;
+        long cents = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            Money money = randomMoney(random);
+            expected = expected.sum(money);
+            cents = MinorUnits.add(cents, MinorUnits.of(money));
+        }
+
+        assertEquals(0, expected.value().compareTo(MinorUnits.toBigDecimal(cents)));
+    }
+
+    @Test
+    void multiply_negativeCents_shouldRoundHalfAwayFromZero() {
+        assertEquals(-1, MinorUnits.multiply(-1, new BigDecimal("0.5")));
+        assertEquals(0, MinorUnits.multiply(-1, new BigDecimal("0.49")));
+        assertEquals(-3, MinorUnits.multiply(-5, new BigDecimal("0.5")));
+    }
+
+    @Test
+    void multiply_overflowingLong_shouldFallBackToBigDecimal() {
+        // O produto intermediário (centavos × 10^6) estoura o long; o resultado cabe
+        long cents = Long.MAX_VALUE / 10;
+        BigDecimal factor = new BigDecimal("0.000001000000");
+
+        long result = MinorUnits.multiply(cents, factor);
+
+        BigDecimal expected = MinorUnits.toBigDecimal(cents).multiply(factor).setScale(2, RoundingMode.HALF_UP);
+        assertEquals(0, expected.compareTo(MinorUnits.toBigDecimal(result)));
+    }
+
+    @Test
+    void divide_overflowingLong_shouldFallBackToBigDecimal() {
+        long cents = Long.MAX_VALUE / 10;
+        BigDecimal divisor = new BigDecimal("1000.000000");
+
+        long result = MinorUnits.divide(cents, divisor);
+
+        BigDecimal expected = MinorUnits.toBigDecimal(cents).divide(divisor, 2, RoundingMode.HALF_UP);
+        assertEquals(0, expected.compareTo(MinorUnits.toBigDecimal(result)));
+    }
+
+    @Test
+    void divide_nonPositiveDivisor_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> MinorUnits.divide(100, BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> MinorUnits.divide(100, new BigDecimal("-1")));
+    }
+
+    @Test
+    void of_valueWithMoreThanTwoDecimals_shouldRoundHalfUp() {
+        assertEquals(1235, MinorUnits.of(new BigDecimal("12.345")));
+        assertEquals(1234, MinorUnits.of(new BigDecimal("12.344999")));
+        assertEquals(1200, MinorUnits.of(new BigDecimal("12")));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private static Money randomMoney(Random random) {
+        return new Money(BigDecimal.valueOf(random.nextLong(10_000_000_000L), 2));
+    }
+
+    /**
+     * Fatores como os de quantidades convertidas: até 6 casas decimais (escala do UnitConverter)
+     */
+    private static BigDecimal randomFactor(Random random) {
+        return BigDecimal.valueOf(random.nextLong(100_000_000L), random.nextInt(7));
+    }
+}
@@ -71,4 +71,60 @@ class UnitConverterTest {
         assertEquals(new BigDecimal("1.500000"), result.value());
         assertEquals(UnitMeasurement.LITRO, result.unitMeasurement());
     }
-}
\ No newline at end of file
+
+    @Test
+    void tryConvert_incompatibleUnits_shouldReturnEmpty() {
+        Quantity units = new Quantity(new BigDecimal("3"), UnitMeasurement.UNIT);
+
+        assertTrue(UnitConverter.tryConvert(units, UnitMeasurement.GRAMA).isEmpty());
+    }
+
+    @Test
+    void tryConvert_sameUnitOutsideWeightAndVolume_shouldReturnOriginal() {
+        Quantity packages = new Quantity(new BigDecimal("2"), UnitMeasurement.PAC);
+
+        assertSame(packages, UnitConverter.tryConvert(packages, UnitMeasurement.PAC).orElseThrow());
+    }
+
+    @Test
+    void tryConvert_productConversions_shouldUseProductFactor() {
+        UnitConversions gramsPerEgg = (from, to) ->
+                from == UnitMeasurement.UNIT && to == UnitMeasurement.GRAMA ? new BigDecimal("50") : null;
+        Quantity eggs = new Quantity(new BigDecimal("3"), UnitMeasurement.UNIT);
+
+        Quantity result = UnitConverter.tryConvert(eggs, UnitMeasurement.GRAMA, gramsPerEgg).orElseThrow();
+
+        assertEquals(0, new BigDecimal("150").compareTo(result.value()));
+        assertEquals(UnitMeasurement.GRAMA, result.unitMeasurement());
+    }
+
+    @Test
+    void tryConvert_resultRoundedToZero_shouldReturnEmpty() {
+        Quantity grams = new Quantity(new BigDecimal("0.0001"), UnitMeasurement.GRAMA);
+
+        assertTrue(UnitConverter.tryConvert(grams, UnitMeasurement.KILOGRAM).isEmpty());
+    }
+
+    @Test
+    void tryConvertValue_resultRoundedToZero_shouldReturnZero() {
+        Quantity grams = new Quantity(new BigDecimal("0.0001"), UnitMeasurement.GRAMA);
+
+        BigDecimal value = UnitConverter.tryConvertValue(grams, UnitMeasurement.KILOGRAM, UnitConversions.NONE)
+                .orElseThrow();
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(value));
+        assertTrue(UnitConverter.tryConvertValue(grams, UnitMeasurement.UNIT, UnitConversions.NONE).isEmpty());
+    }
+
+    @Test
+    void convert_allUnitPairs_shouldMatchAreCompatible() {
+        Quantity one = new Quantity(BigDecimal.ONE, UnitMeasurement.GRAMA);
+        for (UnitMeasurement from : UnitMeasurement.values()) {
+            Quantity quantity = new Quantity(one.value(), from);
+            for (UnitMeasurement to : UnitMeasurement.values()) {
+                assertEquals(UnitConverter.areCompatible(from, to),
+                        UnitConverter.tryConvert(quantity, to).isPresent(), from + " -> " + to);
+            }
+        }
+    }
+}
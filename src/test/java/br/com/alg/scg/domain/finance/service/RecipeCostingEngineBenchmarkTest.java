@@ -0,0 +1,124 @@
+package br.com.alg.scg.domain.finance.service;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.common.valueobject.Quantity;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+import br.com.alg.scg.domain.finance.valueobject.ProfitMargin;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCostBreakdown;
+import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.entity.Recipe;
+import br.com.alg.scg.domain.product.repository.PriceRepository;
+import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.service.CurrentPriceCache;
+import br.com.alg.scg.domain.product.service.RecipeGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Escalabilidade do custeio paralelo do catálogo (sem banco: repositórios simulados em memória).
+ * Opcional, pois mede tempo: mvn test -Dbenchmark=true -Dtest=RecipeCostingEngineBenchmarkTest
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RecipeCostingEngineBenchmarkTest {
+
+    private static final int RAW_MATERIALS = 500;
+    private static final int FINAL_PRODUCTS = 20_000;
+    private static final int INGREDIENTS_PER_RECIPE = 25;
+    private static final int RUNS = 5;
+
+    @Test
+    void breakdownProducts_shouldScaleWithAvailableCores() {
+        Random random = new Random(42);
+        Map<UUID, Product> rawMaterials = new HashMap<>();
+        for (int i = 0; i < RAW_MATERIALS; i++) {
+            Product rawMaterial = Product.createRawMaterial("Matéria-prima " + i, BigDecimal.TEN, UnitMeasurement.KILOGRAM);
+            rawMaterial.addPrice(new Money(BigDecimal.valueOf(1 + random.nextInt(5000), 2)), UnitMeasurement.KILOGRAM);
+            rawMaterials.put(rawMaterial.getId(), rawMaterial);
+        }
+
+        List<Product> rawMaterialList = new ArrayList<>(rawMaterials.values());
+        List<Product> finalProducts = new ArrayList<>(FINAL_PRODUCTS);
+        for (int i = 0; i < FINAL_PRODUCTS; i++) {
+            Recipe recipe = new Recipe(BigDecimal.valueOf(1 + random.nextInt(20)));
+            for (int j = 0; j < INGREDIENTS_PER_RECIPE; j++) {
+                Product rawMaterial = rawMaterialList.get(random.nextInt(RAW_MATERIALS));
+                if (!recipe.hasIngredient(rawMaterial.getId())) {
+                    recipe.addIngredient(rawMaterial,
+                            new Quantity(BigDecimal.valueOf(1 + random.nextInt(900)), UnitMeasurement.GRAMA));
+                }
+            }
+            Product product = Product.createFinalProduct("Produto " + i);
+            product.defineRecipe(recipe);
+            product.defineProfitMargin(new ProfitMargin(BigDecimal.valueOf(30)));
+            finalProducts.add(product);
+        }
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllWithRecipesByIdIn(any())).thenAnswer(invocation ->
+                lookup(rawMaterials, invocation.getArgument(0)));
+        when(productRepository.findAllById(any())).thenAnswer(invocation ->
+                lookup(rawMaterials, invocation.getArgument(0)));
+        RecipeCostingEngine engine = new RecipeCostingEngine(productRepository, mock(PriceRepository.class),
+                new CurrentPriceCache(productRepository, RAW_MATERIALS), new RecipeGraph(productRepository));
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        TreeSet<Integer> threadCounts = new TreeSet<>(List.of(cores));
+        for (int threads = 1; threads < cores; threads *= 2) {
+            threadCounts.add(threads);
+        }
+
+        Map<UUID, RecipeCostBreakdown> baseline = null;
+        double baselineThroughput = 0;
+        System.out.printf("%-8s %-12s %-14s %-8s%n", "threads", "melhor (ms)", "produtos/s", "ganho");
+        for (int threads : threadCounts) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                long best = Long.MAX_VALUE;
+                Map<UUID, RecipeCostBreakdown> result = null;
+                for (int run = 0; run < RUNS; run++) {
+                    long startedAt = System.nanoTime();
+                    result = engine.breakdownProducts(finalProducts, pool, threads * 4);
+                    best = Math.min(best, System.nanoTime() - startedAt);
+                }
+
+                double throughput = FINAL_PRODUCTS * 1_000_000_000d / best;
+                if (baseline == null) {
+                    baseline = result;
+                    baselineThroughput = throughput;
+                } else {
+                    assertEquals(baseline, result, "Custeio paralelo deve ser igual ao sequencial");
+                }
+                System.out.printf("%-8d %-12.1f %-14.0f %.2fx%n", threads, best / 1_000_000d, throughput,
+                        throughput / baselineThroughput);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static List<Product> lookup(Map<UUID, Product> products, Iterable<UUID> ids) {
+        List<Product> found = new ArrayList<>();
+        for (UUID id : ids) {
+            Product product = products.get(id);
+            if (product != null) {
+                found.add(product);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.alg.scg.domain.finance.service;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.common.valueobject.Quantity;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+import br.com.alg.scg.domain.finance.valueobject.RecipeCost;
+import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.entity.Recipe;
+import br.com.alg.scg.domain.product.repository.PriceRepository;
+import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.service.CurrentPriceCache;
+import br.com.alg.scg.domain.product.service.RecipeGraph;
+import br.com.alg.scg.domain.product.valueobject.ConversionProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecipeCostingEngineTest {
+
+    private final Map<UUID, Product> products = new HashMap<>();
+    private RecipeCostingEngine engine;
+
+    private Product flour;
+    private Product sugar;
+    private Product dough;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllWithRecipesByIdIn(any())).thenAnswer(invocation ->
+                lookup(invocation.getArgument(0)));
+        when(productRepository.findAllById(any())).thenAnswer(invocation ->
+                lookup(invocation.getArgument(0)));
+        engine = new RecipeCostingEngine(productRepository, mock(PriceRepository.class),
+                new CurrentPriceCache(productRepository, 100), new RecipeGraph(productRepository));
+
+        flour = register(Product.createRawMaterial("Farinha", BigDecimal.TEN, UnitMeasurement.KILOGRAM));
+        flour.addPrice(new Money(new BigDecimal("5.00")), UnitMeasurement.KILOGRAM);
+        sugar = register(Product.createRawMaterial("Açúcar", BigDecimal.TEN, UnitMeasurement.KILOGRAM));
+        sugar.addPrice(new Money(new BigDecimal("4.00")), UnitMeasurement.KILOGRAM);
+
+        // Massa: 1kg de farinha (R$ 5,00) rende 4 unidades → R$ 1,25 por unidade
+        dough = register(Product.createFinalProduct("Massa"));
+        Recipe doughRecipe = new Recipe(new BigDecimal("4"));
+        doughRecipe.addIngredient(flour, new Quantity(new BigDecimal("1000"), UnitMeasurement.GRAMA));
+        dough.defineRecipe(doughRecipe);
+    }
+
+    @Test
+    void costProducts_twoLevelRecipe_shouldUseIntermediateUnitCost() {
+        // Bolo: 2 un de massa (R$ 2,50) + 200g de açúcar (R$ 0,80), rende 2 → R$ 3,30 / R$ 1,65
+        Product cake = finalProduct("Bolo", new BigDecimal("2"),
+                dough, new Quantity(new BigDecimal("2"), UnitMeasurement.UNIT));
+        cake.getProductRecipe().orElseThrow()
+                .addIngredient(sugar, new Quantity(new BigDecimal("200"), UnitMeasurement.GRAMA));
+
+        RecipeCost cost = engine.costProducts(List.of(cake)).get(cake.getId());
+
+        assertFalse(cost.hasError(), cost.errorMessage());
+        assertEquals(0, new BigDecimal("3.30").compareTo(cost.totalCost().value()));
+        assertEquals(0, new BigDecimal("1.65").compareTo(cost.unitCost().value()));
+    }
+
+    @Test
+    void costProducts_threeLevelRecipe_shouldCostEachIntermediateOnce() {
+        // Torta usa 3 bolos; cada bolo usa 2 un de massa → 6 × R$ 1,25 = R$ 7,50
+        Product cake = finalProduct("Bolo", BigDecimal.ONE,
+                dough, new Quantity(new BigDecimal("2"), UnitMeasurement.UNIT));
+        Product pie = finalProduct("Torta", BigDecimal.ONE,
+                cake, new Quantity(new BigDecimal("3"), UnitMeasurement.UNIT));
+
+        Map<UUID, RecipeCost> costs = engine.costProducts(List.of(cake, pie));
+
+        assertEquals(0, new BigDecimal("2.50").compareTo(costs.get(cake.getId()).totalCost().value()));
+        assertEquals(0, new BigDecimal("7.50").compareTo(costs.get(pie.getId()).totalCost().value()));
+    }
+
+    @Test
+    void costProducts_intermediateInGramsWithGramsPerUnit_shouldConvertToYieldUnits() {
+        // Cada unidade de massa pesa 250g: 500g = 2 un = R$ 2,50
+        dough.defineConversionProfile(new ConversionProfile(new BigDecimal("250"), null, null));
+        Product cake = finalProduct("Bolo", BigDecimal.ONE,
+                dough, new Quantity(new BigDecimal("500"), UnitMeasurement.GRAMA));
+
+        RecipeCost cost = engine.costProducts(List.of(cake)).get(cake.getId());
+
+        assertFalse(cost.hasError(), cost.errorMessage());
+        assertEquals(0, new BigDecimal("2.50").compareTo(cost.totalCost().value()));
+    }
+
+    @Test
+    void addIngredient_intermediateInGramsWithoutProfile_shouldThrowException() {
+        Recipe recipe = new Recipe();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> recipe.addIngredient(dough, new Quantity(new BigDecimal("500"), UnitMeasurement.GRAMA)));
+    }
+
+    @Test
+    void costProducts_intermediateProfileRemovedAfterwards_shouldReportErrorInsteadOfFallback() {
+        dough.defineConversionProfile(new ConversionProfile(new BigDecimal("250"), null, null));
+        Product cake = finalProduct("Bolo", BigDecimal.ONE,
+                dough, new Quantity(new BigDecimal("500"), UnitMeasurement.GRAMA));
+        dough.defineConversionProfile(null);
+
+        RecipeCost cost = engine.costProducts(List.of(cake)).get(cake.getId());
+
+        assertTrue(cost.hasError());
+    }
+
+    private Product finalProduct(String name, BigDecimal yield, Product ingredient, Quantity quantity) {
+        Product product = register(Product.createFinalProduct(name));
+        Recipe recipe = new Recipe(yield);
+        recipe.addIngredient(ingredient, quantity);
+        product.defineRecipe(recipe);
+        return product;
+    }
+
+    private Product register(Product product) {
+        products.put(product.getId(), product);
+        return product;
+    }
+
+    private List<Product> lookup(Iterable<UUID> ids) {
+        List<Product> found = new ArrayList<>();
+        for (UUID id : ids) {
+            Product product = products.get(id);
+            if (product != null) {
+                found.add(product);
+            }
+        }
+        return found;
+    }
+}
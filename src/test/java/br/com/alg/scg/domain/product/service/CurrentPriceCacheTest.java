@@ -0,0 +1,132 @@
+package br.com.alg.scg.domain.product.service;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.valueobject.CurrentPrice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CurrentPriceCacheTest {
+
+    private static final LocalDateTime OLD_PRICE_DATE = LocalDateTime.of(2025, 8, 1, 10, 0);
+    private static final LocalDateTime NEW_PRICE_DATE = LocalDateTime.of(2025, 8, 15, 10, 0);
+
+    private final AtomicInteger queries = new AtomicInteger();
+    private Product product;
+    private Product rowInDatabase;
+    // Executado durante a consulta ao banco, depois de a linha ter sido lida (simula concorrência)
+    private Runnable duringLoad = () -> { };
+    private ProductRepository productRepository;
+    private CurrentPriceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.createRawMaterial("Farinha", BigDecimal.TEN, UnitMeasurement.KILOGRAM);
+        product.addPrice(new Money(new BigDecimal("4.00")), OLD_PRICE_DATE);
+
+        // Linha lida do banco pela próxima consulta (por padrão, a versão anterior ao commit)
+        rowInDatabase = Product.createRawMaterial("Farinha", BigDecimal.TEN, UnitMeasurement.KILOGRAM);
+        rowInDatabase.addPrice(new Money(new BigDecimal("4.00")), OLD_PRICE_DATE);
+
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findById(any())).thenAnswer(invocation -> {
+            queries.incrementAndGet();
+            Product row = rowInDatabase;
+            duringLoad.run();
+            return Optional.of(row);
+        });
+        cache = new CurrentPriceCache(productRepository, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void update_afterCommit_shouldStoreCommittedPriceWithoutQuery() {
+        changePriceInTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        CurrentPrice price = cache.get(product.getId()).orElseThrow();
+
+        assertEquals(0, new BigDecimal("5.00").compareTo(price.value().value()));
+        assertEquals(0, queries.get());
+    }
+
+    @Test
+    void get_staleReadCompletedAfterCommit_shouldNotOverwriteCommittedPrice() {
+        // Leitura iniciada antes do commit, concluída depois: devolve o preço lido, mas não o grava no cache
+        duringLoad = () -> changePriceInTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        CurrentPrice stale = cache.get(product.getId()).orElseThrow();
+        duringLoad = () -> { };
+
+        assertEquals(OLD_PRICE_DATE, stale.effectiveDate());
+        assertEquals(NEW_PRICE_DATE, cache.get(product.getId()).orElseThrow().effectiveDate());
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void get_moreProductsThanMaxSize_shouldKeepCacheBounded() {
+        CurrentPriceCache small = new CurrentPriceCache(productRepository, 2);
+        for (int i = 0; i < 5; i++) {
+            small.update(priced("Produto " + i));
+        }
+
+        assertEquals(2, small.size());
+    }
+
+    @Test
+    void update_rolledBack_shouldOnlyRemoveProduct() {
+        cache.get(product.getId());
+        assertEquals(1, cache.size());
+
+        changePriceInTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(0, cache.size());
+        assertEquals(OLD_PRICE_DATE, cache.get(product.getId()).orElseThrow().effectiveDate());
+        assertEquals(1, cache.size());
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private static Product priced(String name) {
+        Product priced = Product.createRawMaterial(name, BigDecimal.TEN, UnitMeasurement.KILOGRAM);
+        priced.addPrice(new Money(new BigDecimal("1.00")), NEW_PRICE_DATE);
+        return priced;
+    }
+
+    /**
+     * Altera o preço do produto dentro de uma "transação" e executa as sincronizações registradas
+     * como o gerenciador de transações faria ao concluí-la
+     */
+    private void changePriceInTransaction(int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        product.addPrice(new Money(new BigDecimal("5.00")), NEW_PRICE_DATE);
+        cache.update(product);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.alg.scg.domain.product.service;
+
+import br.com.alg.scg.domain.common.valueobject.Quantity;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.entity.Recipe;
+import br.com.alg.scg.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecipeGraphTest {
+
+    private final Map<UUID, Product> products = new HashMap<>();
+    private RecipeGraph recipeGraph;
+
+    private Product flour;
+    private Product dough;
+    private Product cake;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllWithRecipesByIdIn(any())).thenAnswer(invocation -> {
+            List<Product> found = new ArrayList<>();
+            for (UUID id : invocation.<Iterable<UUID>>getArgument(0)) {
+                if (products.containsKey(id)) {
+                    found.add(products.get(id));
+                }
+            }
+            return found;
+        });
+        recipeGraph = new RecipeGraph(productRepository);
+
+        // farinha → massa (intermediário) → bolo
+        flour = register(Product.createRawMaterial("Farinha", BigDecimal.TEN, UnitMeasurement.KILOGRAM));
+        dough = register(Product.createFinalProduct("Massa"));
+        Recipe doughRecipe = new Recipe();
+        doughRecipe.addIngredient(flour, new Quantity(new BigDecimal("500"), UnitMeasurement.GRAMA));
+        dough.defineRecipe(doughRecipe);
+
+        cake = register(Product.createFinalProduct("Bolo"));
+        Recipe cakeRecipe = new Recipe();
+        cakeRecipe.addIngredient(dough, new Quantity(new BigDecimal("2"), UnitMeasurement.UNIT));
+        cake.defineRecipe(cakeRecipe);
+    }
+
+    @Test
+    void validateNoCycle_acyclicRecipes_shouldNotThrow() {
+        assertDoesNotThrow(() -> recipeGraph.validateNoCycle(cake));
+        assertDoesNotThrow(() -> recipeGraph.validateNoCycle(dough));
+    }
+
+    @Test
+    void validateNoCycle_indirectCycle_shouldThrowException() {
+        // massa passa a usar o bolo, que já usa a massa
+        dough.getProductRecipe().orElseThrow()
+                .addIngredient(cake, new Quantity(BigDecimal.ONE, UnitMeasurement.UNIT));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> recipeGraph.validateNoCycle(dough));
+        assertTrue(exception.getMessage().contains("Massa"));
+    }
+
+    @Test
+    void validateNoCycle_cycleThroughThreeLevels_shouldThrowException() {
+        Product filling = register(Product.createFinalProduct("Recheio"));
+        Recipe fillingRecipe = new Recipe();
+        fillingRecipe.addIngredient(cake, new Quantity(BigDecimal.ONE, UnitMeasurement.UNIT));
+        filling.defineRecipe(fillingRecipe);
+
+        dough.getProductRecipe().orElseThrow()
+                .addIngredient(filling, new Quantity(BigDecimal.ONE, UnitMeasurement.UNIT));
+
+        assertThrows(IllegalArgumentException.class, () -> recipeGraph.validateNoCycle(filling));
+    }
+
+    @Test
+    void addIngredient_ownProduct_shouldThrowException() {
+        Recipe cakeRecipe = cake.getProductRecipe().orElseThrow();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> cakeRecipe.addIngredient(cake, new Quantity(BigDecimal.ONE, UnitMeasurement.UNIT)));
+    }
+
+    @Test
+    void loadIngredients_twoLevels_shouldLoadTransitiveIngredients() {
+        Map<UUID, Product> ingredients = recipeGraph.loadIngredients(List.of(cake.getProductRecipe().orElseThrow()));
+
+        assertEquals(2, ingredients.size());
+        assertSame(dough, ingredients.get(dough.getId()));
+        assertSame(flour, ingredients.get(flour.getId()));
+    }
+
+    private Product register(Product product) {
+        products.put(product.getId(), product);
+        return product;
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.alg.scg.domain.product.valueobject;
+
+import br.com.alg.scg.domain.common.valueobject.Money;
+import br.com.alg.scg.domain.common.valueobject.Quantity;
+import br.com.alg.scg.domain.common.valueobject.UnitConverter;
+import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionProfileTest {
+
+    @Test
+    void factor_unitToKilogram_shouldUseGramsPerUnit() {
+        ConversionProfile profile = new ConversionProfile(new BigDecimal("50"), null, null);
+
+        BigDecimal factor = profile.factor(UnitMeasurement.UNIT, UnitMeasurement.KILOGRAM);
+
+        assertEquals(0, new BigDecimal("0.05").compareTo(factor));
+    }
+
+    @Test
+    void factor_packageToUnit_shouldUseUnitsPerPackage() {
+        ConversionProfile profile = new ConversionProfile(null, null, new BigDecimal("12"));
+
+        assertEquals(0, new BigDecimal("12").compareTo(profile.factor(UnitMeasurement.PAC, UnitMeasurement.UNIT)));
+        assertNull(profile.factor(UnitMeasurement.PAC, UnitMeasurement.GRAMA));
+    }
+
+    @Test
+    void factor_literToGram_shouldUseMlPerGram() {
+        // Creme de leite: 1 g ocupa 0,98 ml
+        ConversionProfile profile = new ConversionProfile(null, new BigDecimal("0.98"), null);
+
+        BigDecimal factor = profile.factor(UnitMeasurement.GRAMA, UnitMeasurement.LITRO);
+
+        assertEquals(0, new BigDecimal("0.00098").compareTo(factor));
+    }
+
+    @Test
+    void factor_missingProfileValue_shouldReturnNull() {
+        assertNull(ConversionProfile.NONE.factor(UnitMeasurement.UNIT, UnitMeasurement.GRAMA));
+        assertNull(ConversionProfile.NONE.factor(UnitMeasurement.MILILITRO, UnitMeasurement.GRAMA));
+    }
+
+    @Test
+    void constructor_nonPositiveValue_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConversionProfile(BigDecimal.ZERO, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConversionProfile(null, new BigDecimal("-1"), null));
+    }
+
+    @Test
+    void costOf_packageAgainstPricePerKilogram_shouldConvertThroughUnits() {
+        // Pacote com 6 unidades de 200g; preço R$ 10,00/kg → 1 pacote = 1,2kg = R$ 12,00
+        ConversionProfile profile = new ConversionProfile(new BigDecimal("200"), null, new BigDecimal("6"));
+        CurrentPrice price = new CurrentPrice(new Money(new BigDecimal("10.00")), UnitMeasurement.KILOGRAM,
+                LocalDateTime.now());
+
+        Money cost = price.costOf(new Quantity(BigDecimal.ONE, UnitMeasurement.PAC), profile);
+
+        assertEquals(0, new BigDecimal("12.00").compareTo(cost.value()));
+    }
+
+    @Test
+    void costOf_quantityRoundedToZeroInPriceUnit_shouldCostZero() {
+        // 0,0001 g a R$ 1.000,00/kg: arredonda a 0 kg, não deve ser custeado como 0,0001 kg
+        CurrentPrice price = new CurrentPrice(new Money(new BigDecimal("1000.00")), UnitMeasurement.KILOGRAM,
+                LocalDateTime.now());
+
+        Money cost = price.costOf(new Quantity(new BigDecimal("0.0001"), UnitMeasurement.GRAMA));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(cost.value()));
+    }
+
+    @Test
+    void tryConvert_standardUnits_shouldIgnoreProfile() {
+        ConversionProfile profile = new ConversionProfile(new BigDecimal("50"), null, null);
+        Quantity grams = new Quantity(new BigDecimal("500"), UnitMeasurement.GRAMA);
+
+        Quantity result = UnitConverter.tryConvert(grams, UnitMeasurement.KILOGRAM, profile).orElseThrow();
+
+        assertEquals(new BigDecimal("0.500000"), result.value());
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.alg.scg.integration;
+
+import br.com.alg.scg.application.service.ProductService;
+import br.com.alg.scg.domain.product.entity.Product;
+import br.com.alg.scg.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Várias threads vendendo o mesmo produto ao mesmo tempo: o UPDATE condicional atômico
+ * deve aceitar exatamente o estoque disponível, sem estoque negativo nem atualizações perdidas.
+ * Sem @Transactional: cada baixa de estoque precisa ser commitada na sua própria transação.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ConcurrentStockDecreaseIntegrationTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 20;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UUID productId;
+
+    @AfterEach
+    void cleanUp() {
+        if (productId != null) {
+            productRepository.deleteById(productId);
+        }
+    }
+
+    @Test
+    void concurrentDecreases_shouldNeverOversell() throws Exception {
+        Product flour = Product.createRawMaterial("Farinha Concorrência " + UUID.randomUUID(), new BigDecimal(INITIAL_STOCK));
+        productId = productRepository.save(flour).getId();
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        try {
+                            productService.decreaseStock(productId, BigDecimal.ONE);
+                            accepted.incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BigDecimal finalStock = productRepository.findById(productId).orElseThrow().getStock();
+
+        assertEquals(INITIAL_STOCK, accepted.get(), "Deve aceitar exatamente o estoque inicial");
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD - INITIAL_STOCK, rejected.get());
+        assertEquals(0, BigDecimal.ZERO.compareTo(finalStock), "Estoque final deve ser zero, nunca negativo");
+    }
+
+    @Test
+    void increaseAndDecrease_productAlreadyLoadedInTransaction_shouldReturnUpdatedStock() {
+        Product flour = Product.createRawMaterial("Farinha Contexto " + UUID.randomUUID(), new BigDecimal(INITIAL_STOCK));
+        productId = productRepository.save(flour).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Instância gerenciada carregada antes dos UPDATEs atômicos
+            Product loaded = productRepository.findById(productId).orElseThrow();
+
+            Product increased = productService.increaseStock(productId, new BigDecimal("5"));
+            assertEquals(0, new BigDecimal("105").compareTo(increased.getStock()));
+
+            Product decreased = productService.decreaseStock(productId, new BigDecimal("15"));
+            assertEquals(0, new BigDecimal("90").compareTo(decreased.getStock()));
+            assertSame(loaded, decreased);
+        });
+    }
+
+    @Test
+    void save_formOpenedBeforeConcurrentSale_shouldNotUndoTheSale() {
+        Product flour = Product.createRawMaterial("Farinha Formulário " + UUID.randomUUID(), new BigDecimal(INITIAL_STOCK));
+        productId = productRepository.save(flour).getId();
+
+        // Formulário aberto com estoque 100; uma venda baixa 30 antes de o formulário ser salvo
+        Product inForm = productService.findById(productId).orElseThrow();
+        productService.decreaseStock(productId, new BigDecimal("30"));
+
+        inForm.setName("Farinha Renomeada " + UUID.randomUUID());
+        productService.save(inForm);
+
+        assertEquals(0, new BigDecimal("70").compareTo(productRepository.findById(productId).orElseThrow().getStock()));
+    }
+
+    @Test
+    void save_formChangedStock_shouldApplyOnlyTheChange() {
+        Product flour = Product.createRawMaterial("Farinha Ajuste " + UUID.randomUUID(), new BigDecimal(INITIAL_STOCK));
+        productId = productRepository.save(flour).getId();
+
+        Product inForm = productService.findById(productId).orElseThrow();
+        productService.decreaseStock(productId, new BigDecimal("30"));
+
+        // Formulário leu 100 e ajusta para 110: +10 sobre o estoque atual (70)
+        inForm.setStock(new BigDecimal("110"));
+        Product saved = productService.save(inForm);
+
+        assertEquals(0, new BigDecimal("80").compareTo(saved.getStock()));
+        assertEquals(0, new BigDecimal("80").compareTo(productRepository.findById(productId).orElseThrow().getStock()));
+    }
+}
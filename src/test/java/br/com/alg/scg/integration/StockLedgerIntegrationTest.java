@@ -0,0 +1,95 @@
+package br.com.alg.scg.integration;
+
+import br.com.alg.scg.application.service.StockLedgerService;
+import br.com.alg.scg.domain.product.entity.StockSnapshot;
+import br.com.alg.scg.domain.product.repository.StockLedgerRepository;
+import br.com.alg.scg.domain.product.repository.StockSnapshotRepository;
+import br.com.alg.scg.domain.product.valueobject.StockMovementSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Livro-razão de estoque: movimentações registradas no commit, consolidação em snapshots por intervalo
+ * de seq e saldo em um instante (snapshot + movimentações com seq posterior).
+ * Sem @Transactional: cada movimentação precisa ser commitada na sua própria transação.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class StockLedgerIntegrationTest {
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private StockLedgerRepository ledgerRepository;
+
+    @Autowired
+    private StockSnapshotRepository snapshotRepository;
+
+    private final UUID productId = UUID.randomUUID();
+
+    @Test
+    void stockAsOf_beforeAndAfterSnapshot_shouldAddMovementsAfterSnapshotSeq() throws InterruptedException {
+        stockLedgerService.record(productId, new BigDecimal("10"), StockMovementSource.INITIAL);
+        LocalDateTime afterFirstMovement = pause();
+        stockLedgerService.record(productId, new BigDecimal("5"), StockMovementSource.ADJUSTMENT);
+        pause();
+
+        // Sem margem: consolida tudo o que já foi registrado
+        assertTrue(snapshotTaker(Duration.ZERO).takeSnapshots() >= 1);
+        StockSnapshot snapshot = snapshotRepository
+                .findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(productId, LocalDateTime.now())
+                .orElseThrow();
+        assertEquals(0, new BigDecimal("15").compareTo(snapshot.getQuantity()));
+        LocalDateTime afterSnapshot = pause();
+
+        stockLedgerService.record(productId, new BigDecimal("-3"), StockMovementSource.ADJUSTMENT);
+
+        // Antes do snapshot: só as movimentações até o instante
+        assertEquals(0, new BigDecimal("10").compareTo(stockLedgerService.stockAsOf(productId, afterFirstMovement)));
+        // No snapshot: o saldo consolidado, sem contar de novo as movimentações já incluídas
+        assertEquals(0, new BigDecimal("15").compareTo(stockLedgerService.stockAsOf(productId, afterSnapshot)));
+        // Depois: snapshot + movimentações com seq posterior à consolidada
+        assertEquals(0, new BigDecimal("12").compareTo(stockLedgerService.stockAsOf(productId, LocalDateTime.now())));
+    }
+
+    @Test
+    void takeSnapshots_movementsWithinLag_shouldNotBeConsolidated() {
+        stockLedgerService.record(productId, new BigDecimal("7"), StockMovementSource.INITIAL);
+
+        snapshotTaker(Duration.ofHours(1)).takeSnapshots();
+
+        assertTrue(snapshotRepository
+                .findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(productId, LocalDateTime.now())
+                .isEmpty());
+        assertEquals(0, new BigDecimal("7").compareTo(stockLedgerService.stockAsOf(productId, LocalDateTime.now())));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Serviço com a margem (scg.stock-snapshot.lag) informada, para consolidar sem esperar o agendamento
+     */
+    private StockLedgerService snapshotTaker(Duration lag) {
+        return new StockLedgerService(ledgerRepository, snapshotRepository, lag);
+    }
+
+    /**
+     * Instante entre duas gravações, sem coincidir com a data de nenhuma delas
+     */
+    private static LocalDateTime pause() throws InterruptedException {
+        Thread.sleep(5);
+        LocalDateTime instant = LocalDateTime.now();
+        Thread.sleep(5);
+        return instant;
+    }
+}
@@ -7,6 +7,7 @@ import br.com.alg.scg.domain.common.valueobject.UnitMeasurement;
 import br.com.alg.scg.domain.product.entity.Product;
 import br.com.alg.scg.domain.product.entity.Recipe;
 import br.com.alg.scg.domain.product.repository.ProductRepository;
+import br.com.alg.scg.domain.product.valueobject.ConversionProfile;
 import br.com.alg.scg.domain.product.valueobject.ProductType;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -103,4 +104,22 @@ public class UnitConversionIntegrationTest {
         assertEquals(0, expectedTotalCost.compareTo(totalCost.value()),
             "Custo total deve ser R$ 6,06");
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenRecipeInUnitsAndPurchaseInKg_shouldConvertThroughConversionProfile() {
+        // Ovos comprados por KG (R$ 20,00/kg) e usados por unidade na receita
+        Product ovos = Product.createRawMaterial("Ovos", BigDecimal.ZERO);
+        ovos = productRepository.save(ovos);
+        productService.addPrice(ovos.getId(), new Money(new BigDecimal("20.00")), UnitMeasurement.KILOGRAM);
+
+        // Cada ovo pesa 50g
+        ovos = productService.defineConversionProfile(ovos.getId(),
+                new ConversionProfile(new BigDecimal("50"), null, null));
+
+        // Custo: 3 un * 50g = 150g = 0.15kg * R$ 20,00/kg = R$ 3,00
+        Money calculatedCost = ovos.calculateIngredientCost(new Quantity(new BigDecimal("3"), UnitMeasurement.UNIT));
+
+        assertEquals(0, new BigDecimal("3.00").compareTo(calculatedCost.value()),
+            "Custo deve ser R$ 3,00 para 3 ovos de 50g quando preço é R$ 20,00/kg");
+    }
+}
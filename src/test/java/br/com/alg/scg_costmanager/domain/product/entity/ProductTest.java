@@ -72,6 +72,26 @@ public class ProductTest {
         assertEquals(price2, currentPrice.get());
     }
 
+    @Test
+    @DisplayName("Não deve substituir o preço atual por um preço com data efetiva anterior")
+    void addPrice_withOlderEffectiveDate_shouldKeepCurrentPrice() {
+        // Given
+        Product product = Product.createRawMaterial("Cacau", BigDecimal.TEN);
+        Money recentPrice = new Money(new BigDecimal("30.00"));
+        Money olderPrice = new Money(new BigDecimal("25.00"));
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        product.addPrice(recentPrice, now);
+        product.addPrice(olderPrice, now.minusDays(1)); // Lançamento retroativo
+
+        // Then
+        assertEquals(2, product.getPricesHistory().size());
+        assertEquals(recentPrice, product.getCurrentPrice().orElseThrow());
+        assertEquals(now, product.getCurrentPriceDetails().orElseThrow().effectiveDate());
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao tentar definir receita para matéria-prima")
     void defineRecipe_onRawMaterial_shouldThrowException() {